@@ -0,0 +1,66 @@
+package org.acme.edgy.runtime;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.acme.edgy.runtime.config.EdgyConfig;
+import org.acme.edgy.runtime.config.EdgyMetricsConfig;
+import org.acme.edgy.runtime.config.EdgyOriginConfig;
+
+/**
+ * {@link EdgyConfig} with the default values, for running a {@link RouterConfigurator} outside of
+ * Quarkus.
+ */
+public class BenchmarkConfig implements EdgyConfig {
+
+    private Dispatcher dispatcher = Dispatcher.SEQUENTIAL;
+    private TransformerPipeline transformerPipeline = TransformerPipeline.INTERCEPTORS;
+    private PredicateEvaluation predicateEvaluation = PredicateEvaluation.PLAIN;
+    private final Map<String, EdgyOriginConfig> origins = new HashMap<>();
+
+    public BenchmarkConfig dispatcher(Dispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+        return this;
+    }
+
+    public BenchmarkConfig transformerPipeline(TransformerPipeline transformerPipeline) {
+        this.transformerPipeline = transformerPipeline;
+        return this;
+    }
+
+    public BenchmarkConfig predicateEvaluation(PredicateEvaluation predicateEvaluation) {
+        this.predicateEvaluation = predicateEvaluation;
+        return this;
+    }
+
+    @Override
+    public Mode mode() {
+        return Mode.API;
+    }
+
+    @Override
+    public Dispatcher dispatcher() {
+        return dispatcher;
+    }
+
+    @Override
+    public TransformerPipeline transformerPipeline() {
+        return transformerPipeline;
+    }
+
+    @Override
+    public PredicateEvaluation predicateEvaluation() {
+        return predicateEvaluation;
+    }
+
+    @Override
+    public EdgyMetricsConfig metrics() {
+        // the harness does not provide a metrics registry
+        return () -> false;
+    }
+
+    @Override
+    public Map<String, EdgyOriginConfig> origins() {
+        return origins;
+    }
+}
@@ -0,0 +1,76 @@
+package org.acme.edgy.runtime;
+
+import java.util.function.IntFunction;
+
+import org.acme.edgy.runtime.api.RoutingConfiguration;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.Router;
+
+/**
+ * In-JVM gateway for benchmarks: a local Vert.x origin server, and a Vert.x server whose router is
+ * configured by a {@link RouterConfigurator} created outside of Quarkus.
+ */
+public final class EdgyProxyHarness implements AutoCloseable {
+
+    private static final String HOST = "localhost";
+
+    private final Vertx vertx;
+    private final HttpServer gateway;
+    private final HttpClient client;
+
+    private EdgyProxyHarness(Vertx vertx, HttpServer gateway, HttpClient client) {
+        this.vertx = vertx;
+        this.gateway = gateway;
+        this.client = client;
+    }
+
+    /**
+     * @param routing creates the routing configuration, given the port of the origin server
+     */
+    public static EdgyProxyHarness start(BenchmarkConfig config, Handler<HttpServerRequest> originHandler,
+            IntFunction<RoutingConfiguration> routing) {
+        Vertx vertx = Vertx.vertx();
+        HttpServer origin = await(vertx.createHttpServer().requestHandler(originHandler).listen(0));
+
+        RouterConfigurator configurator = new RouterConfigurator();
+        configurator.vertx = vertx;
+        configurator.edgyConfig = config;
+        configurator.routingConfiguration = routing.apply(origin.actualPort());
+        Router router = Router.router(vertx);
+        configurator.configure(router);
+
+        HttpServer gateway = await(vertx.createHttpServer().requestHandler(router).listen(0));
+        return new EdgyProxyHarness(vertx, gateway, vertx.createHttpClient());
+    }
+
+    public static EdgyProxyHarness start(BenchmarkConfig config, IntFunction<RoutingConfiguration> routing) {
+        return start(config, request -> request.response().end("ok"), routing);
+    }
+
+    public Buffer send(HttpMethod method, String uri, Buffer body) {
+        return await(client.request(method, gateway.actualPort(), HOST, uri)
+                .compose(request -> body != null ? request.send(body) : request.send())
+                .compose(response -> response.body()));
+    }
+
+    public Buffer get(String uri) {
+        return send(HttpMethod.GET, uri, null);
+    }
+
+    @Override
+    public void close() {
+        await(vertx.close());
+    }
+
+    private static <T> T await(Future<T> future) {
+        return future.toCompletionStage().toCompletableFuture().join();
+    }
+}
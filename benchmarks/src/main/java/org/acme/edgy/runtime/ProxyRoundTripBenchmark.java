@@ -0,0 +1,78 @@
+package org.acme.edgy.runtime;
+
+import java.util.concurrent.TimeUnit;
+
+import org.acme.edgy.runtime.api.Origin;
+import org.acme.edgy.runtime.api.PathMode;
+import org.acme.edgy.runtime.api.Route;
+import org.acme.edgy.runtime.api.RoutingConfiguration;
+import org.acme.edgy.runtime.config.EdgyConfig.Dispatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Full proxy round trip through {@link RouterConfigurator} against a local Vert.x origin, with
+ * {@code routes} routes of each path mode registered before the one being called.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProxyRoundTripBenchmark {
+
+    @Param({ "SEQUENTIAL", "INDEXED" })
+    Dispatcher dispatcher;
+
+    @Param({ "1", "100" })
+    int routes;
+
+    private EdgyProxyHarness harness;
+
+    @Setup
+    public void setup() {
+        harness = EdgyProxyHarness.start(new BenchmarkConfig().dispatcher(dispatcher), originPort -> {
+            Origin origin = Origin.of("bench-origin", "http://localhost:" + originPort + "/");
+            RoutingConfiguration routing = new RoutingConfiguration();
+            for (int i = 0; i < routes; i++) {
+                routing.addRoute(new Route("/fixed-" + i, origin, PathMode.FIXED))
+                        .addRoute(new Route("/prefix-" + i + "/*", origin, PathMode.PREFIX))
+                        .addRoute(new Route("/params-" + i + "/{id}", origin, PathMode.PARAMS));
+            }
+            return routing;
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        harness.close();
+    }
+
+    @Benchmark
+    public Buffer fixed() {
+        return harness.get("/fixed-" + (routes - 1));
+    }
+
+    @Benchmark
+    public Buffer prefix() {
+        return harness.get("/prefix-" + (routes - 1) + "/some/path");
+    }
+
+    @Benchmark
+    public Buffer params() {
+        return harness.get("/params-" + (routes - 1) + "/42");
+    }
+}
@@ -0,0 +1,63 @@
+package org.acme.edgy.runtime;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.acme.edgy.runtime.api.Origin;
+import org.acme.edgy.runtime.api.PathMode;
+import org.acme.edgy.runtime.api.Route;
+import org.acme.edgy.runtime.api.RoutingPredicate;
+import org.acme.edgy.runtime.config.EdgyConfig.PredicateEvaluation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Evaluation of the predicates of a route rejecting the request on its last predicate, compared with
+ * the previous {@code Stream#allMatch} evaluation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoutePredicatesBenchmark {
+
+    @Param({ "PLAIN", "PROFILED", "ADAPTIVE" })
+    PredicateEvaluation evaluation;
+
+    private List<RoutingPredicate> predicateList;
+    private RoutePredicates predicates;
+    private String tenant;
+
+    @Setup
+    public void setup() {
+        tenant = "acme";
+        Route route = new Route("/hello", Origin.of("origin", "http://localhost:8081/hello"), PathMode.FIXED)
+                .addPredicate(rc -> tenant.length() == 4)
+                .addPredicate(rc -> tenant.hashCode() != 0)
+                .addPredicate(rc -> tenant.startsWith("ac"))
+                .addPredicate(rc -> "other".equals(tenant));
+        predicateList = route.predicates();
+        predicates = new RoutePredicates(route, evaluation);
+    }
+
+    @Benchmark
+    public boolean routePredicates() {
+        return predicates.test(null);
+    }
+
+    @Benchmark
+    public boolean streamAllMatch() {
+        return predicateList.stream().allMatch(predicate -> predicate.test(null));
+    }
+}
@@ -0,0 +1,69 @@
+package org.acme.edgy.runtime;
+
+import java.util.concurrent.TimeUnit;
+
+import org.acme.edgy.runtime.api.Origin;
+import org.acme.edgy.runtime.api.PathMode;
+import org.acme.edgy.runtime.api.Route;
+import org.acme.edgy.runtime.api.RoutingConfiguration;
+import org.acme.edgy.runtime.builtins.requests.RequestHeaderAdder;
+import org.acme.edgy.runtime.builtins.responses.ResponseHeaderAdder;
+import org.acme.edgy.runtime.config.EdgyConfig.TransformerPipeline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Proxy round trip through a route with request and response transformers, installed either as one
+ * interceptor per transformer or as a fused chain.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransformerPipelineBenchmark {
+
+    @Param({ "INTERCEPTORS", "FUSED" })
+    TransformerPipeline pipeline;
+
+    @Param({ "1", "8" })
+    int transformers;
+
+    private EdgyProxyHarness harness;
+
+    @Setup
+    public void setup() {
+        harness = EdgyProxyHarness.start(new BenchmarkConfig().transformerPipeline(pipeline), originPort -> {
+            Route route = new Route("/bench", Origin.of("bench-origin", "http://localhost:" + originPort + "/"),
+                    PathMode.FIXED);
+            for (int i = 0; i < transformers; i++) {
+                route.addRequestTransformer(new RequestHeaderAdder("X-Bench-" + i, "value"));
+                route.addResponseTransformer(new ResponseHeaderAdder("X-Bench-" + i, "value"));
+            }
+            return new RoutingConfiguration().addRoute(route);
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        harness.close();
+    }
+
+    @Benchmark
+    public Buffer roundTrip() {
+        return harness.get("/bench");
+    }
+}
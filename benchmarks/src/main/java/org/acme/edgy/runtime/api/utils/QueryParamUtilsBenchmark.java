@@ -0,0 +1,34 @@
+package org.acme.edgy.runtime.api.utils;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryParamUtilsBenchmark {
+
+    @Param({ "/origin/path", "/origin/path?existing=1" })
+    String uri;
+
+    @Param({ "a=1", "a=1&b=two%20words&c=&d=%C3%A9" })
+    String encodedQuery;
+
+    @Benchmark
+    public String appendUriQueries() {
+        return QueryParamUtils.appendUriQueries(uri, encodedQuery);
+    }
+}
@@ -0,0 +1,49 @@
+package org.acme.edgy.runtime.api.utils;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SegmentUtilsBenchmark {
+
+    private static final String PATH_TEMPLATE = "/users/{userId}/orders/{<orderId>\\d+}";
+    private static final String ACTUAL_PATH = "/users/john/orders/456";
+
+    private SegmentPathMatcher matcher;
+
+    @Setup
+    public void setup() {
+        matcher = SegmentPathMatcher.compile(PATH_TEMPLATE);
+    }
+
+    @Benchmark
+    public String replaceSegmentsWithRegex() {
+        return SegmentUtils.replaceSegmentsWithRegex(PATH_TEMPLATE);
+    }
+
+    @Benchmark
+    public Map<String, String> extractSegmentValues() {
+        return SegmentUtils.extractSegmentValues(PATH_TEMPLATE, ACTUAL_PATH);
+    }
+
+    @Benchmark
+    public Map<String, String> extractSegmentValuesPrecompiled() {
+        return matcher.extractSegmentValues(ACTUAL_PATH);
+    }
+}
@@ -0,0 +1,78 @@
+package org.acme.edgy.runtime.builtins;
+
+import java.util.concurrent.TimeUnit;
+
+import org.acme.edgy.runtime.BenchmarkConfig;
+import org.acme.edgy.runtime.EdgyProxyHarness;
+import org.acme.edgy.runtime.api.Origin;
+import org.acme.edgy.runtime.api.PathMode;
+import org.acme.edgy.runtime.api.Route;
+import org.acme.edgy.runtime.api.RoutingConfiguration;
+import org.acme.edgy.runtime.builtins.requests.RequestJsonObjectBodyModifier;
+import org.acme.edgy.runtime.builtins.responses.ResponseJsonObjectBodyModifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Proxy round trip of a JSON document through the request and response JSON object modifiers,
+ * against an origin echoing the request body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBodyModifierBenchmark {
+
+    @Param({ "10", "1000" })
+    int fields;
+
+    private EdgyProxyHarness harness;
+    private Buffer body;
+
+    @Setup
+    public void setup() {
+        JsonObject json = new JsonObject();
+        for (int i = 0; i < fields; i++) {
+            json.put("field-" + i, new JsonObject().put("value", i).put("tags", new JsonArray().add("a").add("b")));
+        }
+        body = json.toBuffer();
+
+        harness = EdgyProxyHarness.start(new BenchmarkConfig(),
+                request -> request.body().onSuccess(requestBody -> request.response()
+                        .putHeader("Content-Type", "application/json")
+                        .end(requestBody)),
+                originPort -> new RoutingConfiguration().addRoute(new Route("/json",
+                        Origin.of("json-origin", "http://localhost:" + originPort + "/"), PathMode.FIXED)
+                        .addRequestTransformer(new RequestJsonObjectBodyModifier(
+                                (JsonObject request) -> request.put("requested", true)))
+                        .addResponseTransformer(new ResponseJsonObjectBodyModifier(
+                                (JsonObject response) -> response.put("responded", true)))));
+    }
+
+    @TearDown
+    public void tearDown() {
+        harness.close();
+    }
+
+    @Benchmark
+    public Buffer roundTrip() {
+        return harness.send(HttpMethod.POST, "/json", body);
+    }
+}
@@ -7,8 +7,11 @@ import org.acme.edgy.runtime.DynamicRoutingConfigurationProvider;
 import org.acme.edgy.runtime.EdgyRecorder;
 import org.acme.edgy.runtime.RouterConfigurator;
 import org.acme.edgy.runtime.config.EdgyConfig;
+import org.acme.edgy.runtime.metrics.MicrometerEdgyMetrics;
 
 import io.quarkus.arc.deployment.AdditionalBeanBuildItem;
+import io.quarkus.deployment.Capabilities;
+import io.quarkus.deployment.Capability;
 import io.quarkus.deployment.annotations.BuildProducer;
 import io.quarkus.deployment.annotations.BuildStep;
 import io.quarkus.deployment.annotations.ExecutionTime;
@@ -46,6 +49,13 @@ class EdgyProcessor {
         return new AdditionalBeanBuildItem(DynamicRoutingConfigurationProvider.class);
     }
 
+    @BuildStep(onlyIf = IsMetricsEnabled.class)
+    void addMetrics(Capabilities capabilities, BuildProducer<AdditionalBeanBuildItem> additionalBeans) {
+        if (capabilities.isPresent(Capability.MICROMETER)) {
+            additionalBeans.produce(AdditionalBeanBuildItem.unremovableOf(MicrometerEdgyMetrics.class));
+        }
+    }
+
     static class IsDynamicallyConfigured implements BooleanSupplier {
 
         EdgyConfig config;
@@ -55,4 +65,14 @@ class EdgyProcessor {
             return config.mode() == EdgyConfig.Mode.CONFIGURATION;
         }
     }
+
+    static class IsMetricsEnabled implements BooleanSupplier {
+
+        EdgyConfig config;
+
+        @Override
+        public boolean getAsBoolean() {
+            return config.metrics().enabled();
+        }
+    }
 }
@@ -0,0 +1,53 @@
+package org.acme.edgy.runtime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class RouteIndexTest {
+
+    @Test
+    void testExactPaths() {
+        RouteIndex<String> index = new RouteIndex<>();
+        index.addExact("/hello", "hello");
+        index.addExact("/hello/world", "hello-world");
+        index.addExact("/help", "help");
+
+        assertEquals(List.of("hello"), index.candidates("/hello"));
+        assertEquals(List.of("hello"), index.candidates("/hello/"));
+        assertEquals(List.of("hello-world"), index.candidates("/hello/world"));
+        assertEquals(List.of("help"), index.candidates("/help"));
+        assertEquals(List.of(), index.candidates("/hel"));
+        assertEquals(List.of(), index.candidates("/hello/x"));
+        assertEquals(List.of(), index.candidates("/"));
+    }
+
+    @Test
+    void testPrefixPaths() {
+        RouteIndex<String> index = new RouteIndex<>();
+        index.addPrefix("/v1/", "v1");
+        index.addPrefix("/v1/users/", "v1-users");
+        index.addPrefix("/", "root");
+
+        assertEquals(List.of("v1", "root"), index.candidates("/v1"));
+        assertEquals(List.of("v1", "root"), index.candidates("/v1/"));
+        assertEquals(List.of("v1", "v1-users", "root"), index.candidates("/v1/users/123"));
+        assertEquals(List.of("root"), index.candidates("/v10"));
+        assertEquals(List.of("root"), index.candidates("/"));
+    }
+
+    @Test
+    void testRegistrationOrderIsKept() {
+        RouteIndex<String> index = new RouteIndex<>();
+        index.addPrefix("/api/", "first");
+        index.addExact("/api/users", "second");
+        index.addExact("/api/users", "third");
+        index.addPrefix("/api/us", "fourth");
+
+        assertEquals(List.of("first", "second", "third", "fourth"), index.candidates("/api/users"));
+        assertEquals(List.of("first", "fourth"), index.candidates("/api/users/1"));
+        assertEquals(4, index.size());
+    }
+}
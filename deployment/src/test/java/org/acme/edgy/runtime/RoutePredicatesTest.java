@@ -0,0 +1,77 @@
+package org.acme.edgy.runtime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.acme.edgy.runtime.api.Origin;
+import org.acme.edgy.runtime.api.PathMode;
+import org.acme.edgy.runtime.api.PredicateStatistics;
+import org.acme.edgy.runtime.api.Route;
+import org.acme.edgy.runtime.config.EdgyConfig.PredicateEvaluation;
+import org.junit.jupiter.api.Test;
+
+class RoutePredicatesTest {
+
+    private final List<String> evaluated = new ArrayList<>();
+
+    @Test
+    void testPlainEvaluationShortCircuits() {
+        RoutePredicates predicates = new RoutePredicates(route(), PredicateEvaluation.PLAIN);
+        assertFalse(predicates.test(null));
+        assertEquals(List.of("slow", "rejecting"), evaluated);
+    }
+
+    @Test
+    void testProfiledEvaluationKeepsOrder() {
+        RoutePredicates predicates = new RoutePredicates(route(), PredicateEvaluation.PROFILED);
+        for (int i = 0; i < 2 * RoutePredicates.REORDER_INTERVAL; i++) {
+            assertFalse(predicates.test(null));
+        }
+
+        List<PredicateStatistics> statistics = predicates.statistics();
+        assertEquals(2 * RoutePredicates.REORDER_INTERVAL, statistics.get(0).evaluations());
+        assertEquals(0, statistics.get(0).rejectionRate());
+        assertTrue(statistics.get(0).averageNanos() > 0);
+        assertEquals(1, statistics.get(1).rejectionRate());
+        assertEquals(0, statistics.get(2).evaluations());
+        assertEquals(List.of(0, 1, 2), statistics.stream().map(PredicateStatistics::evaluationPosition).toList());
+    }
+
+    @Test
+    void testAdaptiveEvaluationRunsSelectivePredicatesFirst() {
+        RoutePredicates predicates = new RoutePredicates(route(), PredicateEvaluation.ADAPTIVE);
+        for (int i = 0; i < RoutePredicates.REORDER_INTERVAL; i++) {
+            assertFalse(predicates.test(null));
+        }
+
+        evaluated.clear();
+        assertFalse(predicates.test(null));
+        assertEquals(List.of("rejecting"), evaluated);
+        List<PredicateStatistics> statistics = predicates.statistics();
+        assertEquals(List.of(1, 0, 2), statistics.stream().map(PredicateStatistics::evaluationPosition).toList());
+    }
+
+    private Route route() {
+        return new Route("/hello", Origin.of("origin", "http://localhost:8081/hello"), PathMode.FIXED)
+                .addPredicate(rc -> {
+                    evaluated.add("slow");
+                    long start = System.nanoTime();
+                    while (System.nanoTime() - start < 1_000) {
+                        Thread.onSpinWait();
+                    }
+                    return true;
+                })
+                .addPredicate(rc -> {
+                    evaluated.add("rejecting");
+                    return false;
+                })
+                .addPredicate(rc -> {
+                    evaluated.add("never reached");
+                    return true;
+                });
+    }
+}
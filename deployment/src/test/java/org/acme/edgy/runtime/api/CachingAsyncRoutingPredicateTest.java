@@ -0,0 +1,96 @@
+package org.acme.edgy.runtime.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+
+class CachingAsyncRoutingPredicateTest {
+
+    @Test
+    void testPendingAndCompletedResultsAreShared() {
+        AtomicInteger tests = new AtomicInteger();
+        Promise<Boolean> promise = Promise.promise();
+        AsyncRoutingPredicate predicate = ((AsyncRoutingPredicate) rc -> {
+            tests.incrementAndGet();
+            return promise.future();
+        }).cached(rc -> "key", Duration.ofMinutes(1));
+
+        Future<Boolean> first = predicate.test(null);
+        assertSame(first, predicate.test(null));
+        promise.complete(true);
+        assertTrue(predicate.test(null).result());
+        assertEquals(1, tests.get());
+    }
+
+    @Test
+    void testExpiredAndFailedResultsAreNotReused() throws InterruptedException {
+        AtomicInteger tests = new AtomicInteger();
+        AsyncRoutingPredicate expiring = ((AsyncRoutingPredicate) rc -> {
+            tests.incrementAndGet();
+            return Future.succeededFuture(true);
+        }).cached(rc -> "key", Duration.ofMillis(10));
+        expiring.test(null);
+        Thread.sleep(20);
+        expiring.test(null);
+        assertEquals(2, tests.get());
+
+        AsyncRoutingPredicate failing = ((AsyncRoutingPredicate) rc -> {
+            tests.incrementAndGet();
+            return Future.failedFuture("unavailable");
+        }).cached(rc -> "key", Duration.ofMinutes(1));
+        failing.test(null);
+        failing.test(null);
+        assertEquals(4, tests.get());
+    }
+
+    @Test
+    void testNullKeysAndFullCache() {
+        AtomicInteger tests = new AtomicInteger();
+        AtomicInteger keys = new AtomicInteger();
+        AsyncRoutingPredicate delegate = rc -> {
+            tests.incrementAndGet();
+            return Future.succeededFuture(true);
+        };
+
+        AsyncRoutingPredicate uncached = delegate.cached(rc -> null, Duration.ofMinutes(1));
+        uncached.test(null);
+        uncached.test(null);
+        assertEquals(2, tests.get());
+
+        CachingAsyncRoutingPredicate bounded = (CachingAsyncRoutingPredicate) delegate
+                .cached(rc -> "key-" + keys.incrementAndGet(), Duration.ofMinutes(1), 2);
+        for (int i = 0; i < 5; i++) {
+            bounded.test(null);
+        }
+        assertEquals(2, bounded.size());
+    }
+
+    @Test
+    void testFullCacheEvictsLeastRecentlyUsed() {
+        AtomicInteger tests = new AtomicInteger();
+        String[] key = { "a" };
+        CachingAsyncRoutingPredicate bounded = (CachingAsyncRoutingPredicate) ((AsyncRoutingPredicate) rc -> {
+            tests.incrementAndGet();
+            return Future.succeededFuture(true);
+        }).cached(rc -> key[0], Duration.ofMinutes(1), 2);
+
+        for (String next : new String[] { "a", "b", "a", "c", "a" }) {
+            key[0] = next;
+            bounded.test(null);
+        }
+        // "b" was evicted by "c", "a" stayed cached as the most recently used
+        assertEquals(3, tests.get());
+        key[0] = "b";
+        bounded.test(null);
+        assertEquals(4, tests.get());
+        assertEquals(2, bounded.size());
+    }
+}
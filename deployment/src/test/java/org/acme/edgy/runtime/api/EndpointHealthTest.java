@@ -0,0 +1,105 @@
+package org.acme.edgy.runtime.api;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class EndpointHealthTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    @Test
+    void testPassiveEjectionWithBackoff() {
+        EndpointHealth health = health(new HealthPolicy(2, Duration.ofMillis(500), Duration.ofSeconds(10),
+                Duration.ofSeconds(15), Duration.ZERO, 1, 1));
+
+        health.recordResponse(503, 0, 0);
+        health.recordResponse(200, 0, 0);
+        health.recordFailure(0);
+        assertTrue(health.admits(0));
+
+        // a slow response is a failure too
+        health.recordResponse(200, SECOND, 0);
+        assertFalse(health.admits(0));
+        assertFalse(health.admits(9 * SECOND));
+        assertTrue(health.admits(10 * SECOND));
+        assertTrue(health.isHealthy());
+
+        health.recordFailure(10 * SECOND);
+        health.recordFailure(10 * SECOND);
+        assertFalse(health.admits(19 * SECOND));
+        assertTrue(health.admits(20 * SECOND));
+    }
+
+    @Test
+    void testSecondEjectionBeforeRecoveryIsLonger() {
+        EndpointHealth health = health(new HealthPolicy(1, Duration.ZERO, Duration.ofSeconds(10),
+                Duration.ofSeconds(15), Duration.ofSeconds(60), 1, 1));
+
+        health.recordFailure(0);
+        assertFalse(health.admits(5 * SECOND));
+        health.admits(10 * SECOND);
+        assertFalse(health.isHealthy());
+
+        // still in slow start, the ejection time doubles and is capped
+        health.recordFailure(11 * SECOND);
+        assertFalse(health.admits(25 * SECOND));
+        assertTrue(health.admits(26 * SECOND + 60 * SECOND));
+    }
+
+    @Test
+    void testActiveEjection() {
+        EndpointHealth health = health(new HealthPolicy(0, Duration.ZERO, Duration.ofSeconds(10),
+                Duration.ofSeconds(15), Duration.ZERO, 2, 2));
+
+        health.probeFailed(0);
+        assertTrue(health.admits(0));
+        health.probeFailed(0);
+        assertFalse(health.admits(Long.MAX_VALUE / 2));
+
+        health.probeSucceeded(SECOND);
+        assertFalse(health.admits(SECOND));
+        health.probeSucceeded(2 * SECOND);
+        assertTrue(health.admits(2 * SECOND));
+        assertTrue(health.isHealthy());
+    }
+
+    @Test
+    void testSlowStart() {
+        EndpointHealth health = health(new HealthPolicy(0, Duration.ZERO, Duration.ZERO, Duration.ZERO,
+                Duration.ofSeconds(10), 1, 1));
+        health.probeFailed(0);
+        health.probeSucceeded(0);
+
+        int admitted = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (health.admits(5 * SECOND)) {
+                admitted++;
+            }
+        }
+        // about half of the requests halfway through the slow start
+        assertTrue(admitted > 4_000 && admitted < 6_000, "admitted " + admitted);
+        assertFalse(health.isHealthy());
+
+        assertTrue(health.admits(10 * SECOND));
+        assertTrue(health.isHealthy());
+    }
+
+    @Test
+    void testNoPolicy() {
+        EndpointHealth health = new EndpointHealth();
+        for (int i = 0; i < 10; i++) {
+            health.recordFailure(0);
+        }
+        assertTrue(health.admits(0));
+    }
+
+    private static EndpointHealth health(HealthPolicy policy) {
+        EndpointHealth health = new EndpointHealth();
+        health.setPolicy(policy);
+        return health;
+    }
+}
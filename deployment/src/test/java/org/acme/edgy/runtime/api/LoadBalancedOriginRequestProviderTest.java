@@ -0,0 +1,80 @@
+package org.acme.edgy.runtime.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class LoadBalancedOriginRequestProviderTest {
+
+    private static final String URI = "http://host-1:8081,host-2:8082,host-3:8083/backend";
+
+    @Test
+    void testRoundRobin() {
+        List<OriginEndpoint> endpoints = Origin.of("origin", URI).endpoints();
+        LoadBalancedOriginRequestProvider provider = provider(endpoints, LoadBalancing.ROUND_ROBIN);
+        for (int i = 0; i < 7; i++) {
+            assertSame(endpoints.get(i % 3), provider.select(System.nanoTime()));
+        }
+    }
+
+    @Test
+    void testLeastOutstandingRequests() {
+        List<OriginEndpoint> endpoints = Origin.of("origin", URI).endpoints();
+        LoadBalancedOriginRequestProvider provider = provider(endpoints, LoadBalancing.LEAST_OUTSTANDING_REQUESTS);
+
+        // ties are spread over the endpoints
+        Set<OriginEndpoint> selected = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            selected.add(provider.select(System.nanoTime()));
+        }
+        assertEquals(3, selected.size());
+
+        endpoints.get(0).requestStarted();
+        endpoints.get(0).requestStarted();
+        endpoints.get(2).requestStarted();
+        for (int i = 0; i < 3; i++) {
+            assertSame(endpoints.get(1), provider.select(System.nanoTime()));
+        }
+
+        endpoints.get(1).requestStarted();
+        endpoints.get(1).requestStarted();
+        endpoints.get(0).requestEnded();
+        endpoints.get(0).requestEnded();
+        assertSame(endpoints.get(0), provider.select(System.nanoTime()));
+    }
+
+    @Test
+    void testPowerOfTwoChoices() {
+        List<OriginEndpoint> endpoints = Origin.of("origin", URI).endpoints();
+        LoadBalancedOriginRequestProvider provider = provider(endpoints, LoadBalancing.POWER_OF_TWO_CHOICES);
+
+        // the most loaded endpoint loses every comparison
+        for (int i = 0; i < 10; i++) {
+            endpoints.get(2).requestStarted();
+        }
+        for (int i = 0; i < 100; i++) {
+            assertNotSame(endpoints.get(2), provider.select(System.nanoTime()));
+        }
+    }
+
+    @Test
+    void testPowerOfTwoChoicesWithTwoEndpoints() {
+        List<OriginEndpoint> endpoints = Origin.of("origin", "http://host-1:8081,host-2:8082").endpoints();
+        LoadBalancedOriginRequestProvider provider = provider(endpoints, LoadBalancing.POWER_OF_TWO_CHOICES);
+        endpoints.get(0).requestStarted();
+        for (int i = 0; i < 10; i++) {
+            assertSame(endpoints.get(1), provider.select(System.nanoTime()));
+        }
+    }
+
+    private static LoadBalancedOriginRequestProvider provider(List<OriginEndpoint> endpoints,
+            LoadBalancing loadBalancing) {
+        return new LoadBalancedOriginRequestProvider(endpoints, loadBalancing, false);
+    }
+}
@@ -5,6 +5,8 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
 class OriginTest {
@@ -138,4 +140,24 @@ class OriginTest {
         assertThat(blankOrigin.path(), is("/"));
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void checkMultipleEndpoints() {
+        Origin spec = Origin.of("multi-origin", "http://Host-1:8081,host-2,host-3:8083/backend",
+                LoadBalancing.LEAST_OUTSTANDING_REQUESTS);
+        assertThat(spec.endpoints().stream().map(OriginEndpoint::toString).toList(),
+                is(List.of("host-1:8081", "host-2:8080", "host-3:8083")));
+        assertThat(spec.host(), is("host-1"));
+        assertThat(spec.port(), is(8081));
+        assertThat(spec.path(), is("/backend"));
+        assertThat(spec.loadBalancing(), is(LoadBalancing.LEAST_OUTSTANDING_REQUESTS));
+        assertThat(spec.uri(), is("http://host-1:8081,host-2:8080,host-3:8083/backend"));
+    }
+
+    @Test
+    void checkStorkWithMultipleHosts() {
+        assertThat(assertThrows(IllegalArgumentException.class,
+                () -> Origin.of("stork-origin", "stork://service-1,service-2/backend")).getMessage(),
+                containsString("several hosts"));
+    }
+}
@@ -0,0 +1,48 @@
+package org.acme.edgy.runtime.api.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class PercentEncoderTest {
+
+    @Test
+    void testSafeReturnedAsIs() {
+        String value = "Page-size_2.1*x";
+        assertSame(value, PercentEncoder.encode(value));
+        assertSame("", PercentEncoder.encode(""));
+    }
+
+    @Test
+    void testReservedAndSpaces() {
+        assertEquals("two%20words%20%26%20more", PercentEncoder.encode("two words & more"));
+        assertEquals("a%2Bb%3Dc%2Fd%3Fe%7E", PercentEncoder.encode("a+b=c/d?e~"));
+        assertEquals("100%25", PercentEncoder.encode("100%"));
+    }
+
+    @Test
+    void testUtf8() {
+        assertEquals("%C3%A9t%C3%A9", PercentEncoder.encode("été"));
+        assertEquals("%E2%82%AC", PercentEncoder.encode("€"));
+        assertEquals("%F0%9F%98%80", PercentEncoder.encode("😀"));
+        // unpaired surrogates are replaced, like URLEncoder does
+        assertEquals("a%3Fb", PercentEncoder.encode("a\uD83Db"));
+        assertEquals("%3F", PercentEncoder.encode("\uDE00"));
+    }
+
+    @Test
+    void testSameAsUrlEncoderExceptSpaces() {
+        StringBuilder all = new StringBuilder();
+        for (char c = 0; c < 0x800; c++) {
+            all.append(c);
+        }
+        all.append("中文😀");
+        String value = all.toString();
+        String expected = URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+        assertEquals(expected, PercentEncoder.encode(value));
+    }
+}
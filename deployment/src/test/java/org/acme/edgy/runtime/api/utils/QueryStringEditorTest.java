@@ -0,0 +1,41 @@
+package org.acme.edgy.runtime.api.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class QueryStringEditorTest {
+
+    @Test
+    void testUnmodifiedUriKept() {
+        assertEquals("/path", QueryStringEditor.parse("/path").toUri());
+        assertEquals("/path?a=1&flag&b=&c=%20+", QueryStringEditor.parse("/path?a=1&flag&b=&c=%20+").toUri());
+        assertEquals("/path?a=1#fragment", QueryStringEditor.parse("/path?a=1#fragment").toUri());
+    }
+
+    @Test
+    void testEdits() {
+        QueryStringEditor editor = QueryStringEditor.parse("/path?a=1&b=2&a=3#fragment");
+        assertTrue(editor.contains("a"));
+        assertFalse(editor.contains("c"));
+        assertEquals(Set.of("a", "b"), editor.names());
+
+        editor.replace("a", List.of("4", "5")).remove("b").add("c", "");
+        assertEquals("/path?a=4&a=5&c=#fragment", editor.toUri());
+
+        editor.remove("a").remove("c");
+        assertEquals("/path#fragment", editor.toUri());
+    }
+
+    @Test
+    void testAddAll() {
+        assertEquals("/path?a=1&b=2&flag=&c=%20",
+                QueryStringEditor.parse("/path?a=1").addAll("b=2&flag&&c=%20").toUri());
+        assertEquals("/path?x=1", QueryStringEditor.parse("/path").addAll("x=1").toUri());
+    }
+}
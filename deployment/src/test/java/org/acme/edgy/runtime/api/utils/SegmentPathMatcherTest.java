@@ -0,0 +1,39 @@
+package org.acme.edgy.runtime.api.utils;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class SegmentPathMatcherTest {
+
+    @Test
+    void testReusedAcrossPaths() {
+        SegmentPathMatcher matcher = SegmentPathMatcher.compile("/users/{userId}/orders/{<orderId>\\d+}");
+        assertEquals(Map.of("userId", "john", "orderId", "456"), matcher.extractSegmentValues("/users/john/orders/456"));
+        assertEquals(Map.of("userId", "jane", "orderId", "7"), matcher.extractSegmentValues("/users/jane/orders/7/"));
+        assertEquals(Map.of(), matcher.extractSegmentValues("/users/jane/orders/abc"));
+        assertEquals(Map.of(), matcher.extractSegmentValues("/customers/jane"));
+    }
+
+    @Test
+    void testTrailingSlashNormalization() {
+        SegmentPathMatcher matcher = SegmentPathMatcher.compile("/a/{a}-{b}/b/");
+        assertEquals(Map.of("a", "foo", "b", "bar"), matcher.extractSegmentValues("/a/foo-bar/b"));
+        assertEquals(Map.of("a", "foo", "b", "bar"), matcher.extractSegmentValues("/a/foo-bar/b/"));
+    }
+
+    @Test
+    void testInvalidTemplates() {
+        assertThat(assertThrows(IllegalArgumentException.class,
+                () -> SegmentPathMatcher.compile("/users/{id}/orders/{id}")).getMessage(),
+                containsString("Duplicate segment"));
+        assertThrows(IllegalArgumentException.class, () -> SegmentPathMatcher.compile(" "));
+        assertThrows(IllegalArgumentException.class,
+                () -> SegmentPathMatcher.compile("/users/{id}").extractSegmentValues(""));
+    }
+}
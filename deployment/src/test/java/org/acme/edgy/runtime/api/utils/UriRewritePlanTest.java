@@ -0,0 +1,58 @@
+package org.acme.edgy.runtime.api.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.vertx.uritemplate.UriTemplate;
+import io.vertx.uritemplate.Variables;
+
+class UriRewritePlanTest {
+
+    private static final Map<String, String> VARIABLES = Map.of(
+            "__REQUEST_URI__", "/v1/foo/bar?a=1&b=c d",
+            "__REQUEST_URI_AFTER_PREFIX__", "foo/bar",
+            "userId", "123",
+            "name", "Jöhn Doe",
+            "reserved", "a/b?c=d&e#f",
+            "encoded", "50%25 off",
+            "emoji", "😀!",
+            "empty", "");
+
+    @Test
+    void testLiteral() {
+        UriRewritePlan plan = UriRewritePlan.compile("/backend?a=1&b=2");
+        assertTrue(plan.isLiteral());
+        assertEquals("/backend?a=1&b=2", plan.expand(VARIABLES::get));
+        assertFalse(UriRewritePlan.compile("/users/{userId}").isLiteral());
+    }
+
+    @Test
+    void testSameOutputAsUriTemplate() {
+        assertSameExpansion("/test/dump/{__REQUEST_URI__}");
+        assertSameExpansion("/test/dump/{__REQUEST_URI_AFTER_PREFIX__}");
+        assertSameExpansion("/test/dump/{+__REQUEST_URI_AFTER_PREFIX__}");
+        assertSameExpansion("/users/{userId}/orders/{missing}");
+        assertSameExpansion("/users/{userId}{?name,missing,empty}");
+        assertSameExpansion("/users?fixed=1{&name,userId}");
+        assertSameExpansion("/search{;name,empty,missing}");
+        assertSameExpansion("/files{/userId,name}{.empty,userId}");
+        assertSameExpansion("/reserved/{+reserved}/{reserved}{#reserved}");
+        assertSameExpansion("/encoded/{encoded}/{+encoded}");
+        assertSameExpansion("/unicode/{name}/{emoji}/{+emoji}");
+        assertSameExpansion("/prefix/{name:3}/{+reserved:4}{?userId:1}");
+        assertSameExpansion("/explode/{userId*}{?name*}");
+        assertSameExpansion("{missing}{empty}{name,userId}");
+    }
+
+    private static void assertSameExpansion(String template) {
+        Variables variables = Variables.variables();
+        VARIABLES.forEach(variables::set);
+        assertEquals(UriTemplate.of(template).expandToString(variables),
+                UriRewritePlan.compile(template).expand(VARIABLES::get), template);
+    }
+}
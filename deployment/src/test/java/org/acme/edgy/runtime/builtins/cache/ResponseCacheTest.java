@@ -0,0 +1,157 @@
+package org.acme.edgy.runtime.builtins.cache;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Produces;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.QueryParam;
+
+import org.acme.edgy.runtime.api.Origin;
+import org.acme.edgy.runtime.api.PathMode;
+import org.acme.edgy.runtime.api.Route;
+import org.acme.edgy.runtime.api.RoutingConfiguration;
+import org.jboss.resteasy.reactive.RestResponse;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.test.QuarkusUnitTest;
+import io.restassured.RestAssured;
+
+class ResponseCacheTest {
+
+    static final AtomicInteger MAX_AGE_CALLS = new AtomicInteger();
+    static final AtomicInteger NO_STORE_CALLS = new AtomicInteger();
+    static final AtomicInteger ETAG_CALLS = new AtomicInteger();
+    static final AtomicInteger NOT_MODIFIED_CALLS = new AtomicInteger();
+    static final AtomicInteger QUERY_CALLS = new AtomicInteger();
+    static final AtomicInteger SET_COOKIE_CALLS = new AtomicInteger();
+
+    @ApplicationScoped
+    static class RoutingProvider {
+        @Produces
+        RoutingConfiguration routingConfiguration() {
+            ResponseCache cache = new ResponseCache(1024 * 1024).varyByQueryParameter("x");
+            RoutingConfiguration routingConfiguration = new RoutingConfiguration();
+            for (String endpoint : new String[] { "max-age", "no-store", "etag", "query", "set-cookie" }) {
+                routingConfiguration.addRoute(new Route("/cached/" + endpoint,
+                        Origin.of("origin-" + endpoint, "http://localhost:8081/test/" + endpoint), PathMode.FIXED)
+                        .addRequestTransformer(new RequestCacheLookup(cache))
+                        .addResponseTransformer(new ResponseCacheStore(cache)));
+            }
+            return routingConfiguration;
+        }
+    }
+
+    @Path("/test")
+    static class TestApi {
+        @GET
+        @Path("/max-age")
+        public RestResponse<String> maxAge() {
+            return RestResponse.ResponseBuilder.ok(String.valueOf(MAX_AGE_CALLS.incrementAndGet()))
+                    .header("Cache-Control", "public, max-age=60")
+                    .build();
+        }
+
+        @GET
+        @Path("/no-store")
+        public RestResponse<String> noStore() {
+            return RestResponse.ResponseBuilder.ok(String.valueOf(NO_STORE_CALLS.incrementAndGet()))
+                    .header("Cache-Control", "no-store")
+                    .build();
+        }
+
+        @GET
+        @Path("/etag")
+        public RestResponse<String> etag(@HeaderParam("If-None-Match") String ifNoneMatch) {
+            if ("\"v1\"".equals(ifNoneMatch)) {
+                NOT_MODIFIED_CALLS.incrementAndGet();
+                return RestResponse.ResponseBuilder.<String> create(RestResponse.Status.NOT_MODIFIED)
+                        .header("ETag", "\"v1\"")
+                        .build();
+            }
+            return RestResponse.ResponseBuilder.ok(String.valueOf(ETAG_CALLS.incrementAndGet()))
+                    .header("Cache-Control", "no-cache")
+                    .header("ETag", "\"v1\"")
+                    .build();
+        }
+
+        @GET
+        @Path("/query")
+        public RestResponse<String> query(@QueryParam("x") String x) {
+            return RestResponse.ResponseBuilder.ok(x + ":" + QUERY_CALLS.incrementAndGet())
+                    .header("Cache-Control", "max-age=60")
+                    .build();
+        }
+
+        @GET
+        @Path("/set-cookie")
+        public RestResponse<String> setCookie() {
+            int call = SET_COOKIE_CALLS.incrementAndGet();
+            return RestResponse.ResponseBuilder.ok(String.valueOf(call))
+                    .header("Cache-Control", "public, max-age=60")
+                    .header("Set-Cookie", "session=" + call)
+                    .build();
+        }
+    }
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(RoutingProvider.class, TestApi.class));
+
+    @Test
+    void testFreshResponseServedFromCache() {
+        RestAssured.get("/cached/max-age").then().statusCode(200).body(is("1")).header("Age", nullValue());
+        RestAssured.get("/cached/max-age").then().statusCode(200).body(is("1")).header("Age", notNullValue());
+        assertEquals(1, MAX_AGE_CALLS.get());
+    }
+
+    @Test
+    void testNoStoreResponseNotCached() {
+        RestAssured.get("/cached/no-store").then().statusCode(200).body(is("1"));
+        RestAssured.get("/cached/no-store").then().statusCode(200).body(is("2"));
+    }
+
+    @Test
+    void testRequestNoCacheBypassesFreshEntry() {
+        RestAssured.get("/cached/query?x=no-cache").then().statusCode(200);
+        int calls = QUERY_CALLS.get();
+        RestAssured.given().header("Cache-Control", "no-cache")
+                .get("/cached/query?x=no-cache").then().statusCode(200);
+        assertEquals(calls + 1, QUERY_CALLS.get());
+    }
+
+    @Test
+    void testStaleResponseRevalidatedWithETag() {
+        RestAssured.get("/cached/etag").then().statusCode(200).body(is("1")).header("ETag", is("\"v1\""));
+        RestAssured.get("/cached/etag").then().statusCode(200).body(is("1"));
+        assertEquals(1, ETAG_CALLS.get());
+        assertEquals(1, NOT_MODIFIED_CALLS.get());
+    }
+
+    @Test
+    void testVaryByQueryParameter() {
+        String first = RestAssured.get("/cached/query?x=a&ignored=1").then().statusCode(200).extract().asString();
+        RestAssured.get("/cached/query?x=a&ignored=2").then().statusCode(200).body(is(first));
+        String other = RestAssured.get("/cached/query?x=b").then().statusCode(200).extract().asString();
+        assertEquals("a", first.split(":")[0]);
+        assertEquals("b", other.split(":")[0]);
+    }
+
+    @Test
+    void testResponseSettingCookieNotCached() {
+        RestAssured.get("/cached/set-cookie").then().statusCode(200).body(is("1")).header("Set-Cookie", is("session=1"));
+        RestAssured.get("/cached/set-cookie").then().statusCode(200).body(is("2")).header("Set-Cookie", is("session=2"));
+        assertEquals(2, SET_COOKIE_CALLS.get());
+    }
+}
@@ -0,0 +1,163 @@
+package org.acme.edgy.runtime.builtins.requests;
+
+import static jakarta.ws.rs.core.HttpHeaders.AUTHORIZATION;
+import static jakarta.ws.rs.core.HttpHeaders.SET_COOKIE;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Produces;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.Path;
+
+import org.acme.edgy.runtime.api.Origin;
+import org.acme.edgy.runtime.api.PathMode;
+import org.acme.edgy.runtime.api.Route;
+import org.acme.edgy.runtime.api.RoutingConfiguration;
+import org.jboss.resteasy.reactive.RestResponse;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.test.QuarkusUnitTest;
+import io.restassured.RestAssured;
+import io.restassured.specification.RequestSpecification;
+
+class RequestCoalescerTest {
+
+    static final AtomicInteger SLOW_CALLS = new AtomicInteger();
+    static final AtomicInteger LIMITED_CALLS = new AtomicInteger();
+    static final AtomicInteger COOKIE_CALLS = new AtomicInteger();
+
+    @ApplicationScoped
+    static class RoutingProvider {
+        @Produces
+        RoutingConfiguration routingConfiguration() {
+            return new RoutingConfiguration()
+                    .addRoute(new Route("/coalesced",
+                            Origin.of("origin-1", "http://localhost:8081/test/slow"), PathMode.FIXED)
+                            .addRequestTransformer(new RequestCoalescer(100, 1024)))
+                    .addRoute(new Route("/limited",
+                            Origin.of("origin-2", "http://localhost:8081/test/limited"), PathMode.FIXED)
+                            .addRequestTransformer(new RequestCoalescer(1, 1024)))
+                    .addRoute(new Route("/credentials",
+                            Origin.of("origin-3", "http://localhost:8081/test/user"), PathMode.FIXED)
+                            .addRequestTransformer(new RequestCoalescer(100, 1024)))
+                    .addRoute(new Route("/cookie",
+                            Origin.of("origin-4", "http://localhost:8081/test/cookie"), PathMode.FIXED)
+                            .addRequestTransformer(new RequestCoalescer(100, 1024)));
+        }
+    }
+
+    @Path("/test")
+    static class TestApi {
+        @GET
+        @Path("/slow")
+        public String slow() throws InterruptedException {
+            int call = SLOW_CALLS.incrementAndGet();
+            Thread.sleep(1000);
+            return "slow-" + call;
+        }
+
+        @GET
+        @Path("/limited")
+        public String limited() throws InterruptedException {
+            LIMITED_CALLS.incrementAndGet();
+            Thread.sleep(1000);
+            return "limited";
+        }
+
+        @GET
+        @Path("/user")
+        public String user(@HeaderParam(AUTHORIZATION) String authorization) throws InterruptedException {
+            Thread.sleep(1000);
+            return authorization;
+        }
+
+        @GET
+        @Path("/cookie")
+        public RestResponse<String> cookie() throws InterruptedException {
+            int call = COOKIE_CALLS.incrementAndGet();
+            Thread.sleep(1000);
+            return RestResponse.ResponseBuilder.ok("cookie-" + call)
+                    .header(SET_COOKIE, "session=" + call)
+                    .build();
+        }
+    }
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(RoutingProvider.class, TestApi.class));
+
+    @Test
+    void testIdenticalRequestsShareOneOriginRequest() {
+        List<String> bodies = concurrentGets("/coalesced", 5);
+        assertEquals(List.of("slow-1", "slow-1", "slow-1", "slow-1", "slow-1"), bodies);
+        assertEquals(1, SLOW_CALLS.get());
+
+        // once the response is received, a new request reaches the origin
+        assertEquals("slow-2", RestAssured.get("/coalesced").then().statusCode(200).extract().asString());
+    }
+
+    @Test
+    void testMaxWaiters() {
+        List<String> bodies = concurrentGets("/limited", 4);
+        assertEquals(List.of("limited", "limited", "limited", "limited"), bodies);
+        // one leader and one waiter, the other requests are sent
+        assertEquals(3, LIMITED_CALLS.get());
+    }
+
+    @Test
+    void testRequestsOfDifferentUsersAreNotCoalesced() {
+        List<String> bodies = concurrentGets("/credentials", List.of("Bearer alice", "Bearer bob"));
+        assertEquals(List.of("Bearer alice", "Bearer bob"), bodies);
+    }
+
+    @Test
+    void testCookieIsNotSharedWithWaiters() {
+        List<String> cookies = concurrent(Collections.nCopies(3, () -> RestAssured.get("/cookie").then()
+                .statusCode(200).body(is("cookie-1")).extract().header(SET_COOKIE)));
+        assertEquals(1, COOKIE_CALLS.get());
+        assertEquals(List.of("session=1"), cookies.stream().filter(Objects::nonNull).toList());
+    }
+
+    private static List<String> concurrentGets(String path, int count) {
+        return concurrentGets(path, IntStream.range(0, count).mapToObj(i -> (String) null).toList());
+    }
+
+    // one request per authorization, without the header when it is null
+    private static List<String> concurrentGets(String path, List<String> authorizations) {
+        return concurrent(authorizations.stream().<Supplier<String>> map(authorization -> () -> {
+            RequestSpecification request = RestAssured.given();
+            if (authorization != null) {
+                request.header(AUTHORIZATION, authorization);
+            }
+            return request.get(path).then().statusCode(200).extract().asString();
+        }).toList());
+    }
+
+    private static List<String> concurrent(List<Supplier<String>> requests) {
+        ExecutorService executor = Executors.newFixedThreadPool(requests.size());
+        try {
+            List<CompletableFuture<String>> responses = requests.stream()
+                    .map(request -> CompletableFuture.supplyAsync(request, executor))
+                    .toList();
+            return responses.stream().map(CompletableFuture::join).toList();
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
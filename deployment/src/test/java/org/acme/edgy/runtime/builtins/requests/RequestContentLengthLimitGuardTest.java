@@ -1,9 +1,15 @@
 package org.acme.edgy.runtime.builtins.requests;
 
+import static jakarta.ws.rs.core.HttpHeaders.CONTENT_LENGTH;
 import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.jboss.resteasy.reactive.RestResponse.StatusCode.BAD_REQUEST;
 import static org.jboss.resteasy.reactive.RestResponse.StatusCode.OK;
 import static org.jboss.resteasy.reactive.RestResponse.StatusCode.PAYLOAD_TOO_LARGE;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Produces;
 import jakarta.ws.rs.POST;
@@ -33,7 +39,13 @@ class RequestContentLengthLimitGuardTest {
             return new RoutingConfiguration().addRoute(new Route("/content-length-limit",
                     Origin.of("origin-1", "http://localhost:8081/test/content-length-limit"), PathMode.FIXED)
                     .addRequestTransformer(
-                            new RequestContentLengthLimitGuard(CONTENT_LENGTH_LIMIT)));
+                            new RequestContentLengthLimitGuard(CONTENT_LENGTH_LIMIT)))
+                    .addRoute(new Route("/invalid-content-length",
+                            Origin.of("origin-2", "http://localhost:8081/test/content-length-limit"), PathMode.FIXED)
+                            .addRequestTransformer(new RequestHeaderModifier(CONTENT_LENGTH,
+                                    proxyContext -> proxyContext.request().proxiedRequest().getHeader("X-Length")))
+                            .addRequestTransformer(
+                                    new RequestContentLengthLimitGuard(CONTENT_LENGTH_LIMIT)));
         }
     }
 
@@ -69,4 +81,38 @@ class RequestContentLengthLimitGuardTest {
                 .post("/content-length-limit").then().statusCode(PAYLOAD_TOO_LARGE).and()
                 .body(containsString("exceeds"));
     }
+
+    @Test
+    void test_chunkedBelowLimit() {
+        RestAssured.given().body(chunked("a".repeat((int) CONTENT_LENGTH_LIMIT)))
+                .post("/content-length-limit").then().statusCode(OK).and()
+                .body(is("a".repeat((int) CONTENT_LENGTH_LIMIT)));
+    }
+
+    @Test
+    void test_chunkedAboveLimit() {
+        RestAssured.given().body(chunked("a".repeat((int) CONTENT_LENGTH_LIMIT * 64)))
+                .post("/content-length-limit").then().statusCode(PAYLOAD_TOO_LARGE).and()
+                .body(containsString("exceeds"));
+    }
+
+    @Test
+    void test_malformedContentLength() {
+        // the server rejects a malformed header itself, it is set by a transformer instead
+        RestAssured.given().header("X-Length", "abc").body("a")
+                .post("/invalid-content-length").then().statusCode(BAD_REQUEST).and()
+                .body(containsString("Invalid"));
+    }
+
+    @Test
+    void test_negativeContentLength() {
+        RestAssured.given().header("X-Length", "-1").body("a")
+                .post("/invalid-content-length").then().statusCode(BAD_REQUEST).and()
+                .body(containsString("Invalid"));
+    }
+
+    // a body of unknown length is sent chunked, without a Content-Length header
+    private static ByteArrayInputStream chunked(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
 }
@@ -36,6 +36,8 @@ class RequestContentTypeModifierTest {
     private static final String TEXTIFIED_JSON_PAYLOAD = "{\"hello\":\"world\"}";
 
     private static final String COPYRIGHT = "©";
+    // larger than a chunk, with characters of 1 to 4 bytes in UTF-8
+    private static final String LARGE_TEXT = "a©€😀".repeat(16 * 1024);
 
     static class RoutingProvider {
         @Produces
@@ -52,7 +54,12 @@ class RequestContentTypeModifierTest {
                     .addRoute(new Route("/charset-transform",
                             Origin.of("origin-3", "http://localhost:8081/test/charset-check-encoded"), PathMode.FIXED)
                             .addRequestTransformer(
-                                    new RequestContentTypeModifier("text/plain; charset=UTF-16BE")));
+                                    new RequestContentTypeModifier("text/plain; charset=UTF-16BE")))
+                    .addRoute(new Route("/large-charset-transform",
+                            Origin.of("origin-4", "http://localhost:8081/test/large-charset-check-encoded"),
+                            PathMode.FIXED)
+                            .addRequestTransformer(
+                                    new RequestContentTypeModifier("text/plain; charset=UTF-16LE")));
         }
     }
 
@@ -83,7 +90,8 @@ class RequestContentTypeModifierTest {
         @Consumes("text/plain; charset=UTF-16BE")
         public RestResponse<Void> charsetCheckEncoded(@HeaderParam(CONTENT_TYPE) String contentType,
                 @HeaderParam(CONTENT_LENGTH) Long contentLength, byte[] body) {
-            if (!contentType.contains(StandardCharsets.UTF_16BE.name()) || contentLength != 2 || body.length != 2) {
+            // the re-encoded body is streamed, without a content length
+            if (!contentType.contains(StandardCharsets.UTF_16BE.name()) || contentLength != null || body.length != 2) {
                 return RestResponse.serverError();
             }
 
@@ -93,6 +101,16 @@ class RequestContentTypeModifierTest {
             }
             return RestResponse.ok();
         }
+
+        @POST
+        @Path("/large-charset-check-encoded")
+        @Consumes("text/plain; charset=UTF-16LE")
+        public RestResponse<Void> largeCharsetCheckEncoded(byte[] body) {
+            if (!LARGE_TEXT.equals(new String(body, StandardCharsets.UTF_16LE))) {
+                return RestResponse.serverError();
+            }
+            return RestResponse.ok();
+        }
     }
 
     @RegisterExtension
@@ -113,7 +131,7 @@ class RequestContentTypeModifierTest {
     }
 
     @Test
-    void test_contentLengthUpdatedAfterTranscode() {
+    void test_bodyTranscoded() {
         assertEquals(1, COPYRIGHT.getBytes(StandardCharsets.ISO_8859_1).length);
         assertEquals(2, COPYRIGHT.getBytes(StandardCharsets.UTF_16BE).length);
 
@@ -124,4 +142,14 @@ class RequestContentTypeModifierTest {
                 .then()
                 .statusCode(OK);
     }
-}
\ No newline at end of file
+
+    @Test
+    void test_largeBodyTranscoded() {
+        RestAssured.given()
+                .contentType("text/plain; charset=UTF-8")
+                .body(LARGE_TEXT.getBytes(StandardCharsets.UTF_8))
+                .post("/large-charset-transform")
+                .then()
+                .statusCode(OK);
+    }
+}
@@ -1,10 +1,17 @@
 package org.acme.edgy.runtime.builtins.requests;
 
+import static jakarta.ws.rs.core.HttpHeaders.CONTENT_ENCODING;
 import static jakarta.ws.rs.core.HttpHeaders.CONTENT_LENGTH;
 import static jakarta.ws.rs.core.MediaType.APPLICATION_JSON;
 import static org.hamcrest.Matchers.containsString;
 import static org.jboss.resteasy.reactive.RestResponse.StatusCode.BAD_REQUEST;
 import static org.jboss.resteasy.reactive.RestResponse.StatusCode.OK;
+import static org.jboss.resteasy.reactive.RestResponse.StatusCode.PAYLOAD_TOO_LARGE;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Produces;
@@ -70,7 +77,11 @@ class RequestJsonObjectBodyModifierTest {
                             Origin.of("origin-6", "http://localhost:8081/test/replace-full"), PathMode.FIXED)
                                     .addRequestTransformer(new RequestJsonObjectBodyModifier(
                                             new JsonObject().put("replaced", "yes").put("arr",
-                                                    new JsonArray().add(1).add(2)))));
+                                                    new JsonArray().add(1).add(2)))))
+                    .addRoute(new Route("/too-large",
+                            Origin.of("origin-7", "http://localhost:8081/test/remove-field"), PathMode.FIXED)
+                                    .addRequestTransformer(new RequestJsonObjectBodyModifier(json -> json)
+                                            .maxBodySize(ORIGINAL_JSON.length() - 1)));
         }
     }
 
@@ -201,4 +212,36 @@ class RequestJsonObjectBodyModifierTest {
         RestAssured.given().contentType(APPLICATION_JSON).body("invalid json").post("/modify-field")
                 .then().statusCode(BAD_REQUEST).and().body(containsString("JSON"));
     }
+
+    @Test
+    void test_gzipBody() throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(ORIGINAL_JSON.getBytes(StandardCharsets.UTF_8));
+        }
+        // the origin receives the modified body uncompressed
+        RestAssured.given().contentType(APPLICATION_JSON).header(CONTENT_ENCODING, "gzip")
+                .body(compressed.toByteArray()).post("/remove-field").then().statusCode(OK);
+    }
+
+    @Test
+    void test_bodyAboveMaxSize() {
+        RestAssured.given().contentType(APPLICATION_JSON).body(ORIGINAL_JSON).post("/too-large")
+                .then().statusCode(PAYLOAD_TOO_LARGE).and().body(containsString("exceeds"));
+    }
+
+    @Test
+    void test_gzipBombAboveMaxSize() throws IOException {
+        // 64 KiB of compressed whitespace that inflates to 64 MiB, stopped at the limit
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            byte[] block = " ".repeat(64 * 1024).getBytes(StandardCharsets.UTF_8);
+            for (int i = 0; i < 1024; i++) {
+                gzip.write(block);
+            }
+        }
+        RestAssured.given().contentType(APPLICATION_JSON).header(CONTENT_ENCODING, "gzip")
+                .body(compressed.toByteArray()).post("/too-large")
+                .then().statusCode(PAYLOAD_TOO_LARGE).and().body(containsString("exceeds"));
+    }
 }
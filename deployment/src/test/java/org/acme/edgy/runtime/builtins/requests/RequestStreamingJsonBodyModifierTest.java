@@ -0,0 +1,92 @@
+package org.acme.edgy.runtime.builtins.requests;
+
+import static jakarta.ws.rs.core.MediaType.APPLICATION_JSON;
+import static org.hamcrest.Matchers.is;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Produces;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+
+import org.acme.edgy.runtime.api.Origin;
+import org.acme.edgy.runtime.api.PathMode;
+import org.acme.edgy.runtime.api.Route;
+import org.acme.edgy.runtime.api.RoutingConfiguration;
+import org.acme.edgy.runtime.builtins.JsonFieldEdits;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.test.QuarkusUnitTest;
+import io.restassured.RestAssured;
+import io.vertx.core.json.JsonArray;
+
+class RequestStreamingJsonBodyModifierTest {
+
+    private static final String ORIGINAL_JSON =
+            "{\"1\":\"Lorem\",\"2\":{\"nested\":[\"Ipsum\"]},\"3\":[\"Dolor\",\"Sit\",\"Amet\"],\"5\":true}";
+
+    @ApplicationScoped
+    static class RoutingProvider {
+        @Produces
+        RoutingConfiguration routingConfiguration() {
+            return new RoutingConfiguration()
+                    .addRoute(new Route("/edit-fields",
+                            Origin.of("origin-1", "http://localhost:8081/test/echo"), PathMode.FIXED)
+                            .addRequestTransformer(new RequestStreamingJsonBodyModifier(JsonFieldEdits.create()
+                                    .remove("2")
+                                    .rename("1", "one")
+                                    .add("4", new JsonArray().add(1).add(2))
+                                    .add("5", "replaced"))))
+                    .addRoute(new Route("/no-edits",
+                            Origin.of("origin-2", "http://localhost:8081/test/echo"), PathMode.FIXED)
+                            .addRequestTransformer(new RequestStreamingJsonBodyModifier(JsonFieldEdits.create())));
+        }
+    }
+
+    @Path("/test")
+    static class TestApi {
+        @POST
+        @Path("/echo")
+        @Consumes(APPLICATION_JSON)
+        public String echo(String body) {
+            return body;
+        }
+    }
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(RoutingProvider.class, TestApi.class));
+
+    @Test
+    void testEditFields() {
+        RestAssured.given().contentType(APPLICATION_JSON).body(ORIGINAL_JSON)
+                .post("/edit-fields")
+                .then()
+                .statusCode(200)
+                .body(is("{\"one\":\"Lorem\",\"3\":[\"Dolor\",\"Sit\",\"Amet\"],\"4\":[1,2],\"5\":\"replaced\"}"));
+    }
+
+    @Test
+    void testNoEdits() {
+        RestAssured.given().contentType(APPLICATION_JSON).body(ORIGINAL_JSON)
+                .post("/no-edits")
+                .then()
+                .statusCode(200)
+                .body(is(ORIGINAL_JSON));
+    }
+
+    @Test
+    void testNumbersKeepTheirText() {
+        RestAssured.given().contentType(APPLICATION_JSON)
+                .body("{\"1\":\"Lorem\",\"n\":[1.0,1e3,-0.50,123456789012345678901234567890],\"x\":2.50E-3}")
+                .post("/edit-fields")
+                .then()
+                .statusCode(200)
+                .body(is("{\"one\":\"Lorem\",\"n\":[1.0,1e3,-0.50,123456789012345678901234567890],\"x\":2.50E-3,"
+                        + "\"4\":[1,2],\"5\":\"replaced\"}"));
+    }
+}
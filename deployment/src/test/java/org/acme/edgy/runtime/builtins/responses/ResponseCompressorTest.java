@@ -0,0 +1,128 @@
+package org.acme.edgy.runtime.builtins.responses;
+
+import static jakarta.ws.rs.core.HttpHeaders.ACCEPT_ENCODING;
+import static jakarta.ws.rs.core.HttpHeaders.CONTENT_ENCODING;
+import static jakarta.ws.rs.core.HttpHeaders.CONTENT_TYPE;
+import static jakarta.ws.rs.core.HttpHeaders.ETAG;
+import static jakarta.ws.rs.core.HttpHeaders.VARY;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.jboss.resteasy.reactive.RestResponse.StatusCode.OK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.Produces;
+
+import org.acme.edgy.runtime.api.Origin;
+import org.acme.edgy.runtime.api.PathMode;
+import org.acme.edgy.runtime.api.Route;
+import org.acme.edgy.runtime.api.RoutingConfiguration;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.test.QuarkusUnitTest;
+import io.restassured.RestAssured;
+import io.restassured.config.DecoderConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.response.Response;
+import io.vertx.ext.web.Router;
+
+class ResponseCompressorTest {
+
+    private static final long MIN_SIZE = 64;
+    private static final String BODY = "Lorem ipsum dolor sit amet. ".repeat(32);
+    // checks the raw responses, as sent by the proxy
+    private static final RestAssuredConfig NO_DECODING = RestAssuredConfig.config()
+            .decoderConfig(DecoderConfig.decoderConfig().noContentDecoders());
+
+    @ApplicationScoped
+    static class RoutingProvider {
+
+        @Produces
+        RoutingConfiguration routingConfiguration() {
+            return new RoutingConfiguration().addRoute(new Route("/compressed",
+                    Origin.of("origin-1", "http://localhost:8081/test/compressed"), PathMode.FIXED)
+                            .addResponseTransformer(new ResponseCompressor().minSize(MIN_SIZE)
+                                    .exclude("application/octet-stream")));
+        }
+    }
+
+    @ApplicationScoped
+    static class CompressibleOrigin {
+
+        // answers the requested number of bytes of the body, with the requested content type
+        void routes(@Observes Router router) {
+            router.get("/test/compressed").handler(rc -> {
+                int size = Integer.parseInt(rc.request().getParam("size"));
+                rc.response().putHeader(CONTENT_TYPE, rc.request().getParam("type"))
+                        .putHeader(ETAG, "\"v1\"")
+                        .end(BODY.substring(0, size));
+            });
+        }
+    }
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest =
+            new QuarkusUnitTest().setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(RoutingProvider.class, CompressibleOrigin.class));
+
+    @Test
+    void test_gzip() throws IOException {
+        Response response = get("gzip, deflate", BODY.length(), "text/plain");
+        response.then().statusCode(OK).and().header(CONTENT_ENCODING, is("gzip"))
+                .and().header(VARY, is(ACCEPT_ENCODING)).and().header(ETAG, is("W/\"v1\""));
+        assertEquals(BODY, decompress(new GZIPInputStream(response.asInputStream())));
+    }
+
+    @Test
+    void test_deflate() throws IOException {
+        Response response = get("gzip;q=0.5, deflate", BODY.length(), "application/json");
+        response.then().statusCode(OK).and().header(CONTENT_ENCODING, is("deflate"));
+        assertEquals(BODY, decompress(new InflaterInputStream(response.asInputStream())));
+    }
+
+    @Test
+    void test_notAccepted() {
+        get("identity", BODY.length(), "text/plain").then().statusCode(OK).and()
+                .header(CONTENT_ENCODING, nullValue()).and().header(VARY, is(ACCEPT_ENCODING))
+                .and().body(is(BODY));
+    }
+
+    @Test
+    void test_belowMinSize() {
+        get("gzip", (int) MIN_SIZE - 1, "text/plain").then().statusCode(OK).and()
+                .header(CONTENT_ENCODING, nullValue()).and().body(is(BODY.substring(0, (int) MIN_SIZE - 1)));
+    }
+
+    @Test
+    void test_alreadyCompressedType() {
+        get("gzip", BODY.length(), "image/png").then().statusCode(OK).and()
+                .header(CONTENT_ENCODING, nullValue()).and().header(VARY, nullValue());
+    }
+
+    @Test
+    void test_excludedType() {
+        get("gzip", BODY.length(), "application/octet-stream").then().statusCode(OK).and()
+                .header(CONTENT_ENCODING, nullValue()).and().header(ETAG, is("\"v1\""));
+    }
+
+    private static Response get(String acceptEncoding, int size, String type) {
+        return RestAssured.given().config(NO_DECODING).header(ACCEPT_ENCODING, acceptEncoding)
+                .queryParam("size", size).queryParam("type", type).get("/compressed");
+    }
+
+    private static String decompress(InputStream compressed) throws IOException {
+        try (compressed) {
+            return new String(compressed.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
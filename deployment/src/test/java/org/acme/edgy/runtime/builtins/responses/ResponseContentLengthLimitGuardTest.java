@@ -2,10 +2,23 @@ package org.acme.edgy.runtime.builtins.responses;
 
 import static jakarta.ws.rs.core.MediaType.TEXT_PLAIN;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
 import static org.jboss.resteasy.reactive.RestResponse.StatusCode.OK;
 import static org.jboss.resteasy.reactive.RestResponse.StatusCode.PAYLOAD_TOO_LARGE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
 import jakarta.enterprise.inject.Produces;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
@@ -22,6 +35,7 @@ import org.junit.jupiter.api.extension.RegisterExtension;
 
 import io.quarkus.test.QuarkusUnitTest;
 import io.restassured.RestAssured;
+import io.vertx.ext.web.Router;
 
 class ResponseContentLengthLimitGuardTest {
 
@@ -34,11 +48,31 @@ class ResponseContentLengthLimitGuardTest {
         RoutingConfiguration routingConfiguration() {
             return new RoutingConfiguration().addRoute(new Route("/content-length-limit",
                     Origin.of("origin-1", "http://localhost:8081/test/content-length-limit"), PathMode.FIXED)
+                            .addResponseTransformer(
+                                    new ResponseContentLengthLimitGuard(CONTENT_LENGTH_LIMIT)))
+                    .addRoute(new Route("/chunked",
+                            Origin.of("origin-2", "http://localhost:8081/test/chunked"), PathMode.FIXED)
                             .addResponseTransformer(
                                     new ResponseContentLengthLimitGuard(CONTENT_LENGTH_LIMIT)));
         }
     }
 
+    @ApplicationScoped
+    static class ChunkedOrigin {
+
+        // writes the requested number of bytes, one byte per chunk
+        void routes(@Observes Router router) {
+            router.get("/test/chunked").handler(rc -> {
+                int size = Integer.parseInt(rc.request().getParam("size"));
+                rc.response().setChunked(true);
+                for (int i = 0; i < size; i++) {
+                    rc.response().write("a");
+                }
+                rc.response().end();
+            });
+        }
+    }
+
     @Path("/test")
     static class TestApi {
 
@@ -53,7 +87,7 @@ class ResponseContentLengthLimitGuardTest {
     @RegisterExtension
     static final QuarkusUnitTest unitTest =
             new QuarkusUnitTest().setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
-                    .addClasses(RoutingProvider.class, TestApi.class));
+                    .addClasses(RoutingProvider.class, ChunkedOrigin.class, TestApi.class));
 
     @Test
     void test_contentLengthBellowLimit() {
@@ -74,4 +108,36 @@ class ResponseContentLengthLimitGuardTest {
                 .body(containsString("exceeds"));
     }
 
+    @Test
+    void test_chunkedBelowLimit() {
+        RestAssured.given().queryParam("size", CONTENT_LENGTH_LIMIT)
+                .get("/chunked").then().statusCode(OK).and()
+                .body(is("a".repeat((int) CONTENT_LENGTH_LIMIT)));
+    }
+
+    @Test
+    void test_chunkedAboveLimit() throws InterruptedException {
+        long size = CONTENT_LENGTH_LIMIT * 64;
+        HttpRequest request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + RestAssured.port + "/chunked?size=" + size)).build();
+        // the response has started when the limit is crossed, the exchange is reset
+        long received = 0;
+        boolean reset = false;
+        try {
+            HttpResponse<InputStream> response = HttpClient.newHttpClient().send(request, BodyHandlers.ofInputStream());
+            assertEquals(OK, response.statusCode());
+            try (InputStream body = response.body()) {
+                byte[] buffer = new byte[1024];
+                for (int read = body.read(buffer); read != -1; read = body.read(buffer)) {
+                    received += read;
+                }
+            }
+        } catch (ConnectException e) {
+            throw new AssertionError("The proxy is not reachable", e);
+        } catch (IOException e) {
+            reset = true;
+        }
+        assertTrue(reset || received < size, "The response was neither reset nor truncated");
+        assertTrue(received <= CONTENT_LENGTH_LIMIT, "Received " + received + " bytes");
+    }
 }
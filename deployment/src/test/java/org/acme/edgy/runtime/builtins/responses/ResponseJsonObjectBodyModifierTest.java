@@ -6,6 +6,7 @@ import static jakarta.ws.rs.core.MediaType.TEXT_PLAIN;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.emptyOrNullString;
 import static org.hamcrest.Matchers.is;
+import static org.jboss.resteasy.reactive.RestResponse.StatusCode.BAD_GATEWAY;
 import static org.jboss.resteasy.reactive.RestResponse.StatusCode.BAD_REQUEST;
 import static org.jboss.resteasy.reactive.RestResponse.StatusCode.OK;
 
@@ -78,7 +79,13 @@ class ResponseJsonObjectBodyModifierTest {
                                             Origin.of("origin-7", "http://localhost:8081/test/invalid-json"),
                                             PathMode.FIXED)
                                     .addResponseTransformer(
-                                            new ResponseJsonObjectBodyModifier(json -> json)));
+                                            new ResponseJsonObjectBodyModifier(json -> json)))
+                    .addRoute(new Route("/too-large",
+                                            Origin.of("origin-8", "http://localhost:8081/test/remove-field"),
+                                            PathMode.FIXED)
+                                    .addResponseTransformer(
+                                            new ResponseJsonObjectBodyModifier(json -> json)
+                                                    .maxBodySize(ORIGINAL_JSON.length() - 1)));
         }
     }
 
@@ -192,4 +199,10 @@ class ResponseJsonObjectBodyModifierTest {
         RestAssured.given().contentType(APPLICATION_JSON).get("/invalid-json").then()
                 .statusCode(BAD_REQUEST).body(containsString("JSON"));
     }
+
+    @Test
+    void test_bodyAboveMaxSize() {
+        RestAssured.given().contentType(APPLICATION_JSON).get("/too-large").then()
+                .statusCode(BAD_GATEWAY).body(containsString("exceeds"));
+    }
 }
@@ -0,0 +1,66 @@
+package org.acme.edgy.runtime.builtins.responses;
+
+import static jakarta.ws.rs.core.MediaType.APPLICATION_JSON;
+import static org.hamcrest.Matchers.is;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+
+import org.acme.edgy.runtime.api.Origin;
+import org.acme.edgy.runtime.api.PathMode;
+import org.acme.edgy.runtime.api.Route;
+import org.acme.edgy.runtime.api.RoutingConfiguration;
+import org.acme.edgy.runtime.builtins.JsonFieldEdits;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.test.QuarkusUnitTest;
+import io.restassured.RestAssured;
+
+class ResponseStreamingJsonBodyModifierTest {
+
+    @ApplicationScoped
+    static class RoutingProvider {
+        @jakarta.enterprise.inject.Produces
+        RoutingConfiguration routingConfiguration() {
+            return new RoutingConfiguration()
+                    .addRoute(new Route("/edit-fields",
+                            Origin.of("origin-1", "http://localhost:8081/test/large"), PathMode.FIXED)
+                            .addResponseTransformer(new ResponseStreamingJsonBodyModifier(JsonFieldEdits.create()
+                                    .remove("items")
+                                    .rename("count", "total")
+                                    .add("edited", true))));
+        }
+    }
+
+    @Path("/test")
+    static class TestApi {
+        @GET
+        @Path("/large")
+        @Produces(APPLICATION_JSON)
+        public String large() {
+            StringBuilder items = new StringBuilder();
+            for (int i = 0; i < 10_000; i++) {
+                items.append(i == 0 ? "" : ",").append("{\"id\":").append(i).append(",\"name\":\"item\"}");
+            }
+            return "{\"count\":10000,\"items\":[" + items + "],\"name\":\"large\"}";
+        }
+    }
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(RoutingProvider.class, TestApi.class));
+
+    @Test
+    void testEditFieldsOfLargeBody() {
+        RestAssured.get("/edit-fields")
+                .then()
+                .statusCode(200)
+                .body(is("{\"total\":10000,\"name\":\"large\",\"edited\":true}"));
+    }
+}
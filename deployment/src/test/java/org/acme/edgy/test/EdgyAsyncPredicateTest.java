@@ -0,0 +1,123 @@
+package org.acme.edgy.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Produces;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+
+import org.acme.edgy.runtime.api.AsyncRoutingPredicate;
+import org.acme.edgy.runtime.api.Origin;
+import org.acme.edgy.runtime.api.PathMode;
+import org.acme.edgy.runtime.api.Route;
+import org.acme.edgy.runtime.api.RoutingConfiguration;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.test.QuarkusUnitTest;
+import io.restassured.RestAssured;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.ext.web.RoutingContext;
+
+public class EdgyAsyncPredicateTest {
+
+    static final AtomicInteger lookups = new AtomicInteger();
+
+    // simulates a remote lookup of the tenant flags
+    static Future<Boolean> isPremiumTenant(RoutingContext rc) {
+        lookups.incrementAndGet();
+        String tenant = rc.request().getHeader("X-Tenant");
+        Promise<Boolean> promise = Promise.promise();
+        rc.vertx().setTimer(10, ignored -> {
+            if ("broken".equals(tenant)) {
+                promise.fail("Tenant store unavailable");
+            } else {
+                promise.complete("acme".equals(tenant));
+            }
+        });
+        return promise.future();
+    }
+
+    @ApplicationScoped
+    public static class RoutingProvider {
+
+        @Produces
+        RoutingConfiguration routing() {
+            AsyncRoutingPredicate premiumTenant = EdgyAsyncPredicateTest::isPremiumTenant;
+            return new RoutingConfiguration()
+                    .addRoute(new Route("/tenant", Origin.of("premium", "http://localhost:8081/test/premium"),
+                            PathMode.FIXED)
+                            .addPredicate(rc -> rc.request().getHeader("X-Tenant") != null)
+                            .addAsyncPredicate(premiumTenant.cached(rc -> rc.request().getHeader("X-Tenant"),
+                                    Duration.ofMinutes(1))))
+                    .addRoute(new Route("/tenant", Origin.of("standard", "http://localhost:8081/test/standard"),
+                            PathMode.FIXED));
+        }
+    }
+
+    @ApplicationScoped
+    @Path("/test")
+    public static class TestApi {
+
+        @GET
+        @Path("/premium")
+        public String premium() {
+            return "premium";
+        }
+
+        @GET
+        @Path("/standard")
+        public String standard() {
+            return "standard";
+        }
+
+        @POST
+        @Path("/premium")
+        public String premiumEcho(String body) {
+            return "premium:" + body;
+        }
+    }
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(RoutingProvider.class, TestApi.class));
+
+    @Test
+    public void test_async_predicate_selects_route() {
+        RestAssured.given().header("X-Tenant", "acme").get("/tenant").then().statusCode(200).body(is("premium"));
+        RestAssured.given().header("X-Tenant", "other").get("/tenant").then().statusCode(200).body(is("standard"));
+        // the synchronous predicate does not match, no lookup
+        RestAssured.given().get("/tenant").then().statusCode(200).body(is("standard"));
+    }
+
+    @Test
+    public void test_results_are_cached_per_key() {
+        int before = lookups.get();
+        for (int i = 0; i < 5; i++) {
+            RestAssured.given().header("X-Tenant", "cached").get("/tenant").then().statusCode(200)
+                    .body(is("standard"));
+        }
+        assertThat(lookups.get() - before, is(1));
+    }
+
+    @Test
+    public void test_body_is_proxied_after_async_predicate() {
+        RestAssured.given().header("X-Tenant", "acme").body("hello").post("/tenant").then().statusCode(200)
+                .body(is("premium:hello"));
+    }
+
+    @Test
+    public void test_failed_predicate_fails_request() {
+        RestAssured.given().header("X-Tenant", "broken").get("/tenant").then().statusCode(500);
+    }
+}
@@ -0,0 +1,98 @@
+package org.acme.edgy.test;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Produces;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.QueryParam;
+
+import org.acme.edgy.runtime.api.Origin;
+import org.acme.edgy.runtime.api.PathMode;
+import org.acme.edgy.runtime.api.Route;
+import org.acme.edgy.runtime.api.RoutingConfiguration;
+import org.acme.edgy.runtime.builtins.requests.RequestContentLengthLimitGuard;
+import org.acme.edgy.runtime.builtins.requests.RequestHeaderAdder;
+import org.acme.edgy.runtime.builtins.requests.RequestHeaderRemover;
+import org.acme.edgy.runtime.builtins.requests.RequestQueryParameterAdder;
+import org.acme.edgy.runtime.builtins.responses.ResponseHeaderAdder;
+import org.acme.edgy.runtime.builtins.responses.ResponseHeaderRemover;
+import org.jboss.resteasy.reactive.RestHeader;
+import org.jboss.resteasy.reactive.RestResponse;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.test.QuarkusUnitTest;
+import io.restassured.RestAssured;
+
+public class EdgyFusedTransformerPipelineTest {
+
+    @ApplicationScoped
+    public static class RoutingProvider {
+
+        @Produces
+        RoutingConfiguration fusedRouting() {
+            return new RoutingConfiguration()
+                    .addRoute(new Route("/users/{user}",
+                            Origin.of("origin-1", "http://localhost:8081/test/{user}"), PathMode.PARAMS)
+                            .addRequestTransformer(new RequestHeaderAdder("X-A", "a"))
+                            .addRequestTransformer(new RequestHeaderAdder("X-B", "b"))
+                            .addRequestTransformer(new RequestHeaderRemover("X-Secret"))
+                            .addRequestTransformer(new RequestQueryParameterAdder("added", "yes"))
+                            .addResponseTransformer(new ResponseHeaderAdder("X-Response", "edgy"))
+                            .addResponseTransformer(new ResponseHeaderRemover("X-Internal")))
+                    .addRoute(new Route("/limited", Origin.of("origin-2", "http://localhost:8081/test/limited"),
+                            PathMode.FIXED)
+                            .addRequestTransformer(new RequestContentLengthLimitGuard(4))
+                            .addResponseTransformer(new ResponseHeaderAdder("X-Response", "edgy")));
+        }
+    }
+
+    @ApplicationScoped
+    @Path("/test/{user}")
+    public static class TestApi {
+
+        @GET
+        public RestResponse<String> echo(String user, @RestHeader("X-A") String a, @RestHeader("X-B") String b,
+                @RestHeader("X-Secret") String secret, @QueryParam("added") String added,
+                @QueryParam("original") String original) {
+            return RestResponse.ResponseBuilder.ok(user + ":" + a + b + ":" + secret + ":" + added + ":" + original)
+                    .header("X-Internal", "internal")
+                    .build();
+        }
+    }
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(RoutingProvider.class, TestApi.class))
+            .overrideConfigKey("edgy.transformer-pipeline", "fused");
+
+    @Test
+    public void test_all_transformers_applied() {
+        RestAssured.given()
+                .header("X-Secret", "secret")
+                .queryParam("original", "kept")
+                .get("/users/john")
+                .then()
+                .statusCode(200)
+                .header("X-Response", is("edgy"))
+                .header("X-Internal", nullValue())
+                .body(is("john:ab:null:yes:kept"));
+    }
+
+    @Test
+    public void test_response_transformers_skipped_after_request_short_circuit() {
+        // like with the interceptors pipeline, the response of the guard is sent as is
+        RestAssured.given()
+                .body("too large")
+                .post("/limited")
+                .then()
+                .statusCode(413)
+                .header("X-Response", nullValue());
+    }
+}
@@ -0,0 +1,139 @@
+package org.acme.edgy.test;
+
+import static org.hamcrest.Matchers.is;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Produces;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+
+import org.acme.edgy.runtime.api.Origin;
+import org.acme.edgy.runtime.api.PathMode;
+import org.acme.edgy.runtime.api.Route;
+import org.acme.edgy.runtime.api.RoutingConfiguration;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.test.QuarkusUnitTest;
+import io.restassured.RestAssured;
+
+public class EdgyIndexedDispatcherTest {
+
+    @ApplicationScoped
+    public static class RoutingProvider {
+
+        @Produces
+        RoutingConfiguration indexedRouting() {
+            return new RoutingConfiguration()
+                    .addRoute(new Route("/hello", Origin.of("origin-1", "http://localhost:8081/test/echo/fixed"),
+                            PathMode.FIXED)
+                            .addPredicate(rc -> "baz".equals(rc.request().getHeader("X-FOO-BAR"))))
+                    .addRoute(new Route("/hello", Origin.of("origin-2", "http://localhost:8081/test/echo/fallback"),
+                            PathMode.FIXED))
+                    .addRoute(new Route("/v1/*", Origin.of("origin-3", "http://localhost:8081/test/echo/prefix"),
+                            PathMode.PREFIX))
+                    .addRoute(new Route("/users/{<userId>\\d+}",
+                            Origin.of("origin-4", "http://localhost:8081/test/echo/user-{userId}"),
+                            PathMode.PARAMS))
+                    .addRoute(new Route("/[a-c]+/regexp",
+                            Origin.of("origin-5", "http://localhost:8081/test/echo/regexp"),
+                            PathMode.REGEXP))
+                    // declared after the REGEXP route, that it overlaps
+                    .addRoute(new Route("/abc/*",
+                            Origin.of("origin-6", "http://localhost:8081/test/echo/after-regexp"),
+                            PathMode.PREFIX));
+        }
+    }
+
+    @ApplicationScoped
+    @Path("/test/echo/{value}")
+    public static class TestApi {
+
+        @GET
+        public String echo(@PathParam("value") String value) {
+            return value;
+        }
+    }
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(RoutingProvider.class, TestApi.class))
+            .overrideConfigKey("edgy.dispatcher", "indexed");
+
+    @Test
+    public void test_fixed_with_predicate() {
+        RestAssured.given()
+                .header("X-FOO-BAR", "baz")
+                .get("/hello")
+                .then()
+                .statusCode(200)
+                .body(is("fixed"));
+    }
+
+    @Test
+    public void test_fixed_predicate_fall_through() {
+        RestAssured.given()
+                .get("/hello/")
+                .then()
+                .statusCode(200)
+                .body(is("fallback"));
+    }
+
+    @Test
+    public void test_prefix() {
+        RestAssured.given()
+                .get("/v1/foo/bar")
+                .then()
+                .statusCode(200)
+                .body(is("prefix"));
+    }
+
+    @Test
+    public void test_params() {
+        RestAssured.given()
+                .get("/users/42")
+                .then()
+                .statusCode(200)
+                .body(is("user-42"));
+        RestAssured.given()
+                .get("/users/abc")
+                .then()
+                .statusCode(404);
+    }
+
+    @Test
+    public void test_not_indexed_regexp() {
+        RestAssured.given()
+                .get("/abc/regexp")
+                .then()
+                .statusCode(200)
+                .body(is("regexp"));
+    }
+
+    @Test
+    public void test_declaration_order_kept_around_not_indexed_route() {
+        RestAssured.given()
+                .get("/abc/other")
+                .then()
+                .statusCode(200)
+                .body(is("after-regexp"));
+        // the REGEXP route declared first still matches first
+        RestAssured.given()
+                .get("/abc/regexp")
+                .then()
+                .statusCode(200)
+                .body(is("regexp"));
+    }
+
+    @Test
+    public void test_no_match() {
+        RestAssured.given()
+                .get("/nowhere")
+                .then()
+                .statusCode(404);
+    }
+}
@@ -0,0 +1,119 @@
+package org.acme.edgy.test;
+
+import static org.hamcrest.Matchers.is;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Produces;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+
+import org.acme.edgy.runtime.api.Origin;
+import org.acme.edgy.runtime.api.PathMode;
+import org.acme.edgy.runtime.api.Route;
+import org.acme.edgy.runtime.api.RoutingConfiguration;
+import org.acme.edgy.runtime.builtins.predicates.HeaderPredicate;
+import org.acme.edgy.runtime.builtins.predicates.HttpMethodPredicate;
+import org.acme.edgy.runtime.builtins.predicates.QueryParameterPredicate;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.test.QuarkusUnitTest;
+import io.restassured.RestAssured;
+import io.vertx.core.http.HttpMethod;
+
+public class EdgyKeyedPredicateDispatchTest {
+
+    @ApplicationScoped
+    public static class RoutingProvider {
+
+        @Produces
+        RoutingConfiguration routing() {
+            return new RoutingConfiguration()
+                    // same path, dispatched on the X-Tenant header
+                    .addRoute(new Route("/tenant", Origin.of("acme", "http://localhost:8081/test/acme"),
+                            PathMode.FIXED)
+                            .addPredicate(new HeaderPredicate("X-Tenant", "acme", "acme-corp")))
+                    .addRoute(new Route("/tenant", Origin.of("acme-beta", "http://localhost:8081/test/beta"),
+                            PathMode.FIXED)
+                            .addPredicate(new HeaderPredicate("x-tenant", "globex"))
+                            .addPredicate(new QueryParameterPredicate("beta", "true")))
+                    .addRoute(new Route("/tenant", Origin.of("globex", "http://localhost:8081/test/globex"),
+                            PathMode.FIXED)
+                            .addPredicate(new HeaderPredicate("X-Tenant", "globex")))
+                    .addRoute(new Route("/tenant", Origin.of("fallback", "http://localhost:8081/test/fallback"),
+                            PathMode.FIXED))
+                    // same path, dispatched on the query parameter
+                    .addRoute(new Route("/versioned", Origin.of("v1", "http://localhost:8081/test/v1"),
+                            PathMode.FIXED)
+                            .addPredicate(new QueryParameterPredicate("version", "1")))
+                    .addRoute(new Route("/versioned", Origin.of("v2", "http://localhost:8081/test/v2"),
+                            PathMode.FIXED)
+                            .addPredicate(new QueryParameterPredicate("version", "2")))
+                    // same path, dispatched on the method
+                    .addRoute(new Route("/items", Origin.of("reads", "http://localhost:8081/test/reads"),
+                            PathMode.FIXED)
+                            .addPredicate(new HttpMethodPredicate(HttpMethod.GET, HttpMethod.HEAD)))
+                    .addRoute(new Route("/items", Origin.of("writes", "http://localhost:8081/test/writes"),
+                            PathMode.FIXED)
+                            .addPredicate(new HttpMethodPredicate(HttpMethod.POST)));
+        }
+    }
+
+    @ApplicationScoped
+    @Path("/test")
+    public static class TestApi {
+
+        @GET
+        @Path("/{name}")
+        public String get(String name) {
+            return name;
+        }
+
+        @POST
+        @Path("/{name}")
+        public String post(String name) {
+            return name;
+        }
+    }
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(RoutingProvider.class, TestApi.class));
+
+    @Test
+    public void test_header_dispatch() {
+        RestAssured.given().header("X-Tenant", "acme").get("/tenant").then().statusCode(200).body(is("acme"));
+        RestAssured.given().header("X-Tenant", "acme-corp").get("/tenant").then().statusCode(200).body(is("acme"));
+        RestAssured.given().header("X-Tenant", "globex").get("/tenant").then().statusCode(200).body(is("globex"));
+    }
+
+    @Test
+    public void test_header_dispatch_keeps_registration_order() {
+        RestAssured.given().header("X-Tenant", "globex").queryParam("beta", "true").get("/tenant")
+                .then().statusCode(200).body(is("beta"));
+    }
+
+    @Test
+    public void test_header_dispatch_falls_through() {
+        RestAssured.given().header("X-Tenant", "initech").get("/tenant").then().statusCode(200).body(is("fallback"));
+        RestAssured.given().get("/tenant").then().statusCode(200).body(is("fallback"));
+    }
+
+    @Test
+    public void test_query_parameter_dispatch() {
+        RestAssured.given().queryParam("version", "1").get("/versioned").then().statusCode(200).body(is("v1"));
+        RestAssured.given().queryParam("version", "2").get("/versioned").then().statusCode(200).body(is("v2"));
+        RestAssured.given().queryParam("version", "3").get("/versioned").then().statusCode(404);
+    }
+
+    @Test
+    public void test_method_dispatch() {
+        RestAssured.given().get("/items").then().statusCode(200).body(is("reads"));
+        RestAssured.given().post("/items").then().statusCode(200).body(is("writes"));
+        RestAssured.given().delete("/items").then().statusCode(404);
+    }
+}
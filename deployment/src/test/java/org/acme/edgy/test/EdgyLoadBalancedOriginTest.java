@@ -0,0 +1,99 @@
+package org.acme.edgy.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Produces;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+
+import org.acme.edgy.runtime.api.LoadBalancing;
+import org.acme.edgy.runtime.api.Origin;
+import org.acme.edgy.runtime.api.PathMode;
+import org.acme.edgy.runtime.api.Route;
+import org.acme.edgy.runtime.api.RoutingConfiguration;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.test.QuarkusUnitTest;
+import io.restassured.RestAssured;
+
+public class EdgyLoadBalancedOriginTest {
+
+    @ApplicationScoped
+    public static class RoutingProvider {
+
+        @Produces
+        RoutingConfiguration routing() {
+            return new RoutingConfiguration()
+                    .addRoute(new Route("/round-robin",
+                            Origin.of("round-robin", "http://localhost:8081,127.0.0.1:8081/test/slow"),
+                            PathMode.FIXED))
+                    .addRoute(new Route("/least-outstanding",
+                            Origin.of("least-outstanding", "http://localhost:8081,127.0.0.1:8081/test/fast",
+                                    LoadBalancing.LEAST_OUTSTANDING_REQUESTS),
+                            PathMode.FIXED))
+                    .addRoute(new Route("/two-choices",
+                            Origin.of("two-choices", "http://localhost:8081,127.0.0.1:8081/test/fast",
+                                    LoadBalancing.POWER_OF_TWO_CHOICES),
+                            PathMode.FIXED));
+        }
+    }
+
+    @ApplicationScoped
+    @Path("/test")
+    public static class TestApi {
+
+        @GET
+        @Path("/slow")
+        public String slow() throws InterruptedException {
+            Thread.sleep(1000);
+            return "slow";
+        }
+
+        @GET
+        @Path("/fast")
+        public String fast() {
+            return "fast";
+        }
+    }
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(RoutingProvider.class, TestApi.class))
+            .overrideConfigKey("edgy.origin.round-robin.max-pool-size", "1")
+            .overrideConfigKey("edgy.origin.round-robin.max-wait-queue-size", "0");
+
+    @Test
+    public void test_each_endpoint_has_its_own_pool() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CompletableFuture<Integer> first = CompletableFuture
+                    .supplyAsync(() -> RestAssured.get("/round-robin").statusCode(), executor);
+            CompletableFuture<Integer> second = CompletableFuture
+                    .supplyAsync(() -> RestAssured.get("/round-robin").statusCode(), executor);
+
+            // one connection per endpoint, the requests go to different endpoints
+            assertThat(List.of(first.join(), second.join()), is(List.of(200, 200)));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void test_load_balancing_strategies() {
+        for (int i = 0; i < 4; i++) {
+            RestAssured.get("/least-outstanding").then().statusCode(200).body(is("fast"));
+            RestAssured.get("/two-choices").then().statusCode(200).body(is("fast"));
+        }
+    }
+}
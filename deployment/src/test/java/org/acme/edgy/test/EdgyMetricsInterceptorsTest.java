@@ -0,0 +1,91 @@
+package org.acme.edgy.test;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+
+import org.acme.edgy.runtime.api.Origin;
+import org.acme.edgy.runtime.api.PathMode;
+import org.acme.edgy.runtime.api.Route;
+import org.acme.edgy.runtime.api.RoutingConfiguration;
+import org.acme.edgy.runtime.builtins.requests.RequestContentLengthLimitGuard;
+import org.acme.edgy.runtime.builtins.requests.RequestHeaderAdder;
+import org.acme.edgy.runtime.builtins.responses.ResponseHeaderAdder;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkus.test.QuarkusUnitTest;
+import io.restassured.RestAssured;
+
+/**
+ * The transformer metrics with the default {@code interceptors} transformer pipeline.
+ */
+public class EdgyMetricsInterceptorsTest {
+
+    @ApplicationScoped
+    public static class RoutingProvider {
+
+        @Produces
+        RoutingConfiguration routing() {
+            return new RoutingConfiguration()
+                    .addRoute(new Route("/metered", Origin.of("metered-origin", "http://localhost:8081/test/echo"),
+                            PathMode.FIXED)
+                            .addRequestTransformer(new RequestHeaderAdder("X-Metered", "yes"))
+                            .addRequestTransformer(new RequestContentLengthLimitGuard(16))
+                            .addResponseTransformer(new ResponseHeaderAdder("X-Metered", "yes")));
+        }
+
+        @Produces
+        @Singleton
+        SimpleMeterRegistry registry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @ApplicationScoped
+    @Path("/test/echo")
+    public static class TestApi {
+
+        @POST
+        public String post(String body) {
+            return body;
+        }
+    }
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(RoutingProvider.class, TestApi.class));
+
+    @Inject
+    SimpleMeterRegistry registry;
+
+    @Test
+    public void test_transformer_metrics() {
+        RestAssured.given().body("small").post("/metered").then().statusCode(200).body(is("small"));
+        RestAssured.given().body("0123456789abcdefghijklmnopqrstuvwxyz").post("/metered").then().statusCode(413);
+
+        assertEquals(2, registry.get("edgy.transformer.duration")
+                .tags("route", "/metered", "position", "0", "transformer", "RequestHeaderAdder").timer().count());
+        assertEquals(0.0, registry.get("edgy.transformer.short.circuits")
+                .tags("route", "/metered", "position", "0").counter().count());
+        assertEquals(2, registry.get("edgy.transformer.duration")
+                .tags("route", "/metered", "position", "1", "transformer", "RequestContentLengthLimitGuard")
+                .timer().count());
+        assertEquals(1.0, registry.get("edgy.transformer.short.circuits")
+                .tags("route", "/metered", "position", "1", "transformer", "RequestContentLengthLimitGuard")
+                .counter().count());
+        // the response transformers do not run on the response of the guard
+        assertEquals(1, registry.get("edgy.transformer.duration")
+                .tags("route", "/metered", "phase", "response", "position", "0").timer().count());
+    }
+}
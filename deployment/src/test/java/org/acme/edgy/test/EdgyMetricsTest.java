@@ -0,0 +1,115 @@
+package org.acme.edgy.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+
+import org.acme.edgy.runtime.api.Origin;
+import org.acme.edgy.runtime.api.PathMode;
+import org.acme.edgy.runtime.api.Route;
+import org.acme.edgy.runtime.api.RoutingConfiguration;
+import org.acme.edgy.runtime.builtins.requests.RequestContentLengthLimitGuard;
+import org.acme.edgy.runtime.builtins.requests.RequestHeaderAdder;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkus.test.QuarkusUnitTest;
+import io.restassured.RestAssured;
+
+public class EdgyMetricsTest {
+
+    @ApplicationScoped
+    public static class RoutingProvider {
+
+        @Produces
+        RoutingConfiguration routing() {
+            return new RoutingConfiguration()
+                    .addRoute(new Route("/metered", Origin.of("metered-origin", "http://localhost:8081/test/echo"),
+                            PathMode.FIXED)
+                            .addRequestTransformer(new RequestHeaderAdder("X-Metered", "yes"))
+                            .addRequestTransformer(new RequestContentLengthLimitGuard(16)))
+                    .addRoute(new Route("/unreachable",
+                            Origin.of("unreachable-origin", "http://localhost:1/test/unreachable"), PathMode.FIXED));
+        }
+
+        @Produces
+        @Singleton
+        SimpleMeterRegistry registry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @ApplicationScoped
+    @Path("/test/echo")
+    public static class TestApi {
+
+        @POST
+        public String post(String body) {
+            return body;
+        }
+    }
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(RoutingProvider.class, TestApi.class))
+            .overrideConfigKey("edgy.transformer-pipeline", "fused");
+
+    @Inject
+    SimpleMeterRegistry registry;
+
+    @Test
+    public void test_route_and_transformer_metrics() {
+        RestAssured.given().body("small").post("/metered").then().statusCode(200).body(is("small"));
+        RestAssured.given().body("0123456789abcdefghijklmnopqrstuvwxyz").post("/metered").then().statusCode(413);
+
+        assertEquals(1.0, registry.get("edgy.route.requests")
+                .tags("route", "/metered", "origin", "metered-origin", "status", "2xx").counter().count());
+        assertEquals(1.0, registry.get("edgy.route.requests")
+                .tags("route", "/metered", "origin", "metered-origin", "status", "4xx").counter().count());
+        // the guard answered the second request itself
+        assertEquals(1, registry.get("edgy.route.upstream.duration")
+                .tags("route", "/metered", "outcome", "success").timer().count());
+
+        assertEquals(2, registry.get("edgy.transformer.duration")
+                .tags("route", "/metered", "position", "0", "transformer", "RequestHeaderAdder").timer().count());
+        assertEquals(0.0, registry.get("edgy.transformer.short.circuits")
+                .tags("route", "/metered", "position", "0").counter().count());
+        assertEquals(1.0, registry.get("edgy.transformer.short.circuits")
+                .tags("route", "/metered", "position", "1", "transformer", "RequestContentLengthLimitGuard")
+                .counter().count());
+
+        assertEquals(1, registry.get("edgy.origin.connection.wait")
+                .tags("origin", "metered-origin").timer().count());
+        assertEquals(0.0, registry.get("edgy.origin.connections.pending")
+                .tags("origin", "metered-origin").gauge().value());
+        assertEquals(0.0, registry.get("edgy.origin.errors").tags("origin", "metered-origin").counter().count());
+    }
+
+    @Test
+    public void test_origin_errors() {
+        RestAssured.given().get("/unreachable").then().statusCode(502);
+
+        // the proxy answers the Bad Gateway itself, it is recorded like any other response
+        assertEquals(1.0, registry.get("edgy.route.requests")
+                .tags("route", "/unreachable", "origin", "unreachable-origin", "status", "5xx").counter().count());
+        assertEquals(1, registry.get("edgy.route.upstream.duration")
+                .tags("route", "/unreachable", "outcome", "failure").timer().count());
+
+        assertThat(registry.get("edgy.origin.errors").tags("origin", "unreachable-origin").counter().count(),
+                greaterThan(0.0));
+        assertEquals(0.0, registry.get("edgy.origin.connections.active")
+                .tags("origin", "unreachable-origin").gauge().value());
+    }
+}
@@ -0,0 +1,99 @@
+package org.acme.edgy.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Produces;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+
+import org.acme.edgy.runtime.api.Origin;
+import org.acme.edgy.runtime.api.PathMode;
+import org.acme.edgy.runtime.api.Route;
+import org.acme.edgy.runtime.api.RoutingConfiguration;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.test.QuarkusUnitTest;
+import io.restassured.RestAssured;
+
+public class EdgyOriginConnectionOptionsTest {
+
+    @ApplicationScoped
+    public static class RoutingProvider {
+
+        @Produces
+        RoutingConfiguration routing() {
+            return new RoutingConfiguration()
+                    .addRoute(new Route("/single", Origin.of("single", "http://localhost:8081/test/slow"),
+                            PathMode.FIXED))
+                    .addRoute(new Route("/tuned", Origin.of("tuned", "http://localhost:8081/test/fast"),
+                            PathMode.FIXED));
+        }
+    }
+
+    @ApplicationScoped
+    @Path("/test")
+    public static class TestApi {
+
+        @GET
+        @Path("/slow")
+        public String slow() throws InterruptedException {
+            Thread.sleep(1000);
+            return "slow";
+        }
+
+        @GET
+        @Path("/fast")
+        public String fast() {
+            return "fast";
+        }
+    }
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(RoutingProvider.class, TestApi.class))
+            .overrideConfigKey("edgy.origin.single.max-pool-size", "1")
+            .overrideConfigKey("edgy.origin.single.max-wait-queue-size", "0")
+            .overrideConfigKey("edgy.origin.tuned.max-pool-size", "500")
+            .overrideConfigKey("edgy.origin.tuned.keep-alive-timeout", "30s")
+            .overrideConfigKey("edgy.origin.tuned.pipelining", "true")
+            .overrideConfigKey("edgy.origin.tuned.pipelining-limit", "4")
+            .overrideConfigKey("edgy.origin.tuned.idle-timeout", "1m")
+            .overrideConfigKey("edgy.origin.tuned.connect-timeout", "2s")
+            .overrideConfigKey("edgy.origin.tuned.tcp-no-delay", "true");
+
+    @Test
+    public void test_pool_size_limits_concurrent_origin_requests() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CompletableFuture<Integer> first = CompletableFuture
+                    .supplyAsync(() -> RestAssured.get("/single").statusCode(), executor);
+            CompletableFuture<Integer> second = CompletableFuture
+                    .supplyAsync(() -> RestAssured.get("/single").statusCode(), executor);
+
+            // the single connection is busy and no request may wait for it
+            assertThat(List.of(first.join(), second.join()), containsInAnyOrder(200, 502));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void test_tuned_origin() {
+        RestAssured.get("/tuned")
+                .then()
+                .statusCode(200)
+                .body(is("fast"));
+    }
+}
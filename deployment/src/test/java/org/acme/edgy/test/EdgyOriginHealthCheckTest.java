@@ -0,0 +1,133 @@
+package org.acme.edgy.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.Produces;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+
+import org.acme.edgy.runtime.api.Origin;
+import org.acme.edgy.runtime.api.PathMode;
+import org.acme.edgy.runtime.api.Route;
+import org.acme.edgy.runtime.api.RoutingConfiguration;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.test.QuarkusUnitTest;
+import io.restassured.RestAssured;
+import io.vertx.core.Vertx;
+
+public class EdgyOriginHealthCheckTest {
+
+    // nothing listens on port 1, connections to it are refused
+    private static final String ENDPOINTS = "http://localhost:1,localhost:8081";
+    // the health endpoint of port 8082 keeps sending a byte every 100ms and never ends
+    private static final String TRICKLING_ENDPOINTS = "http://localhost:8082,localhost:8081";
+
+    @ApplicationScoped
+    public static class RoutingProvider {
+
+        @Produces
+        RoutingConfiguration routing() {
+            return new RoutingConfiguration()
+                    .addRoute(new Route("/passive", Origin.of("passive", ENDPOINTS + "/test/hello"),
+                            PathMode.FIXED))
+                    .addRoute(new Route("/active", Origin.of("active", ENDPOINTS + "/test/hello"),
+                            PathMode.FIXED))
+                    .addRoute(new Route("/trickling", Origin.of("trickling", TRICKLING_ENDPOINTS + "/test/hello"),
+                            PathMode.FIXED));
+        }
+    }
+
+    @ApplicationScoped
+    @Path("/test")
+    public static class TestApi {
+
+        @GET
+        @Path("/hello")
+        public String hello() {
+            return "hello";
+        }
+
+        @GET
+        @Path("/health")
+        public String health() {
+            return "UP";
+        }
+    }
+
+    @ApplicationScoped
+    public static class TricklingOrigin {
+
+        void start(@Observes StartupEvent event, Vertx vertx) {
+            vertx.createHttpServer().requestHandler(request -> {
+                if (!request.path().equals("/test/health")) {
+                    request.response().end("trickling");
+                    return;
+                }
+                request.response().setChunked(true);
+                long timer = vertx.setPeriodic(100, ignored -> request.response().write(" "));
+                request.connection().closeHandler(ignored -> vertx.cancelTimer(timer));
+            }).listen(8082).toCompletionStage().toCompletableFuture().join();
+        }
+    }
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(RoutingProvider.class, TricklingOrigin.class, TestApi.class))
+            .overrideConfigKey("edgy.origin.passive.health.consecutive-failures", "1")
+            .overrideConfigKey("edgy.origin.active.health.path", "/test/health")
+            .overrideConfigKey("edgy.origin.active.health.interval", "100ms")
+            .overrideConfigKey("edgy.origin.active.health.unhealthy-threshold", "1")
+            .overrideConfigKey("edgy.origin.trickling.health.path", "/test/health")
+            .overrideConfigKey("edgy.origin.trickling.health.interval", "100ms")
+            .overrideConfigKey("edgy.origin.trickling.health.timeout", "500ms")
+            .overrideConfigKey("edgy.origin.trickling.health.unhealthy-threshold", "1");
+
+    @Test
+    public void test_failing_endpoint_is_ejected() {
+        List<Integer> statusCodes = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            statusCodes.add(RestAssured.get("/passive").statusCode());
+        }
+        assertThat(Collections.frequency(statusCodes, 502), lessThanOrEqualTo(1));
+        assertThat(statusCodes.subList(2, 10), everyItem(is(200)));
+    }
+
+    @Test
+    public void test_probed_endpoint_is_ejected() throws InterruptedException {
+        // a few probe intervals
+        Thread.sleep(1000);
+        for (int i = 0; i < 10; i++) {
+            RestAssured.get("/active")
+                    .then()
+                    .statusCode(200)
+                    .body(is("hello"));
+        }
+    }
+
+    @Test
+    public void test_trickling_probe_times_out() throws InterruptedException {
+        // the probe is never idle, only its overall timeout fails it
+        Thread.sleep(1500);
+        for (int i = 0; i < 10; i++) {
+            RestAssured.get("/trickling")
+                    .then()
+                    .statusCode(200)
+                    .body(is("hello"));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.acme.edgy.test;
+
+import static org.hamcrest.Matchers.is;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Produces;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.Context;
+
+import org.acme.edgy.runtime.api.Origin;
+import org.acme.edgy.runtime.api.PathMode;
+import org.acme.edgy.runtime.api.Route;
+import org.acme.edgy.runtime.api.RoutingConfiguration;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.test.QuarkusUnitTest;
+import io.restassured.RestAssured;
+import io.vertx.core.http.HttpServerRequest;
+
+public class EdgyOriginHttp2Test {
+
+    @ApplicationScoped
+    public static class RoutingProvider {
+
+        @Produces
+        RoutingConfiguration routing() {
+            return new RoutingConfiguration()
+                    .addRoute(new Route("/h2c", Origin.of("h2c", "http://localhost:8081/test/version"),
+                            PathMode.FIXED))
+                    .addRoute(new Route("/http1", Origin.of("http1", "http://localhost:8081/test/version"),
+                            PathMode.FIXED));
+        }
+    }
+
+    @ApplicationScoped
+    @Path("/test/version")
+    public static class TestApi {
+
+        @GET
+        public String version(@Context HttpServerRequest request) {
+            return request.version().name();
+        }
+    }
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(RoutingProvider.class, TestApi.class))
+            .overrideConfigKey("edgy.origin.h2c.http2", "true")
+            .overrideConfigKey("edgy.origin.h2c.http2-max-concurrent-streams", "100")
+            .overrideConfigKey("edgy.origin.h2c.http2-max-pool-size", "1");
+
+    @Test
+    public void test_http2_prior_knowledge() {
+        RestAssured.get("/h2c")
+                .then()
+                .statusCode(200)
+                .body(is("HTTP_2"));
+    }
+
+    @Test
+    public void test_http1_by_default() {
+        RestAssured.get("/http1")
+                .then()
+                .statusCode(200)
+                .body(is("HTTP_1_1"));
+    }
+}
@@ -0,0 +1,71 @@
+package org.acme.edgy.test;
+
+import static org.hamcrest.Matchers.is;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Produces;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.UriInfo;
+
+import org.acme.edgy.runtime.api.Origin;
+import org.acme.edgy.runtime.api.PathMode;
+import org.acme.edgy.runtime.api.Route;
+import org.acme.edgy.runtime.api.RoutingConfiguration;
+import org.acme.edgy.runtime.api.SyncRequestTransformer;
+import org.acme.edgy.runtime.builtins.requests.RequestQueryParameterAdder;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.test.QuarkusUnitTest;
+import io.restassured.RestAssured;
+
+public class EdgyQueryPropagationTest {
+
+    @ApplicationScoped
+    public static class RoutingProvider {
+
+        @Produces
+        RoutingConfiguration routingConfiguration() {
+            return new RoutingConfiguration()
+                    .addRoute(new Route("/rewritten", Origin.of("origin-1", "http://localhost:8081/test/query"),
+                            PathMode.FIXED)
+                            .addRequestTransformer(new RequestQueryParameterAdder("added", "1"))
+                            // sees the client query and the added parameter, and replaces the URI
+                            .addRequestTransformer((SyncRequestTransformer) context -> {
+                                String uri = context.request().getURI();
+                                context.request().setURI(uri + "&seen=" + uri.contains("client=c&added=1"));
+                            })
+                            .addRequestTransformer(new RequestQueryParameterAdder("after", "2")));
+        }
+    }
+
+    @ApplicationScoped
+    @Path("/test")
+    public static class TestApi {
+
+        @GET
+        @Path("/query")
+        public String query(@Context UriInfo uriInfo) {
+            return uriInfo.getRequestUri().getRawQuery();
+        }
+    }
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(RoutingProvider.class, TestApi.class));
+
+    @Test
+    public void test_sync_transformer_sees_and_keeps_client_query() {
+        RestAssured.given()
+                .queryParam("client", "c")
+                .get("/rewritten")
+                .then()
+                .statusCode(200)
+                .body(is("client=c&added=1&seen=true&after=2"));
+    }
+}
@@ -0,0 +1,83 @@
+package org.acme.edgy.test;
+
+import static org.hamcrest.Matchers.is;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Produces;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+
+import org.acme.edgy.runtime.api.Origin;
+import org.acme.edgy.runtime.api.PathMode;
+import org.acme.edgy.runtime.api.Route;
+import org.acme.edgy.runtime.api.RoutingConfiguration;
+import org.acme.edgy.runtime.api.SyncRequestTransformer;
+import org.acme.edgy.runtime.builtins.requests.RequestHeaderAdder;
+import org.acme.edgy.runtime.builtins.requests.RequestHeaderModifier;
+import org.acme.edgy.runtime.builtins.responses.ResponseHeaderAdder;
+import org.jboss.resteasy.reactive.RestHeader;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.test.QuarkusUnitTest;
+import io.restassured.RestAssured;
+
+public class EdgySyncTransformerTest {
+
+    @ApplicationScoped
+    public static class RoutingProvider {
+
+        @Produces
+        RoutingConfiguration syncRouting() {
+            return new RoutingConfiguration()
+                    .addRoute(new Route("/mixed", Origin.of("origin-1", "http://localhost:8081/test/mixed"),
+                            PathMode.FIXED)
+                            .addRequestTransformer(new RequestHeaderAdder("X-A", "a"))
+                            // asynchronous transformer between synchronous ones
+                            .addRequestTransformer(proxyContext -> {
+                                proxyContext.request().putHeader("X-Copy",
+                                        proxyContext.request().headers().get("X-A") + "!");
+                                return proxyContext.sendRequest();
+                            })
+                            .addRequestTransformer(new RequestHeaderModifier("X-A", "modified"))
+                            .addRequestTransformer((SyncRequestTransformer) proxyContext -> proxyContext.request()
+                                    .putHeader("X-Lambda", "lambda"))
+                            .addResponseTransformer(new ResponseHeaderAdder("X-R1", "1"))
+                            .addResponseTransformer(proxyContext -> {
+                                proxyContext.response().putHeader("X-R2", "2");
+                                return proxyContext.sendResponse();
+                            })
+                            .addResponseTransformer(new ResponseHeaderAdder("X-R3", "3")));
+        }
+    }
+
+    @ApplicationScoped
+    @Path("/test/mixed")
+    public static class TestApi {
+
+        @GET
+        public String echo(@RestHeader("X-A") String a, @RestHeader("X-Copy") String copy,
+                @RestHeader("X-Lambda") String lambda) {
+            return a + ":" + copy + ":" + lambda;
+        }
+    }
+
+    @RegisterExtension
+    static final QuarkusUnitTest unitTest = new QuarkusUnitTest()
+            .setArchiveProducer(() -> ShrinkWrap.create(JavaArchive.class)
+                    .addClasses(RoutingProvider.class, TestApi.class));
+
+    @Test
+    public void test_sync_and_async_transformers_keep_their_order() {
+        RestAssured.given()
+                .get("/mixed")
+                .then()
+                .statusCode(200)
+                .header("X-R1", is("1"))
+                .header("X-R2", is("2"))
+                .header("X-R3", is("3"))
+                .body(is("modified:a!:lambda"));
+    }
+}
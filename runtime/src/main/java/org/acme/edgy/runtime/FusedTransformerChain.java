@@ -0,0 +1,221 @@
+package org.acme.edgy.runtime;
+
+import java.util.List;
+
+import org.acme.edgy.runtime.api.RequestTransformer;
+import org.acme.edgy.runtime.api.ResponseTransformer;
+import org.acme.edgy.runtime.api.SyncRequestTransformer;
+import org.acme.edgy.runtime.api.SyncResponseTransformer;
+import org.acme.edgy.runtime.metrics.TransformerMetrics;
+
+import io.vertx.core.Future;
+import io.vertx.core.http.HttpClient;
+import io.vertx.httpproxy.ProxyContext;
+import io.vertx.httpproxy.ProxyInterceptor;
+import io.vertx.httpproxy.ProxyRequest;
+import io.vertx.httpproxy.ProxyResponse;
+
+/**
+ * Single proxy interceptor running all the transformers of a route, instead of one interceptor per
+ * transformer. The transformers receive a {@link ProxyContext} view whose
+ * {@link ProxyContext#sendRequest()} and {@link ProxyContext#sendResponse()} call the next
+ * transformer directly, and hand over to the proxy once the last one is reached.
+ * <p>
+ * Like the proxy interceptors, request transformers run in registration order and response
+ * transformers run in reverse registration order. Synchronous transformers are run in a loop, the
+ * chain only goes through a {@link Future} for the asynchronous ones. The response transformers
+ * only run once the request transformers have passed the request on: a response produced by a
+ * request transformer is sent as is, like with the proxy interceptors.
+ * <p>
+ * With metrics, the cursor also times each transformer: a synchronous one until it returns, an
+ * asynchronous one until it calls the next transformer, or until the exchange completes if it never
+ * does, which is counted as a short circuit.
+ */
+final class FusedTransformerChain implements ProxyInterceptor {
+
+    // set once the last request transformer has passed the request on to the proxy
+    private static final String REQUEST_SENT = FusedTransformerChain.class.getName() + ".requestSent";
+
+    private final RequestTransformer[] requestTransformers;
+    private final ResponseTransformer[] responseTransformers;
+    // null without metrics, otherwise null for the transformers that are not metered
+    private final TransformerMetrics[] requestMetrics;
+    private final TransformerMetrics[] responseMetrics;
+
+    /**
+     * @param requestMetrics the metrics of each request transformer, {@code null} for the ones that
+     *        are not metered, or {@code null} without metrics
+     * @param responseMetrics the metrics of each response transformer, {@code null} for the ones that
+     *        are not metered, or {@code null} without metrics
+     */
+    FusedTransformerChain(List<RequestTransformer> requestTransformers, List<TransformerMetrics> requestMetrics,
+            List<ResponseTransformer> responseTransformers, List<TransformerMetrics> responseMetrics) {
+        this.requestTransformers = requestTransformers.toArray(new RequestTransformer[0]);
+        this.responseTransformers = responseTransformers.toArray(new ResponseTransformer[0]);
+        this.requestMetrics = requestMetrics != null ? requestMetrics.toArray(new TransformerMetrics[0]) : null;
+        this.responseMetrics = responseMetrics != null ? responseMetrics.toArray(new TransformerMetrics[0]) : null;
+    }
+
+    @Override
+    public Future<ProxyResponse> handleProxyRequest(ProxyContext context) {
+        if (requestTransformers.length == 0) {
+            return context.sendRequest();
+        }
+        Cursor cursor = new Cursor(context);
+        Future<ProxyResponse> response = cursor.sendRequest();
+        if (requestMetrics == null) {
+            return response;
+        }
+        return response.andThen(ignored -> cursor.requestCompleted());
+    }
+
+    @Override
+    public Future<Void> handleProxyResponse(ProxyContext context) {
+        if (responseTransformers.length == 0
+                || requestTransformers.length > 0 && context.get(REQUEST_SENT, Boolean.class) == null) {
+            return context.sendResponse();
+        }
+        Cursor cursor = new Cursor(context);
+        Future<Void> sent = cursor.sendResponse();
+        if (responseMetrics == null) {
+            return sent;
+        }
+        return sent.andThen(ignored -> cursor.responseCompleted());
+    }
+
+    private final class Cursor implements ProxyContext {
+
+        private final ProxyContext delegate;
+        private int requestPosition = -1;
+        private int responsePosition = responseTransformers.length;
+        // when the asynchronous transformer at the current position started
+        private long asyncStart;
+
+        private Cursor(ProxyContext delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public ProxyRequest request() {
+            return delegate.request();
+        }
+
+        @Override
+        public Future<ProxyResponse> sendRequest() {
+            if (requestMetrics != null) {
+                return sendRequestMetered();
+            }
+            while (++requestPosition < requestTransformers.length) {
+                RequestTransformer transformer = requestTransformers[requestPosition];
+                if (!(transformer instanceof SyncRequestTransformer syncTransformer)) {
+                    return transformer.apply(this);
+                }
+                syncTransformer.transform(this);
+            }
+            delegate.set(REQUEST_SENT, Boolean.TRUE);
+            return delegate.sendRequest();
+        }
+
+        @Override
+        public ProxyResponse response() {
+            return delegate.response();
+        }
+
+        private Future<ProxyResponse> sendRequestMetered() {
+            if (requestPosition >= 0 && requestPosition < requestTransformers.length) {
+                // the asynchronous transformer at the current position passes the request on
+                record(requestMetrics[requestPosition], System.nanoTime() - asyncStart);
+            }
+            while (++requestPosition < requestTransformers.length) {
+                RequestTransformer transformer = requestTransformers[requestPosition];
+                long start = System.nanoTime();
+                if (!(transformer instanceof SyncRequestTransformer syncTransformer)) {
+                    asyncStart = start;
+                    return transformer.apply(this);
+                }
+                syncTransformer.transform(this);
+                record(requestMetrics[requestPosition], System.nanoTime() - start);
+            }
+            delegate.set(REQUEST_SENT, Boolean.TRUE);
+            return delegate.sendRequest();
+        }
+
+        private void requestCompleted() {
+            if (requestPosition < requestTransformers.length) {
+                shortCircuited(requestMetrics[requestPosition], System.nanoTime() - asyncStart);
+            }
+        }
+
+        @Override
+        public Future<Void> sendResponse() {
+            if (responseMetrics != null) {
+                return sendResponseMetered();
+            }
+            while (--responsePosition >= 0) {
+                ResponseTransformer transformer = responseTransformers[responsePosition];
+                if (!(transformer instanceof SyncResponseTransformer syncTransformer)) {
+                    return transformer.apply(this);
+                }
+                syncTransformer.transform(this);
+            }
+            return delegate.sendResponse();
+        }
+
+        private Future<Void> sendResponseMetered() {
+            if (responsePosition >= 0 && responsePosition < responseTransformers.length) {
+                // the asynchronous transformer at the current position passes the response on
+                record(responseMetrics[responsePosition], System.nanoTime() - asyncStart);
+            }
+            while (--responsePosition >= 0) {
+                ResponseTransformer transformer = responseTransformers[responsePosition];
+                long start = System.nanoTime();
+                if (!(transformer instanceof SyncResponseTransformer syncTransformer)) {
+                    asyncStart = start;
+                    return transformer.apply(this);
+                }
+                syncTransformer.transform(this);
+                record(responseMetrics[responsePosition], System.nanoTime() - start);
+            }
+            return delegate.sendResponse();
+        }
+
+        private void responseCompleted() {
+            if (responsePosition >= 0) {
+                shortCircuited(responseMetrics[responsePosition], System.nanoTime() - asyncStart);
+            }
+        }
+
+        @Override
+        public boolean isWebSocket() {
+            return delegate.isWebSocket();
+        }
+
+        @Override
+        public <T> void set(String name, T value) {
+            delegate.set(name, value);
+        }
+
+        @Override
+        public <T> T get(String name, Class<T> type) {
+            return delegate.get(name, type);
+        }
+
+        @Override
+        public HttpClient client() {
+            return delegate.client();
+        }
+    }
+
+    private static void record(TransformerMetrics metrics, long nanos) {
+        if (metrics != null) {
+            metrics.record(nanos);
+        }
+    }
+
+    private static void shortCircuited(TransformerMetrics metrics, long nanos) {
+        if (metrics != null) {
+            metrics.record(nanos);
+            metrics.shortCircuited();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package org.acme.edgy.runtime;
+
+import static org.acme.edgy.runtime.api.utils.SegmentUtils.replaceSegmentsWithRegex;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.acme.edgy.runtime.api.Route;
+
+import io.vertx.core.Handler;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Single Vert.x handler dispatching to the {@code FIXED}, {@code PREFIX} and {@code PARAMS} routes
+ * through a {@link RouteIndex}, instead of one Vert.x route per Edgy route. Candidates are tried in
+ * registration order, and a candidate whose predicates do not match falls through to the next one,
+ * then to the next Vert.x route.
+ * <p>
+ * A dispatcher holds a run of consecutive routes: once a route that cannot be indexed is registered
+ * as a separate Vert.x route, the routes declared after it go to a new dispatcher, installed after
+ * that Vert.x route, so that the routes keep their declaration order.
+ */
+final class IndexedRouteDispatcher implements Handler<RoutingContext> {
+
+    private static final char WILDCARD = '*';
+    private static final char VERTX_PATH_PARAM = ':';
+    private static final char SEGMENT_START = '{';
+    // regex meta characters that SegmentUtils#replaceSegmentsWithRegex does not escape
+    private static final String UNESCAPED_REGEX_CHARS = "\\^$|?+[]{}";
+
+    private final RouteIndex<IndexedRoute> index = new RouteIndex<>();
+    private boolean installed;
+
+    /**
+     * @return {@code true} once a route is registered, the dispatcher is then installed in the router
+     */
+    boolean isInstalled() {
+        return installed;
+    }
+
+    /**
+     * @return {@code false} if the route path cannot be indexed, and must be registered as a
+     *         separate Vert.x route
+     */
+    boolean register(Router router, Route route, RoutePredicates predicates, Handler<RoutingContext> proxyHandler) {
+        String path = route.path();
+        switch (route.pathMode()) {
+            case FIXED, PREFIX -> {
+                if (path.indexOf(VERTX_PATH_PARAM) != -1) {
+                    return false;
+                }
+                int wildcard = path.indexOf(WILDCARD);
+                IndexedRoute indexedRoute = new IndexedRoute(null, predicates, proxyHandler);
+                if (wildcard == -1) {
+                    index.addExact(path, indexedRoute);
+                } else if (wildcard == path.length() - 1) {
+                    index.addPrefix(path.substring(0, wildcard), indexedRoute);
+                } else {
+                    return false;
+                }
+            }
+            case PARAMS -> {
+                int segmentStart = path.indexOf(SEGMENT_START);
+                String literalPrefix = segmentStart == -1 ? path : path.substring(0, segmentStart);
+                for (int i = 0; i < literalPrefix.length(); i++) {
+                    if (UNESCAPED_REGEX_CHARS.indexOf(literalPrefix.charAt(i)) != -1) {
+                        return false;
+                    }
+                }
+                // the index only narrows down the candidates, the same regex as the Vert.x route
+                // decides
+                Pattern pattern = Pattern.compile(replaceSegmentsWithRegex(path));
+                index.addPrefix(literalPrefix, new IndexedRoute(pattern, predicates, proxyHandler));
+            }
+            case REGEXP -> {
+                return false;
+            }
+        }
+
+        if (!installed) {
+            // installed at the position of the first indexed route, so routes registered before
+            // it keep their precedence
+            router.route().handler(this);
+            installed = true;
+        }
+        return true;
+    }
+
+    @Override
+    public void handle(RoutingContext rc) {
+        String path = rc.normalizedPath();
+        dispatch(rc, path, index.candidates(path), 0);
+    }
+
+    private void dispatch(RoutingContext rc, String path, List<IndexedRoute> candidates, int start) {
+        for (int i = start; i < candidates.size(); i++) {
+            IndexedRoute candidate = candidates.get(i);
+            if (candidate.pattern != null && !candidate.pattern.matcher(path).matches()) {
+                continue;
+            }
+            if (candidate.predicates.hasAsyncPredicates()) {
+                int next = i + 1;
+                candidate.predicates.testAsync(rc, matched -> {
+                    if (matched.failed()) {
+                        rc.fail(matched.cause());
+                    } else if (matched.result()) {
+                        candidate.proxyHandler.handle(rc);
+                    } else {
+                        dispatch(rc, path, candidates, next);
+                    }
+                });
+                return;
+            }
+            if (candidate.predicates.test(rc)) {
+                candidate.proxyHandler.handle(rc);
+                return;
+            }
+        }
+        rc.next();
+    }
+
+    private static final class IndexedRoute {
+
+        private final Pattern pattern;
+        private final RoutePredicates predicates;
+        private final Handler<RoutingContext> proxyHandler;
+
+        private IndexedRoute(Pattern pattern, RoutePredicates predicates,
+                Handler<RoutingContext> proxyHandler) {
+            this.pattern = pattern;
+            this.predicates = predicates;
+            this.proxyHandler = proxyHandler;
+        }
+    }
+}
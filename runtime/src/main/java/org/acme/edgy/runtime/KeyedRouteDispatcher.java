@@ -0,0 +1,140 @@
+package org.acme.edgy.runtime;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.acme.edgy.runtime.api.KeyedRoutingPredicate;
+import org.acme.edgy.runtime.api.Route;
+import org.acme.edgy.runtime.api.RoutingPredicate;
+
+import io.vertx.core.Handler;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Single Vert.x handler for routes sharing the same path and each having a
+ * {@link KeyedRoutingPredicate} with the same key, such as the same header. The value extracted
+ * from the request selects the candidate routes with a hash lookup, and only their predicates are
+ * tested, in registration order. When no candidate matches, the request falls through to the next
+ * Vert.x route.
+ */
+final class KeyedRouteDispatcher implements Handler<RoutingContext> {
+
+    private static final Candidate[] NO_CANDIDATES = new Candidate[0];
+
+    private final KeyedRoutingPredicate discriminator;
+    private final Map<String, Candidate[]> candidates;
+
+    private KeyedRouteDispatcher(KeyedRoutingPredicate discriminator, Map<String, Candidate[]> candidates) {
+        this.discriminator = discriminator;
+        this.candidates = candidates;
+    }
+
+    /**
+     * @param group routes with the same path and path mode, in registration order
+     * @param key the key of a keyed predicate that all the routes have
+     */
+    static KeyedRouteDispatcher create(List<Candidate> group, String key) {
+        KeyedRoutingPredicate discriminator = null;
+        Map<String, Candidate[]> candidates = new HashMap<>();
+        for (Candidate candidate : group) {
+            // the lookup only narrows down the candidates, all their predicates are still tested
+            KeyedRoutingPredicate predicate = keyedPredicate(candidate.route, key);
+            if (discriminator == null) {
+                discriminator = predicate;
+            }
+            for (String value : predicate.values()) {
+                Candidate[] existing = candidates.getOrDefault(value, NO_CANDIDATES);
+                Candidate[] updated = Arrays.copyOf(existing, existing.length + 1);
+                updated[existing.length] = candidate;
+                candidates.put(value, updated);
+            }
+        }
+        return new KeyedRouteDispatcher(discriminator, candidates);
+    }
+
+    /**
+     * @return the keys of the keyed predicates of the route, in declaration order
+     */
+    static Set<String> keys(Route route) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (RoutingPredicate predicate : route.predicates()) {
+            if (predicate instanceof KeyedRoutingPredicate keyedPredicate) {
+                keys.add(keyedPredicate.key());
+            }
+        }
+        return keys;
+    }
+
+    private static KeyedRoutingPredicate keyedPredicate(Route route, String key) {
+        for (RoutingPredicate predicate : route.predicates()) {
+            if (predicate instanceof KeyedRoutingPredicate keyedPredicate && keyedPredicate.key().equals(key)) {
+                return keyedPredicate;
+            }
+        }
+        throw new IllegalStateException("No predicate with key " + key + " for route " + route.path());
+    }
+
+    @Override
+    public void handle(RoutingContext rc) {
+        String value = discriminator.extract(rc);
+        Candidate[] matching = value != null ? candidates.get(value) : null;
+        if (matching == null) {
+            rc.next();
+            return;
+        }
+        dispatch(rc, matching, 0);
+    }
+
+    private void dispatch(RoutingContext rc, Candidate[] matching, int start) {
+        for (int i = start; i < matching.length; i++) {
+            Candidate candidate = matching[i];
+            if (candidate.predicates.hasAsyncPredicates()) {
+                int next = i + 1;
+                candidate.predicates.testAsync(rc, matched -> {
+                    if (matched.failed()) {
+                        rc.fail(matched.cause());
+                    } else if (matched.result()) {
+                        candidate.proxyHandler.handle(rc);
+                    } else {
+                        dispatch(rc, matching, next);
+                    }
+                });
+                return;
+            }
+            if (candidate.predicates.test(rc)) {
+                candidate.proxyHandler.handle(rc);
+                return;
+            }
+        }
+        rc.next();
+    }
+
+    static final class Candidate {
+
+        private final Route route;
+        private final RoutePredicates predicates;
+        private final Handler<RoutingContext> proxyHandler;
+
+        Candidate(Route route, RoutePredicates predicates, Handler<RoutingContext> proxyHandler) {
+            this.route = route;
+            this.predicates = predicates;
+            this.proxyHandler = proxyHandler;
+        }
+
+        Route route() {
+            return route;
+        }
+
+        RoutePredicates predicates() {
+            return predicates;
+        }
+
+        Handler<RoutingContext> proxyHandler() {
+            return proxyHandler;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.acme.edgy.runtime;
+
+import org.acme.edgy.runtime.metrics.OriginMetrics;
+
+import io.vertx.core.Future;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.httpproxy.OriginRequestProvider;
+import io.vertx.httpproxy.ProxyContext;
+
+/**
+ * Records how long requests wait for a connection to an origin, and how long they use it: the
+ * request returned by the wrapped provider holds a pooled connection until its response has been
+ * fully received.
+ */
+final class MeteredOriginRequestProvider implements OriginRequestProvider {
+
+    private final OriginRequestProvider delegate;
+    private final OriginMetrics metrics;
+
+    MeteredOriginRequestProvider(OriginRequestProvider delegate, OriginMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Future<HttpClientRequest> create(ProxyContext proxyContext) {
+        long start = System.nanoTime();
+        metrics.connectionRequested();
+        return delegate.create(proxyContext).andThen(created -> {
+            long waited = System.nanoTime() - start;
+            if (created.failed()) {
+                metrics.connectionFailed(waited);
+                return;
+            }
+            metrics.connectionAcquired(waited);
+            created.result().response()
+                    .compose(HttpClientResponse::end)
+                    .onComplete(ended -> metrics.requestEnded(ended.failed()));
+        });
+    }
+}
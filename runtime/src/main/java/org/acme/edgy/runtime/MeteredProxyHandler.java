@@ -0,0 +1,30 @@
+package org.acme.edgy.runtime;
+
+import org.acme.edgy.runtime.metrics.RouteMetrics;
+
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Records the responses of a route once their headers are written, so that every response is seen:
+ * the ones of the origin, the ones produced by a transformer, and the ones of the proxy itself,
+ * like the {@code 502} answered when the origin cannot be reached or a transformer fails.
+ */
+final class MeteredProxyHandler implements Handler<RoutingContext> {
+
+    private final Handler<RoutingContext> delegate;
+    private final RouteMetrics metrics;
+
+    MeteredProxyHandler(Handler<RoutingContext> delegate, RouteMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void handle(RoutingContext routingContext) {
+        HttpServerResponse response = routingContext.response();
+        routingContext.addHeadersEndHandler(v -> metrics.responseSent(response.getStatusCode()));
+        delegate.handle(routingContext);
+    }
+}
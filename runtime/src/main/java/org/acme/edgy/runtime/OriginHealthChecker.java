@@ -0,0 +1,109 @@
+package org.acme.edgy.runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import org.acme.edgy.runtime.api.EndpointHealth;
+import org.acme.edgy.runtime.api.Origin;
+import org.acme.edgy.runtime.api.OriginEndpoint;
+
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.RequestOptions;
+
+/**
+ * Probes the endpoints of origins on a Vert.x timer, and reports the results to their
+ * {@link EndpointHealth}. A probe is not sent while the previous probe of the same endpoint is still
+ * pending. A probe fails once its timeout elapses, even if the endpoint is still sending a response,
+ * and the request is then reset.
+ */
+final class OriginHealthChecker {
+
+    private final Vertx vertx;
+    private final List<Long> timers = new ArrayList<>();
+
+    OriginHealthChecker(Vertx vertx) {
+        this.vertx = vertx;
+    }
+
+    void start(Origin origin, String path, long intervalMillis, long timeoutMillis) {
+        for (OriginEndpoint endpoint : origin.endpoints()) {
+            HttpClient httpClient = endpoint.httpClient() != null ? endpoint.httpClient() : origin.httpClient();
+            RequestOptions options = new RequestOptions()
+                    .setMethod(HttpMethod.GET)
+                    .setHost(endpoint.host())
+                    .setPort(endpoint.port())
+                    .setSsl(origin.supportsTls())
+                    .setURI(path)
+                    .setConnectTimeout(timeoutMillis)
+                    .setIdleTimeout(timeoutMillis);
+            Probe probe = new Probe(vertx, httpClient, options, timeoutMillis, endpoint.health());
+            timers.add(vertx.setPeriodic(intervalMillis, ignored -> probe.run()));
+        }
+    }
+
+    void stop() {
+        for (Long timer : timers) {
+            vertx.cancelTimer(timer);
+        }
+        timers.clear();
+    }
+
+    private static final class Probe {
+
+        private final Vertx vertx;
+        private final HttpClient httpClient;
+        private final RequestOptions options;
+        private final long timeoutMillis;
+        private final EndpointHealth health;
+        private boolean pending;
+
+        private Probe(Vertx vertx, HttpClient httpClient, RequestOptions options, long timeoutMillis,
+                EndpointHealth health) {
+            this.vertx = vertx;
+            this.httpClient = httpClient;
+            this.options = options;
+            this.timeoutMillis = timeoutMillis;
+            this.health = health;
+        }
+
+        // always called from the event loop of the timer
+        private void run() {
+            if (pending) {
+                return;
+            }
+            pending = true;
+            // the connect and idle timeouts do not bound a response that keeps trickling in
+            Promise<Integer> statusCode = Promise.promise();
+            long timer = vertx.setTimer(timeoutMillis,
+                    ignored -> statusCode.tryFail(new TimeoutException("Health probe timed out")));
+            httpClient.request(options)
+                    .compose(request -> {
+                        statusCode.future().onFailure(failure -> request.reset(0, failure));
+                        return request.send();
+                    })
+                    .compose(response -> response.body().map(ignored -> response.statusCode()))
+                    .onComplete(result -> {
+                        vertx.cancelTimer(timer);
+                        if (result.succeeded()) {
+                            statusCode.tryComplete(result.result());
+                        } else {
+                            statusCode.tryFail(result.cause());
+                        }
+                    });
+            statusCode.future().onComplete(result -> {
+                pending = false;
+                long now = System.nanoTime();
+                if (result.succeeded() && result.result() >= 200 && result.result() < 400) {
+                    health.probeSucceeded(now);
+                } else {
+                    health.probeFailed(now);
+                }
+            });
+        }
+    }
+}
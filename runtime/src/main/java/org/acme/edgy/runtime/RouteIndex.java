@@ -0,0 +1,188 @@
+package org.acme.edgy.runtime;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Radix tree over request paths, used to find the routes that may match a path in O(path length)
+ * instead of scanning every route. Entries are either exact (the whole path must be consumed) or
+ * prefix (any path starting with the key), and candidates are returned in registration order.
+ *
+ * @param <T> the indexed value
+ */
+final class RouteIndex<T> {
+
+    private static final char SLASH = '/';
+
+    private final Node<T> root = new Node<>("");
+    private int size;
+
+    void addExact(String path, T value) {
+        insert(normalizeExact(path)).exact.add(new Entry<>(size++, value));
+    }
+
+    /**
+     * A prefix ending with a slash also matches the path without it, same as Vert.x wildcard route
+     * paths ({@code /some/path/*} matches {@code /some/path}).
+     */
+    void addPrefix(String prefix, T value) {
+        Entry<T> entry = new Entry<>(size++, value);
+        insert(prefix).prefix.add(entry);
+        if (prefix.length() > 1 && prefix.charAt(prefix.length() - 1) == SLASH) {
+            insert(normalizeExact(prefix)).exact.add(entry);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the values whose key matches the path, in registration order
+     */
+    List<T> candidates(String path) {
+        List<Entry<T>> matches = null;
+        String exactPath = normalizeExact(path);
+
+        Node<T> node = root;
+        int position = 0;
+        while (node != null) {
+            matches = collect(matches, node.prefix);
+            if (position == exactPath.length()) {
+                matches = collect(matches, node.exact);
+            }
+            if (position == path.length()) {
+                break;
+            }
+            Node<T> child = node.child(path.charAt(position));
+            if (child == null || !path.startsWith(child.label, position)) {
+                break;
+            }
+            position += child.label.length();
+            node = child;
+        }
+
+        if (matches == null) {
+            return Collections.emptyList();
+        }
+        if (matches.size() > 1) {
+            matches.sort(Entry.BY_ORDER);
+        }
+        List<T> values = new ArrayList<>(matches.size());
+        Entry<T> previous = null;
+        for (Entry<T> match : matches) {
+            // a prefix entry can be reached both as a prefix and as an exact path
+            if (match != previous) {
+                values.add(match.value);
+            }
+            previous = match;
+        }
+        return values;
+    }
+
+    private static <T> List<Entry<T>> collect(List<Entry<T>> matches, List<Entry<T>> entries) {
+        if (entries.isEmpty()) {
+            return matches;
+        }
+        List<Entry<T>> result = matches != null ? matches : new ArrayList<>(entries.size());
+        result.addAll(entries);
+        return result;
+    }
+
+    private Node<T> insert(String key) {
+        Node<T> node = root;
+        int position = 0;
+        while (position < key.length()) {
+            Node<T> child = node.child(key.charAt(position));
+            if (child == null) {
+                return node.addChild(new Node<>(key.substring(position)));
+            }
+            int common = commonPrefixLength(child.label, key, position);
+            if (common < child.label.length()) {
+                child = node.split(child, common);
+            }
+            position += common;
+            node = child;
+        }
+        return node;
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    // a trailing slash is not significant for exact paths, same as Vert.x exact route paths
+    private static String normalizeExact(String path) {
+        if (path.length() > 1 && path.charAt(path.length() - 1) == SLASH) {
+            return path.substring(0, path.length() - 1);
+        }
+        return path;
+    }
+
+    private static final class Node<T> {
+
+        private static final Node<?>[] NO_CHILDREN = new Node<?>[0];
+
+        private String label;
+        private Node<T>[] children = noChildren();
+        private final List<Entry<T>> exact = new ArrayList<>(1);
+        private final List<Entry<T>> prefix = new ArrayList<>(1);
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> Node<T>[] noChildren() {
+            return (Node<T>[]) NO_CHILDREN;
+        }
+
+        private Node<T> child(char first) {
+            for (Node<T> child : children) {
+                if (child.label.charAt(0) == first) {
+                    return child;
+                }
+            }
+            return null;
+        }
+
+        private Node<T> addChild(Node<T> child) {
+            children = Arrays.copyOf(children, children.length + 1);
+            children[children.length - 1] = child;
+            return child;
+        }
+
+        private Node<T> split(Node<T> child, int at) {
+            Node<T> intermediate = new Node<>(child.label.substring(0, at));
+            child.label = child.label.substring(at);
+            intermediate.addChild(child);
+            for (int i = 0; i < children.length; i++) {
+                if (children[i] == child) {
+                    children[i] = intermediate;
+                }
+            }
+            return intermediate;
+        }
+    }
+
+    private static final class Entry<T> {
+
+        private static final Comparator<Entry<?>> BY_ORDER = Comparator.comparingInt(entry -> entry.order);
+
+        private final int order;
+        private final T value;
+
+        private Entry(int order, T value) {
+            this.order = order;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.acme.edgy.runtime;
+
+import org.acme.edgy.runtime.metrics.RouteMetrics;
+
+import io.vertx.core.Future;
+import io.vertx.httpproxy.ProxyContext;
+import io.vertx.httpproxy.ProxyInterceptor;
+import io.vertx.httpproxy.ProxyResponse;
+
+/**
+ * Records the latency of the origin of a route, installed after the transformers of the route so
+ * that it only measures the origin. The responses themselves are recorded by
+ * {@link MeteredProxyHandler}.
+ */
+final class RouteMetricsInterceptor implements ProxyInterceptor {
+
+    private final RouteMetrics metrics;
+
+    RouteMetricsInterceptor(RouteMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Future<ProxyResponse> handleProxyRequest(ProxyContext context) {
+        long start = System.nanoTime();
+        return context.sendRequest().andThen(response -> {
+            long elapsed = System.nanoTime() - start;
+            if (response.succeeded()) {
+                metrics.upstreamResponded(elapsed);
+            } else {
+                metrics.upstreamFailed(elapsed);
+            }
+        });
+    }
+}
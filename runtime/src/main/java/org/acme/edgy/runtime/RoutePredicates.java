@@ -0,0 +1,210 @@
+package org.acme.edgy.runtime;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.acme.edgy.runtime.api.AsyncRoutingPredicate;
+import org.acme.edgy.runtime.api.PredicateStatistics;
+import org.acme.edgy.runtime.api.Route;
+import org.acme.edgy.runtime.api.RoutingPredicate;
+import org.acme.edgy.runtime.config.EdgyConfig.PredicateEvaluation;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * The predicates of a route. The synchronous ones are tested first, in a loop over an array, and
+ * the asynchronous ones are only tested when all of them match.
+ * <p>
+ * Unless the evaluation is {@link PredicateEvaluation#PLAIN}, each synchronous predicate records how
+ * often it is evaluated and rejects a request, and how long it takes. With
+ * {@link PredicateEvaluation#ADAPTIVE}, the synchronous predicates are reordered every
+ * {@value #REORDER_INTERVAL} evaluations, by decreasing rejection rate per nanosecond: for
+ * independent predicates, this order minimizes the expected time to reject a request.
+ */
+final class RoutePredicates {
+
+    static final int REORDER_INTERVAL = 1024;
+
+    private static final Comparator<Score> BY_DECREASING_SCORE = Comparator.comparingDouble(score -> -score.value);
+
+    private final Route route;
+    private final PredicateEvaluation evaluation;
+    private final RoutingPredicate[] predicates;
+    private final Statistics[] statistics;
+    private final AsyncRoutingPredicate[] asyncPredicates;
+    private final AtomicLong evaluations = new AtomicLong();
+    // positions in the declared predicates, in evaluation order
+    private volatile int[] order;
+
+    RoutePredicates(Route route, PredicateEvaluation evaluation) {
+        this.route = route;
+        this.evaluation = evaluation;
+        this.predicates = route.predicates().toArray(new RoutingPredicate[0]);
+        this.statistics = new Statistics[predicates.length];
+        this.order = new int[predicates.length];
+        for (int i = 0; i < predicates.length; i++) {
+            statistics[i] = new Statistics();
+            order[i] = i;
+        }
+        this.asyncPredicates = route.asyncPredicates().toArray(new AsyncRoutingPredicate[0]);
+    }
+
+    boolean isEmpty() {
+        return predicates.length == 0 && asyncPredicates.length == 0;
+    }
+
+    boolean hasAsyncPredicates() {
+        return asyncPredicates.length > 0;
+    }
+
+    boolean test(RoutingContext rc) {
+        if (evaluation == PredicateEvaluation.PLAIN) {
+            for (RoutingPredicate predicate : predicates) {
+                if (!predicate.test(rc)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return testProfiled(rc);
+    }
+
+    private boolean testProfiled(RoutingContext rc) {
+        boolean matched = true;
+        for (int position : order) {
+            long start = System.nanoTime();
+            boolean passed = predicates[position].test(rc);
+            statistics[position].record(System.nanoTime() - start, passed);
+            if (!passed) {
+                matched = false;
+                break;
+            }
+        }
+        if (evaluation == PredicateEvaluation.ADAPTIVE && predicates.length > 1
+                && evaluations.incrementAndGet() % REORDER_INTERVAL == 0) {
+            reorder();
+        }
+        return matched;
+    }
+
+    // concurrent reorderings compute similar orders, the last one wins
+    void reorder() {
+        Score[] scores = new Score[predicates.length];
+        for (int i = 0; i < predicates.length; i++) {
+            scores[i] = new Score(i, statistics[i]);
+        }
+        // stable, so predicates with equal scores keep their relative order
+        Arrays.sort(scores, BY_DECREASING_SCORE);
+        int[] newOrder = new int[predicates.length];
+        for (int i = 0; i < scores.length; i++) {
+            newOrder[i] = scores[i].position;
+        }
+        order = newOrder;
+    }
+
+    List<PredicateStatistics> statistics() {
+        int[] currentOrder = order;
+        int[] evaluationPositions = new int[predicates.length];
+        for (int i = 0; i < currentOrder.length; i++) {
+            evaluationPositions[currentOrder[i]] = i;
+        }
+        List<PredicateStatistics> snapshot = new ArrayList<>(predicates.length);
+        for (int i = 0; i < predicates.length; i++) {
+            Statistics predicateStatistics = statistics[i];
+            snapshot.add(new PredicateStatistics(route, i, evaluationPositions[i],
+                    predicateStatistics.evaluations.sum(), predicateStatistics.rejections.sum(),
+                    predicateStatistics.nanos.sum()));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Tests the synchronous predicates, then the asynchronous ones while the request is paused. The
+     * handler is called on the context of the request.
+     */
+    void testAsync(RoutingContext rc, Handler<AsyncResult<Boolean>> handler) {
+        if (!test(rc)) {
+            handler.handle(Future.succeededFuture(false));
+            return;
+        }
+        // the proxy reads the body once the route is known
+        rc.request().pause();
+        Promise<Boolean> promise = Promise.promise();
+        promise.future().onComplete(handler);
+        testAsync(rc, 0, Vertx.currentContext(), promise);
+    }
+
+    private void testAsync(RoutingContext rc, int index, Context context, Promise<Boolean> promise) {
+        Future<Boolean> result;
+        try {
+            result = asyncPredicates[index].test(rc);
+        } catch (RuntimeException e) {
+            promise.fail(e);
+            return;
+        }
+        result.onComplete(tested -> onContext(context, () -> {
+            if (tested.failed()) {
+                promise.fail(tested.cause());
+            } else if (!Boolean.TRUE.equals(tested.result())) {
+                promise.complete(false);
+            } else if (index + 1 == asyncPredicates.length) {
+                promise.complete(true);
+            } else {
+                testAsync(rc, index + 1, context, promise);
+            }
+        }));
+    }
+
+    // asynchronous predicates may complete on any thread
+    private static void onContext(Context context, Runnable action) {
+        if (context == null || context == Vertx.currentContext()) {
+            action.run();
+        } else {
+            context.runOnContext(ignored -> action.run());
+        }
+    }
+
+    private static final class Statistics {
+
+        private final LongAdder evaluations = new LongAdder();
+        private final LongAdder rejections = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        private void record(long elapsedNanos, boolean passed) {
+            evaluations.increment();
+            nanos.add(elapsedNanos);
+            if (!passed) {
+                rejections.increment();
+            }
+        }
+    }
+
+    private static final class Score {
+
+        private final int position;
+        private final double value;
+
+        private Score(int position, Statistics statistics) {
+            this.position = position;
+            long evaluated = statistics.evaluations.sum();
+            if (evaluated == 0) {
+                // never reached, keeps its place after the predicates that were
+                this.value = -1;
+            } else {
+                double rejectionRate = (double) statistics.rejections.sum() / evaluated;
+                double averageNanos = Math.max(1, (double) statistics.nanos.sum() / evaluated);
+                this.value = rejectionRate / averageNanos;
+            }
+        }
+    }
+}
@@ -1,27 +1,45 @@
 package org.acme.edgy.runtime;
 
-import static org.acme.edgy.runtime.api.utils.QueryParamUtils.appendUriQueries;
-import static org.acme.edgy.runtime.api.utils.QueryParamUtils.hasQuery;
-import static org.acme.edgy.runtime.api.utils.SegmentUtils.extractSegmentValues;
 import static org.acme.edgy.runtime.api.utils.SegmentUtils.replaceSegmentsWithRegex;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
 
+import org.acme.edgy.runtime.api.HealthPolicy;
 import org.acme.edgy.runtime.api.Origin;
+import org.acme.edgy.runtime.api.OriginEndpoint;
 import org.acme.edgy.runtime.api.PathMode;
+import org.acme.edgy.runtime.api.PredicateStatistics;
 import org.acme.edgy.runtime.api.RequestTransformer;
 import org.acme.edgy.runtime.api.ResponseTransformer;
 import org.acme.edgy.runtime.api.Route;
 import org.acme.edgy.runtime.api.RoutingConfiguration;
-import org.acme.edgy.runtime.api.RoutingPredicate;
+import org.acme.edgy.runtime.api.SyncRequestTransformer;
+import org.acme.edgy.runtime.api.SyncResponseTransformer;
+import org.acme.edgy.runtime.api.utils.QueryStringEditor;
+import org.acme.edgy.runtime.api.utils.SegmentPathMatcher;
+import org.acme.edgy.runtime.api.utils.UriRewritePlan;
+import org.acme.edgy.runtime.builtins.requests.RequestQueryParameterAdder;
+import org.acme.edgy.runtime.builtins.requests.RequestQueryParameterRemover;
+import org.acme.edgy.runtime.builtins.requests.RequestQueryParameterReplacer;
 import org.acme.edgy.runtime.config.EdgyConfig;
 import org.acme.edgy.runtime.config.EdgyOriginConfig;
+import org.acme.edgy.runtime.config.EdgyOriginHealthConfig;
+import org.acme.edgy.runtime.metrics.EdgyMetrics;
+import org.acme.edgy.runtime.metrics.RouteMetrics;
+import org.acme.edgy.runtime.metrics.TransformerMetrics;
 import org.jboss.logging.Logger;
 
 import io.quarkus.arc.DefaultBean;
@@ -29,18 +47,22 @@ import io.quarkus.runtime.configuration.ConfigurationException;
 import io.quarkus.tls.TlsConfigurationRegistry;
 import io.quarkus.tls.runtime.config.TlsConfig;
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpClient;
 import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.http.PoolOptions;
 import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.proxy.handler.ProxyHandler;
 import io.vertx.httpproxy.HttpProxy;
+import io.vertx.httpproxy.OriginRequestProvider;
 import io.vertx.httpproxy.ProxyContext;
 import io.vertx.httpproxy.ProxyInterceptor;
 import io.vertx.httpproxy.ProxyRequest;
 import io.vertx.httpproxy.ProxyResponse;
-import io.vertx.uritemplate.UriTemplate;
-import io.vertx.uritemplate.Variables;
 
 @ApplicationScoped
 @DefaultBean
@@ -52,6 +74,7 @@ public class RouterConfigurator {
     private static final String REQUEST_URI_AFTER_PREFIX = "__REQUEST_URI_AFTER_PREFIX__";
     private static final String REGEXP_ZERO_OR_MORE = "*";
     private static final String CURLY_BRACE = "{";
+    private static final SyncRequestTransformer QUERY_EDITS_FLUSH = QueryStringEditor::flush;
 
     @Inject
     Vertx vertx;
@@ -65,10 +88,24 @@ public class RouterConfigurator {
     @Inject
     EdgyConfig edgyConfig;
 
+    @Inject
+    Instance<EdgyMetrics> metrics;
+
+    private OriginHealthChecker healthChecker;
+    private volatile List<RoutePredicates> routePredicates = List.of();
+
     void configure(@Observes Router router) {
         // TODO this is a very early hacky start
 
         final Map<String, Origin> origins = new HashMap<>();
+        final List<RoutePredicates> allRoutePredicates = new ArrayList<>();
+        IndexedRouteDispatcher indexedDispatcher = edgyConfig.dispatcher() == EdgyConfig.Dispatcher.INDEXED
+                ? new IndexedRouteDispatcher()
+                : null;
+        // consecutive routes with the same path, dispatched together when they share a keyed predicate
+        final List<KeyedRouteDispatcher.Candidate> samePathRoutes = new ArrayList<>();
+        final EdgyMetrics edgyMetrics = metrics != null && metrics.isResolvable() ? metrics.get() : null;
+        final Map<String, OriginRequestProvider> meteredOriginRequestProviders = new HashMap<>();
 
         for (Route route : routingConfiguration.routes()) {
             Origin origin = route.origin();
@@ -81,29 +118,137 @@ public class RouterConfigurator {
                         "Origin identifier '" + origin.identifier() + "' is already associated with a different URI: "
                                 + existingOrigin.uri() + " vs " + origin.uri());
             }
-            if (!originAlreadyExists) {
+            if (originAlreadyExists) {
+                // the routes of an origin share its HTTP clients and load balancing state
+                origin = existingOrigin;
+            } else {
                 origins.put(origin.identifier(), origin);
             }
 
             HttpClient httpClient = httpClientForOrigin(origin);
 
+            OriginRequestProvider originRequestProvider = origin.originRequestProvider();
+            RouteMetrics routeMetrics = null;
+            if (edgyMetrics != null) {
+                OriginRequestProvider metered = meteredOriginRequestProviders.get(origin.identifier());
+                if (metered == null) {
+                    metered = new MeteredOriginRequestProvider(originRequestProvider, edgyMetrics.origin(origin));
+                    meteredOriginRequestProviders.put(origin.identifier(), metered);
+                }
+                originRequestProvider = metered;
+                routeMetrics = edgyMetrics.route(route);
+            }
+
             HttpProxy proxy = HttpProxy.reverseProxy(httpClient)
-                    .origin(origin.originRequestProvider()); // dynamically receive the origin
+                    .origin(originRequestProvider); // dynamically receive the origin
 
-            rerouteProxyRequestAndResolveUriTemplate(proxy, route);
+            List<RequestTransformer> requestTransformers = new ArrayList<>();
+            requestTransformers.add(rerouteProxyRequestAndResolveUriTemplate(route));
 
             // to include query params from the original API Gateway URI
-            propagateQueryParams(proxy);
+            requestTransformers.add((SyncRequestTransformer) RouterConfigurator::propagateQueryParams);
+
+            // the edits of consecutive query transformers are written to the request URI at once,
+            // before any other transformer sees the URI
+            boolean pendingQueryEdits = false;
+            for (RequestTransformer requestTransformer : route.requestTransformers()) {
+                boolean editsQuery = editsQuery(requestTransformer);
+                if (pendingQueryEdits && !editsQuery) {
+                    requestTransformers.add(QUERY_EDITS_FLUSH);
+                }
+                pendingQueryEdits = editsQuery;
+                requestTransformers.add(requestTransformer);
+            }
+            if (pendingQueryEdits) {
+                requestTransformers.add(QUERY_EDITS_FLUSH);
+            }
+
+            List<TransformerMetrics> requestMetrics = edgyMetrics != null
+                    ? requestTransformerMetrics(edgyMetrics, route, requestTransformers)
+                    : null;
+            List<TransformerMetrics> responseMetrics = edgyMetrics != null
+                    ? responseTransformerMetrics(edgyMetrics, route)
+                    : null;
+            switch (edgyConfig.transformerPipeline()) {
+                case INTERCEPTORS -> {
+                    // request transformers
+                    applyRequestTransformers(requestTransformers, requestMetrics, proxy);
+
+                    // response transformers
+                    applyResponseTransformers(route.responseTransformers(), responseMetrics, proxy);
+                }
+                case FUSED -> proxy.addInterceptor(new FusedTransformerChain(requestTransformers, requestMetrics,
+                        route.responseTransformers(), responseMetrics));
+            }
+            if (routeMetrics != null) {
+                // only measures the origin
+                proxy.addInterceptor(new RouteMetricsInterceptor(routeMetrics));
+            }
+
+            Handler<RoutingContext> proxyHandler = routeMetrics != null
+                    ? new MeteredProxyHandler(ProxyHandler.create(proxy), routeMetrics)
+                    : ProxyHandler.create(proxy);
+            RoutePredicates predicates = new RoutePredicates(route, edgyConfig.predicateEvaluation());
+            allRoutePredicates.add(predicates);
+            if (indexedDispatcher != null) {
+                if (!indexedDispatcher.register(router, route, predicates, proxyHandler)) {
+                    registerVertxRoute(router, route, predicates, proxyHandler);
+                    if (indexedDispatcher.isInstalled()) {
+                        // the indexed routes declared after this one must not match before it
+                        indexedDispatcher = new IndexedRouteDispatcher();
+                    }
+                }
+                continue;
+            }
+            if (!samePathRoutes.isEmpty() && !samePath(samePathRoutes.get(0).route(), route)) {
+                registerSamePathRoutes(router, samePathRoutes);
+            }
+            samePathRoutes.add(new KeyedRouteDispatcher.Candidate(route, predicates, proxyHandler));
+        }
+        registerSamePathRoutes(router, samePathRoutes);
 
-            // request transformers
-            applyRequestTransformers(route.requestTransformers(), proxy);
+        routePredicates = List.copyOf(allRoutePredicates);
+    }
 
-            // response transformers
-            applyResponseTransformers(route.responseTransformers(), proxy);
+    /**
+     * @return the statistics of the predicates of every route, empty unless
+     *         {@code edgy.predicate-evaluation} is {@code profiled} or {@code adaptive}
+     */
+    public List<PredicateStatistics> predicateStatistics() {
+        if (edgyConfig.predicateEvaluation() == EdgyConfig.PredicateEvaluation.PLAIN) {
+            return List.of();
+        }
+        List<PredicateStatistics> statistics = new ArrayList<>();
+        for (RoutePredicates predicates : routePredicates) {
+            statistics.addAll(predicates.statistics());
+        }
+        return statistics;
+    }
 
-            registerVertxRoute(router, route, proxy);
+    // the transformers added by Edgy itself are not metered
+    private static List<TransformerMetrics> requestTransformerMetrics(EdgyMetrics edgyMetrics, Route route,
+            List<RequestTransformer> requestTransformers) {
+        List<TransformerMetrics> transformerMetrics = new ArrayList<>(requestTransformers.size());
+        List<RequestTransformer> routeTransformers = route.requestTransformers();
+        int position = 0;
+        for (RequestTransformer requestTransformer : requestTransformers) {
+            if (position < routeTransformers.size() && requestTransformer == routeTransformers.get(position)) {
+                transformerMetrics.add(edgyMetrics.requestTransformer(route, position, requestTransformer));
+                position++;
+            } else {
+                transformerMetrics.add(null);
+            }
         }
+        return transformerMetrics;
+    }
 
+    private static List<TransformerMetrics> responseTransformerMetrics(EdgyMetrics edgyMetrics, Route route) {
+        List<ResponseTransformer> responseTransformers = route.responseTransformers();
+        List<TransformerMetrics> transformerMetrics = new ArrayList<>(responseTransformers.size());
+        for (int i = 0; i < responseTransformers.size(); i++) {
+            transformerMetrics.add(edgyMetrics.responseTransformer(route, i, responseTransformers.get(i)));
+        }
+        return transformerMetrics;
     }
 
     private HttpClient httpClientForOrigin(Origin origin) {
@@ -112,16 +257,89 @@ public class RouterConfigurator {
             return existing;
         }
 
-        HttpClientOptions options = new HttpClientOptions();
-        HttpClient httpClient = vertx.createHttpClient(options);
-        configureOrigin(origin, httpClient);
+        EdgyOriginConfig originConfig = edgyConfig.origins().get(origin.identifier());
+        HttpClient httpClient = createHttpClient(origin, originConfig);
         origin.setHttpClient(httpClient);
+
+        List<OriginEndpoint> endpoints = origin.endpoints();
+        if (endpoints.size() > 1) {
+            // one connection pool per endpoint, the connection settings apply to each of them
+            endpoints.get(0).setHttpClient(httpClient);
+            for (int i = 1; i < endpoints.size(); i++) {
+                endpoints.get(i).setHttpClient(createHttpClient(origin, originConfig));
+            }
+            if (originConfig != null) {
+                configureHealthChecks(origin, originConfig.health());
+            }
+        }
+        return httpClient;
+    }
+
+    private void configureHealthChecks(Origin origin, EdgyOriginHealthConfig healthConfig) {
+        if (healthConfig.path().isEmpty() && healthConfig.consecutiveFailures().isEmpty()) {
+            return;
+        }
+        origin.setHealthPolicy(new HealthPolicy(healthConfig.consecutiveFailures().orElse(0),
+                healthConfig.slowResponseThreshold().orElse(Duration.ZERO),
+                healthConfig.baseEjectionTime(), healthConfig.maxEjectionTime(), healthConfig.slowStart(),
+                healthConfig.unhealthyThreshold(), healthConfig.healthyThreshold()));
+        healthConfig.path().ifPresent(path -> {
+            if (healthChecker == null) {
+                healthChecker = new OriginHealthChecker(vertx);
+            }
+            healthChecker.start(origin, path, healthConfig.interval().toMillis(), healthConfig.timeout().toMillis());
+        });
+    }
+
+    @PreDestroy
+    void stopHealthChecks() {
+        if (healthChecker != null) {
+            healthChecker.stop();
+        }
+    }
+
+    private HttpClient createHttpClient(Origin origin, EdgyOriginConfig originConfig) {
+        HttpClientOptions options = new HttpClientOptions();
+        PoolOptions poolOptions = new PoolOptions();
+        if (originConfig != null) {
+            configureConnectionOptions(origin, originConfig, options, poolOptions);
+        }
+        HttpClient httpClient = vertx.createHttpClient(options, poolOptions);
+        configureOrigin(origin, originConfig, httpClient);
         return httpClient;
     }
 
-    private void configureOrigin(Origin origin, HttpClient httpClient) {
-        String identifier = origin.identifier();
-        EdgyOriginConfig originConfig = edgyConfig.origins().get(identifier);
+    private static void configureConnectionOptions(Origin origin, EdgyOriginConfig originConfig,
+            HttpClientOptions options, PoolOptions poolOptions) {
+        if (originConfig.http2()) {
+            options.setProtocolVersion(HttpVersion.HTTP_2);
+            if (origin.supportsTls()) {
+                options.setUseAlpn(true);
+            } else {
+                // h2c with prior knowledge, rather than an HTTP/1.1 upgrade on every new connection
+                options.setHttp2ClearTextUpgrade(false);
+            }
+            originConfig.http2MaxConcurrentStreams().ifPresent(options::setHttp2MultiplexingLimit);
+            originConfig.http2MaxPoolSize().ifPresent(poolOptions::setHttp2MaxSize);
+        }
+        originConfig.maxPoolSize().ifPresent(poolOptions::setHttp1MaxSize);
+        originConfig.maxWaitQueueSize().ifPresent(poolOptions::setMaxWaitQueueSize);
+        originConfig.keepAlive().ifPresent(options::setKeepAlive);
+        originConfig.keepAliveTimeout()
+                .ifPresent(timeout -> options.setKeepAliveTimeout(Math.toIntExact(timeout.toSeconds())));
+        originConfig.pipelining().ifPresent(options::setPipelining);
+        originConfig.pipeliningLimit().ifPresent(options::setPipeliningLimit);
+        originConfig.idleTimeout().ifPresent(timeout -> options
+                .setIdleTimeout(Math.toIntExact(timeout.toMillis()))
+                .setIdleTimeoutUnit(TimeUnit.MILLISECONDS));
+        originConfig.connectTimeout()
+                .ifPresent(timeout -> options.setConnectTimeout(Math.toIntExact(timeout.toMillis())));
+        originConfig.tcpNoDelay().ifPresent(options::setTcpNoDelay);
+        originConfig.tcpFastOpen().ifPresent(options::setTcpFastOpen);
+        originConfig.tcpQuickAck().ifPresent(options::setTcpQuickAck);
+    }
+
+    private void configureOrigin(Origin origin, EdgyOriginConfig originConfig, HttpClient httpClient) {
         if (originConfig == null) {
             // there is not origin-specific configuration in the properties => no need to
             // configure anything
@@ -157,99 +375,286 @@ public class RouterConfigurator {
                                 }));
     }
 
-    private void propagateQueryParams(HttpProxy proxy) {
-        proxy.addInterceptor(new ProxyInterceptor() {
-            @Override
-            public Future<ProxyResponse> handleProxyRequest(ProxyContext context) {
-                ProxyRequest proxyRequest = context.request();
-                String originUri = proxyRequest.getURI();
-                String encodedQueryOfApiGatewayUri = context.request().proxiedRequest().query();
-                if (encodedQueryOfApiGatewayUri == null && !hasQuery(originUri)) {
-                    // no queries present
-                    return context.sendRequest();
-                }
-                if (encodedQueryOfApiGatewayUri != null) {
-                    // appends originalAPIGatewayURI query params into the originUri
-                    originUri = appendUriQueries(originUri, encodedQueryOfApiGatewayUri);
-                }
-                proxyRequest.setURI(originUri);
-                return context.sendRequest();
-            }
-        });
+    private static void propagateQueryParams(ProxyContext context) {
+        String encodedQueryOfApiGatewayUri = context.request().proxiedRequest().query();
+        if (encodedQueryOfApiGatewayUri != null) {
+            // appends originalAPIGatewayURI query params into the originUri
+            QueryStringEditor.of(context).addAll(encodedQueryOfApiGatewayUri);
+            QueryStringEditor.flush(context);
+        }
+    }
+
+    private static boolean editsQuery(RequestTransformer requestTransformer) {
+        return requestTransformer instanceof RequestQueryParameterAdder
+                || requestTransformer instanceof RequestQueryParameterRemover
+                || requestTransformer instanceof RequestQueryParameterReplacer;
     }
 
     private boolean pathNeedsUriTemplateResolving(String path) {
         return path.contains(CURLY_BRACE);
     }
 
-    private void rerouteProxyRequestAndResolveUriTemplate(HttpProxy proxy, Route route) {
+    private SyncRequestTransformer rerouteProxyRequestAndResolveUriTemplate(Route route) {
+        String originPath = route.origin().path();
+        if (!pathNeedsUriTemplateResolving(originPath)) {
+            return context -> context.request().setURI(originPath);
+        }
+
+        // compiled once per route, the per-request work is a single match and expansion pass
+        UriRewritePlan rewritePlan = UriRewritePlan.compile(originPath);
+        SegmentPathMatcher segmentPathMatcher = route.pathMode() == PathMode.PARAMS
+                ? SegmentPathMatcher.compile(route.path())
+                : null;
+        return context -> {
+            ProxyRequest proxyRequest = context.request();
+            String requestUri = proxyRequest.getURI();
+            Map<String, String> segmentValues = segmentPathMatcher != null
+                    ? segmentPathMatcher.extractSegmentValues(requestUri)
+                    : Map.of();
+            MultiMap params = proxyRequest.proxiedRequest().params();
+            proxyRequest.setURI(rewritePlan.expand(
+                    name -> resolveUriTemplateVariable(name, route, requestUri, segmentValues, params)));
+        };
+    }
+
+    private static String resolveUriTemplateVariable(String name, Route route, String requestUri,
+            Map<String, String> segmentValues, MultiMap params) {
+        // same precedence as successive Variables#set calls: request params, then
+        // segment values or the part after the prefix, then the request URI
+        if (params.contains(name)) {
+            List<String> values = params.getAll(name);
+            return values.get(values.size() - 1);
+        }
+        String segmentValue = segmentValues.get(name);
+        if (segmentValue != null) {
+            return segmentValue;
+        }
+        if (route.pathMode() == PathMode.PREFIX && REQUEST_URI_AFTER_PREFIX.equals(name)) {
+            return requestUri.substring(route.path().indexOf(REGEXP_ZERO_OR_MORE));
+        }
+        if (REQUEST_URI.equals(name)) {
+            return requestUri;
+        }
+        return null;
+    }
+
+    /**
+     * @param transformerMetrics the metrics of each transformer, {@code null} without metrics
+     */
+    private void applyRequestTransformers(List<RequestTransformer> requestTransformers,
+            List<TransformerMetrics> transformerMetrics, HttpProxy proxy) {
+        List<SyncRequestTransformer> syncTransformers = new ArrayList<>();
+        List<TransformerMetrics> syncMetrics = new ArrayList<>();
+        for (int i = 0; i < requestTransformers.size(); i++) {
+            RequestTransformer requestTransformer = requestTransformers.get(i);
+            TransformerMetrics metrics = transformerMetrics != null ? transformerMetrics.get(i) : null;
+            if (requestTransformer instanceof SyncRequestTransformer syncTransformer) {
+                syncTransformers.add(syncTransformer);
+                syncMetrics.add(metrics);
+                continue;
+            }
+            addSyncRequestInterceptor(syncTransformers, syncMetrics, proxy);
+            if (metrics != null) {
+                // the chain times the transformer until it passes the request on, or short-circuits
+                proxy.addInterceptor(new FusedTransformerChain(List.of(requestTransformer),
+                        List.of(metrics), List.of(), null));
+                continue;
+            }
+            proxy.addInterceptor(new ProxyInterceptor() {
+                @Override
+                public Future<ProxyResponse> handleProxyRequest(ProxyContext context) {
+                    return requestTransformer.apply(context);
+                }
+            });
+        }
+        addSyncRequestInterceptor(syncTransformers, syncMetrics, proxy);
+    }
+
+    // consecutive synchronous transformers share one interceptor, and run in a loop
+    private void addSyncRequestInterceptor(List<SyncRequestTransformer> syncTransformers,
+            List<TransformerMetrics> syncMetrics, HttpProxy proxy) {
+        if (syncTransformers.isEmpty()) {
+            return;
+        }
+        SyncRequestTransformer[] transformers = syncTransformers.toArray(new SyncRequestTransformer[0]);
+        TransformerMetrics[] metrics = meteredOrNull(syncMetrics);
+        syncTransformers.clear();
+        syncMetrics.clear();
+        if (metrics != null) {
+            proxy.addInterceptor(new ProxyInterceptor() {
+                @Override
+                public Future<ProxyResponse> handleProxyRequest(ProxyContext context) {
+                    for (int i = 0; i < transformers.length; i++) {
+                        long start = System.nanoTime();
+                        transformers[i].transform(context);
+                        record(metrics[i], System.nanoTime() - start);
+                    }
+                    return context.sendRequest();
+                }
+            });
+            return;
+        }
         proxy.addInterceptor(new ProxyInterceptor() {
             @Override
             public Future<ProxyResponse> handleProxyRequest(ProxyContext context) {
-                ProxyRequest proxyRequest = context.request();
-                String originPath = route.origin().path();
-                if (!pathNeedsUriTemplateResolving(originPath)) {
-                    proxyRequest.setURI(originPath);
-                    return context.sendRequest();
+                for (SyncRequestTransformer transformer : transformers) {
+                    transformer.transform(context);
                 }
-                UriTemplate uriTemplate = UriTemplate.of(originPath);
-                Variables variables = Variables.variables()
-                        .set(REQUEST_URI, proxyRequest.getURI());
-                if (route.pathMode() == PathMode.PARAMS) {
-                    extractSegmentValues(route.path(), proxyRequest.getURI())
-                            .forEach(variables::set);
-                } else if (route.pathMode() == PathMode.PREFIX) {
-                    int starPos = route.path().indexOf(REGEXP_ZERO_OR_MORE);
-                    variables.set(REQUEST_URI_AFTER_PREFIX,
-                            proxyRequest.getURI().substring(starPos));
-                }
-                proxyRequest.proxiedRequest().params().forEach(variables::set);
-                proxyRequest.setURI(uriTemplate.expandToString(variables));
                 return context.sendRequest();
-
             }
         });
     }
 
-    private void applyRequestTransformers(List<RequestTransformer> requestTransformers, HttpProxy proxy) {
-        for (RequestTransformer requestTransformer : requestTransformers) {
+    /**
+     * @param transformerMetrics the metrics of each transformer, {@code null} without metrics
+     */
+    private void applyResponseTransformers(List<ResponseTransformer> responseTransformers,
+            List<TransformerMetrics> transformerMetrics, HttpProxy proxy) {
+        List<SyncResponseTransformer> syncTransformers = new ArrayList<>();
+        List<TransformerMetrics> syncMetrics = new ArrayList<>();
+        for (int i = 0; i < responseTransformers.size(); i++) {
+            ResponseTransformer responseTransformer = responseTransformers.get(i);
+            TransformerMetrics metrics = transformerMetrics != null ? transformerMetrics.get(i) : null;
+            if (responseTransformer instanceof SyncResponseTransformer syncTransformer) {
+                syncTransformers.add(syncTransformer);
+                syncMetrics.add(metrics);
+                continue;
+            }
+            addSyncResponseInterceptor(syncTransformers, syncMetrics, proxy);
+            if (metrics != null) {
+                proxy.addInterceptor(new FusedTransformerChain(List.of(), null, List.of(responseTransformer),
+                        List.of(metrics)));
+                continue;
+            }
             proxy.addInterceptor(new ProxyInterceptor() {
                 @Override
-                public Future<ProxyResponse> handleProxyRequest(ProxyContext context) {
-                    return requestTransformer.apply(context);
+                public Future<Void> handleProxyResponse(ProxyContext context) {
+                    return responseTransformer.apply(context);
                 }
             });
         }
+        addSyncResponseInterceptor(syncTransformers, syncMetrics, proxy);
     }
 
-    private void applyResponseTransformers(List<ResponseTransformer> responseTransformers,
-            HttpProxy proxy) {
-        for (ResponseTransformer responseTransformer : responseTransformers) {
+    private void addSyncResponseInterceptor(List<SyncResponseTransformer> syncTransformers,
+            List<TransformerMetrics> syncMetrics, HttpProxy proxy) {
+        if (syncTransformers.isEmpty()) {
+            return;
+        }
+        SyncResponseTransformer[] transformers = syncTransformers.toArray(new SyncResponseTransformer[0]);
+        TransformerMetrics[] metrics = meteredOrNull(syncMetrics);
+        syncTransformers.clear();
+        syncMetrics.clear();
+        if (metrics != null) {
             proxy.addInterceptor(new ProxyInterceptor() {
                 @Override
                 public Future<Void> handleProxyResponse(ProxyContext context) {
-                    return responseTransformer.apply(context);
+                    // response interceptors run in reverse registration order
+                    for (int i = transformers.length - 1; i >= 0; i--) {
+                        long start = System.nanoTime();
+                        transformers[i].transform(context);
+                        record(metrics[i], System.nanoTime() - start);
+                    }
+                    return context.sendResponse();
                 }
             });
+            return;
         }
+        proxy.addInterceptor(new ProxyInterceptor() {
+            @Override
+            public Future<Void> handleProxyResponse(ProxyContext context) {
+                // response interceptors run in reverse registration order
+                for (int i = transformers.length - 1; i >= 0; i--) {
+                    transformers[i].transform(context);
+                }
+                return context.sendResponse();
+            }
+        });
+    }
+
+    // null when none of the transformers is metered, so that the loop does not read the clock
+    private static TransformerMetrics[] meteredOrNull(List<TransformerMetrics> metrics) {
+        for (TransformerMetrics transformerMetrics : metrics) {
+            if (transformerMetrics != null) {
+                return metrics.toArray(new TransformerMetrics[0]);
+            }
+        }
+        return null;
     }
 
-    private void registerVertxRoute(Router router, Route edgyRoute, HttpProxy proxy) {
-        var vertxRoute = switch (edgyRoute.pathMode()) {
+    private static void record(TransformerMetrics metrics, long nanos) {
+        if (metrics != null) {
+            metrics.record(nanos);
+        }
+    }
+
+    private static boolean samePath(Route route, Route other) {
+        return route.pathMode() == other.pathMode() && route.path().equals(other.path());
+    }
+
+    /**
+     * Registers the longest runs of routes sharing a keyed predicate as a single Vert.x route, and
+     * the other routes one by one.
+     */
+    private void registerSamePathRoutes(Router router, List<KeyedRouteDispatcher.Candidate> samePathRoutes) {
+        int start = 0;
+        while (start < samePathRoutes.size()) {
+            Set<String> keys = KeyedRouteDispatcher.keys(samePathRoutes.get(start).route());
+            int end = start + 1;
+            while (end < samePathRoutes.size() && !keys.isEmpty()) {
+                Set<String> remaining = new LinkedHashSet<>(keys);
+                remaining.retainAll(KeyedRouteDispatcher.keys(samePathRoutes.get(end).route()));
+                if (remaining.isEmpty()) {
+                    break;
+                }
+                keys = remaining;
+                end++;
+            }
+            if (end - start > 1) {
+                List<KeyedRouteDispatcher.Candidate> run = samePathRoutes.subList(start, end);
+                vertxRoute(router, run.get(0).route())
+                        .handler(KeyedRouteDispatcher.create(run, keys.iterator().next()));
+            } else {
+                KeyedRouteDispatcher.Candidate candidate = samePathRoutes.get(start);
+                registerVertxRoute(router, candidate.route(), candidate.predicates(), candidate.proxyHandler());
+            }
+            start = end;
+        }
+        samePathRoutes.clear();
+    }
+
+    private static io.vertx.ext.web.Route vertxRoute(Router router, Route edgyRoute) {
+        return switch (edgyRoute.pathMode()) {
             case FIXED, PREFIX -> router.route(edgyRoute.path());
             case PARAMS -> router.routeWithRegex(replaceSegmentsWithRegex(edgyRoute.path()));
             case REGEXP -> router.routeWithRegex(edgyRoute.path());
         };
+    }
+
+    private void registerVertxRoute(Router router, Route edgyRoute, RoutePredicates predicates,
+            Handler<RoutingContext> proxyHandler) {
+        var vertxRoute = vertxRoute(router, edgyRoute);
 
-        ProxyHandler proxyHandler = ProxyHandler.create(proxy);
-        List<RoutingPredicate> predicates = edgyRoute.predicates();
         if (predicates.isEmpty()) {
             vertxRoute.handler(proxyHandler);
             return;
         }
 
+        if (predicates.hasAsyncPredicates()) {
+            vertxRoute.handler(rc -> predicates.testAsync(rc, matched -> {
+                if (matched.failed()) {
+                    rc.fail(matched.cause());
+                } else if (matched.result()) {
+                    proxyHandler.handle(rc);
+                } else {
+                    rc.next();
+                }
+            }));
+            return;
+        }
+
         vertxRoute.handler(rc -> {
-            if (predicates.stream().allMatch(predicate -> predicate.test(rc))) {
+            if (predicates.test(rc)) {
                 proxyHandler.handle(rc);
                 return;
             }
@@ -0,0 +1,39 @@
+package org.acme.edgy.runtime.api;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import io.vertx.core.Future;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Predicate deciding whether a request goes to a route, for predicates needing I/O such as a
+ * lookup in a remote store. The asynchronous predicates of a route are tested one after the other,
+ * after its {@link RoutingPredicate}s, and the request is paused meanwhile. A failed
+ * {@link Future} fails the request.
+ */
+@FunctionalInterface
+public interface AsyncRoutingPredicate {
+
+    int DEFAULT_MAX_CACHED_RESULTS = 10_000;
+
+    Future<Boolean> test(RoutingContext rc);
+
+    /**
+     * @param keyExtractor the cache key of a request, {@code null} to not cache its result
+     * @param ttl how long a result is reused, counted from the start of the test
+     * @return this predicate, reusing its results for the requests with the same key
+     */
+    default AsyncRoutingPredicate cached(Function<RoutingContext, String> keyExtractor, Duration ttl) {
+        return cached(keyExtractor, ttl, DEFAULT_MAX_CACHED_RESULTS);
+    }
+
+    /**
+     * @param maxCachedResults the maximum number of cached results, caching the result of another
+     *        key evicts the least recently used one
+     */
+    default AsyncRoutingPredicate cached(Function<RoutingContext, String> keyExtractor, Duration ttl,
+            int maxCachedResults) {
+        return new CachingAsyncRoutingPredicate(this, keyExtractor, ttl, maxCachedResults);
+    }
+}
@@ -0,0 +1,88 @@
+package org.acme.edgy.runtime.api;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import io.vertx.core.Future;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Caches the results of an {@link AsyncRoutingPredicate} per key. A pending result is shared too,
+ * so concurrent requests with the same key trigger a single test. Failed results are not cached.
+ * <p>
+ * Once the maximum number of results is reached, caching a new result evicts the least recently
+ * used one, in constant time. Expired results are replaced when their key is tested again.
+ */
+final class CachingAsyncRoutingPredicate implements AsyncRoutingPredicate {
+
+    private final AsyncRoutingPredicate delegate;
+    private final Function<RoutingContext, String> keyExtractor;
+    private final long ttlNanos;
+    private final LinkedHashMap<String, CachedResult> results;
+
+    CachingAsyncRoutingPredicate(AsyncRoutingPredicate delegate, Function<RoutingContext, String> keyExtractor,
+            Duration ttl, int maxCachedResults) {
+        if (maxCachedResults < 1) {
+            throw new IllegalArgumentException("The maximum number of cached results must be positive");
+        }
+        this.delegate = delegate;
+        this.keyExtractor = Objects.requireNonNull(keyExtractor, "keyExtractor");
+        this.ttlNanos = Objects.requireNonNull(ttl, "ttl").toNanos();
+        this.results = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResult> eldest) {
+                return size() > maxCachedResults;
+            }
+        };
+    }
+
+    @Override
+    public Future<Boolean> test(RoutingContext rc) {
+        String key = keyExtractor.apply(rc);
+        if (key == null) {
+            return delegate.test(rc);
+        }
+
+        long now = System.nanoTime();
+        CachedResult cached = get(key);
+        if (cached != null && now - cached.expiresAt < 0) {
+            return cached.result;
+        }
+
+        Future<Boolean> result = delegate.test(rc);
+        CachedResult entry = new CachedResult(result, now + ttlNanos);
+        put(key, entry);
+        result.onFailure(failure -> remove(key, entry));
+        return result;
+    }
+
+    private synchronized CachedResult get(String key) {
+        return results.get(key);
+    }
+
+    private synchronized void put(String key, CachedResult entry) {
+        results.put(key, entry);
+    }
+
+    private synchronized void remove(String key, CachedResult entry) {
+        results.remove(key, entry);
+    }
+
+    synchronized int size() {
+        return results.size();
+    }
+
+    private static final class CachedResult {
+
+        private final Future<Boolean> result;
+        private final long expiresAt;
+
+        private CachedResult(Future<Boolean> result, long expiresAt) {
+            this.result = result;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package org.acme.edgy.runtime.api;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Health of an {@link OriginEndpoint}, fed by the outcome of the proxied requests (passive checks)
+ * and by probes (active checks). An ejected endpoint is not selected until its ejection time is
+ * over, or until enough probes succeed when it was ejected by the probes. It then receives a share of
+ * the requests growing linearly over the slow start duration.
+ * <p>
+ * All the times are {@link System#nanoTime()} values. The state is read on every selection and
+ * updated without locks.
+ */
+public final class EndpointHealth {
+
+    private static final int HEALTHY = 0;
+    private static final int EJECTED = 1;
+    private static final int RECOVERING = 2;
+
+    // share of the requests an endpoint receives as soon as it is back
+    private static final double MIN_RECOVERY_SHARE = 0.1;
+
+    private volatile HealthPolicy policy = HealthPolicy.NONE;
+
+    private final AtomicInteger state = new AtomicInteger(HEALTHY);
+    // end of the ejection while EJECTED, start of the slow start while RECOVERING
+    private volatile long stateTime;
+    private volatile boolean ejectedByProbes;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicInteger ejections = new AtomicInteger();
+
+    // only updated by the probes, which do not overlap
+    private volatile int consecutiveProbeFailures;
+    private volatile int consecutiveProbeSuccesses;
+
+    EndpointHealth() {
+    }
+
+    void setPolicy(HealthPolicy policy) {
+        this.policy = policy;
+    }
+
+    public boolean isHealthy() {
+        return state.get() == HEALTHY;
+    }
+
+    /**
+     * @return whether the endpoint may be selected for a request
+     */
+    public boolean admits(long now) {
+        int current = state.get();
+        if (current == HEALTHY) {
+            return true;
+        }
+        if (current == EJECTED) {
+            if (ejectedByProbes || now - stateTime < 0) {
+                return false;
+            }
+            // the end of the ejection is the start of the slow start
+            state.compareAndSet(EJECTED, RECOVERING);
+        }
+
+        long elapsed = now - stateTime;
+        long slowStart = policy.slowStartNanos;
+        if (elapsed >= slowStart) {
+            if (state.compareAndSet(RECOVERING, HEALTHY)) {
+                ejections.set(0);
+            }
+            return true;
+        }
+        double share = Math.max(MIN_RECOVERY_SHARE, (double) elapsed / slowStart);
+        return ThreadLocalRandom.current().nextDouble() < share;
+    }
+
+    public void recordResponse(int statusCode, long responseTimeNanos, long now) {
+        HealthPolicy current = policy;
+        if (current.consecutiveFailures == 0) {
+            return;
+        }
+        if (statusCode >= 500
+                || (current.slowResponseThresholdNanos > 0 && responseTimeNanos > current.slowResponseThresholdNanos)) {
+            recordFailure(now);
+        } else if (consecutiveFailures.get() != 0) {
+            consecutiveFailures.set(0);
+        }
+    }
+
+    public void recordFailure(long now) {
+        HealthPolicy current = policy;
+        if (current.consecutiveFailures == 0) {
+            return;
+        }
+        if (consecutiveFailures.incrementAndGet() == current.consecutiveFailures) {
+            consecutiveFailures.set(0);
+            long ejectionTime = Math.min(current.baseEjectionTimeNanos * ejections.incrementAndGet(),
+                    current.maxEjectionTimeNanos);
+            eject(now + ejectionTime);
+        }
+    }
+
+    public void probeSucceeded(long now) {
+        consecutiveProbeFailures = 0;
+        if (ejectedByProbes && ++consecutiveProbeSuccesses >= policy.healthyThreshold) {
+            ejectedByProbes = false;
+            stateTime = now;
+            state.set(RECOVERING);
+        }
+    }
+
+    public void probeFailed(long now) {
+        consecutiveProbeSuccesses = 0;
+        if (!ejectedByProbes && ++consecutiveProbeFailures >= policy.unhealthyThreshold) {
+            ejectedByProbes = true;
+            eject(now);
+        }
+    }
+
+    private void eject(long until) {
+        stateTime = until;
+        state.set(EJECTED);
+    }
+}
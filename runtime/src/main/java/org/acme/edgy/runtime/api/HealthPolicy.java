@@ -0,0 +1,49 @@
+package org.acme.edgy.runtime.api;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * When the endpoints of an {@link Origin} are ejected from the load balancing, and how they are
+ * brought back.
+ */
+public final class HealthPolicy {
+
+    static final HealthPolicy NONE = new HealthPolicy(0, Duration.ZERO, Duration.ZERO, Duration.ZERO,
+            Duration.ZERO, 1, 1);
+
+    final int consecutiveFailures;
+    final long slowResponseThresholdNanos;
+    final long baseEjectionTimeNanos;
+    final long maxEjectionTimeNanos;
+    final long slowStartNanos;
+    final int unhealthyThreshold;
+    final int healthyThreshold;
+
+    /**
+     * @param consecutiveFailures the number of consecutive failed requests ejecting an endpoint,
+     *        {@code 0} to not track the requests
+     * @param slowResponseThreshold the time after which a response counts as a failed request,
+     *        {@link Duration#ZERO} to not track the response times
+     * @param baseEjectionTime the ejection time after failed requests, multiplied by the number of
+     *        ejections since the endpoint last fully recovered
+     * @param maxEjectionTime the maximum ejection time after failed requests
+     * @param slowStart how long an endpoint that is back takes to receive its full share of requests
+     * @param unhealthyThreshold the number of consecutive failed probes ejecting an endpoint
+     * @param healthyThreshold the number of consecutive successful probes bringing an endpoint back
+     */
+    public HealthPolicy(int consecutiveFailures, Duration slowResponseThreshold, Duration baseEjectionTime,
+            Duration maxEjectionTime, Duration slowStart, int unhealthyThreshold, int healthyThreshold) {
+        if (consecutiveFailures < 0 || unhealthyThreshold < 1 || healthyThreshold < 1) {
+            throw new IllegalArgumentException("Health thresholds must be positive");
+        }
+        this.consecutiveFailures = consecutiveFailures;
+        this.slowResponseThresholdNanos = Objects.requireNonNull(slowResponseThreshold, "slowResponseThreshold")
+                .toNanos();
+        this.baseEjectionTimeNanos = Objects.requireNonNull(baseEjectionTime, "baseEjectionTime").toNanos();
+        this.maxEjectionTimeNanos = Objects.requireNonNull(maxEjectionTime, "maxEjectionTime").toNanos();
+        this.slowStartNanos = Objects.requireNonNull(slowStart, "slowStart").toNanos();
+        this.unhealthyThreshold = unhealthyThreshold;
+        this.healthyThreshold = healthyThreshold;
+    }
+}
@@ -0,0 +1,33 @@
+package org.acme.edgy.runtime.api;
+
+import java.util.Set;
+
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * {@link RoutingPredicate} matching when a value extracted from the request, such as a header value,
+ * is one of a set of values. Consecutive routes with the same path that all have such a predicate
+ * with the same {@link #key()} are dispatched with a hash lookup on the extracted value, instead of
+ * being tried one after the other.
+ */
+public interface KeyedRoutingPredicate extends RoutingPredicate {
+
+    /**
+     * @return what the value is extracted from, predicates with the same key extract the same value
+     *         from a request
+     */
+    String key();
+
+    Set<String> values();
+
+    /**
+     * @return the value of the request, {@code null} if it has none
+     */
+    String extract(RoutingContext rc);
+
+    @Override
+    default boolean test(RoutingContext rc) {
+        String value = extract(rc);
+        return value != null && values().contains(value);
+    }
+}
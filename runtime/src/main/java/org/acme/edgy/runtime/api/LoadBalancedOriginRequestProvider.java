@@ -0,0 +1,122 @@
+package org.acme.edgy.runtime.api;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.vertx.core.Future;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.RequestOptions;
+import io.vertx.httpproxy.OriginRequestProvider;
+import io.vertx.httpproxy.ProxyContext;
+
+/**
+ * Picks one of the endpoints of an {@link Origin} for each request, and counts the requests in
+ * flight to each endpoint until their response has been fully received.
+ * <p>
+ * The endpoints whose {@link EndpointHealth} does not admit requests are skipped. When none of them
+ * does, the endpoints are selected regardless of their health, rather than failing every request.
+ */
+final class LoadBalancedOriginRequestProvider implements OriginRequestProvider {
+
+    private final OriginEndpoint[] endpoints;
+    private final LoadBalancing loadBalancing;
+    private final boolean useTls;
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    LoadBalancedOriginRequestProvider(List<OriginEndpoint> endpoints, LoadBalancing loadBalancing, boolean useTls) {
+        this.endpoints = endpoints.toArray(new OriginEndpoint[0]);
+        this.loadBalancing = loadBalancing;
+        this.useTls = useTls;
+    }
+
+    @Override
+    public Future<HttpClientRequest> create(ProxyContext proxyContext) {
+        long start = System.nanoTime();
+        OriginEndpoint endpoint = select(start);
+        HttpClient httpClient = endpoint.httpClient() != null ? endpoint.httpClient() : proxyContext.client();
+        EndpointHealth health = endpoint.health();
+        endpoint.requestStarted();
+        Future<HttpClientRequest> request = httpClient.request(new RequestOptions()
+                .setHost(endpoint.host())
+                .setPort(endpoint.port())
+                .setSsl(useTls));
+        request.onComplete(sent -> {
+            if (sent.failed()) {
+                endpoint.requestEnded();
+                health.recordFailure(System.nanoTime());
+                return;
+            }
+            sent.result().response().onComplete(response -> {
+                long now = System.nanoTime();
+                if (response.failed()) {
+                    endpoint.requestEnded();
+                    health.recordFailure(now);
+                    return;
+                }
+                health.recordResponse(response.result().statusCode(), now - start, now);
+                response.result().end().onComplete(end -> endpoint.requestEnded());
+            });
+        });
+        return request;
+    }
+
+    OriginEndpoint select(long now) {
+        return switch (loadBalancing) {
+            case ROUND_ROBIN -> roundRobin(now);
+            case LEAST_OUTSTANDING_REQUESTS -> leastOutstandingRequests(now);
+            case POWER_OF_TWO_CHOICES -> powerOfTwoChoices(now);
+        };
+    }
+
+    private OriginEndpoint roundRobin(long now) {
+        int start = Math.floorMod(cursor.getAndIncrement(), endpoints.length);
+        for (int i = 0; i < endpoints.length; i++) {
+            OriginEndpoint candidate = endpoints[(start + i) % endpoints.length];
+            if (candidate.health().admits(now)) {
+                return candidate;
+            }
+        }
+        return endpoints[start];
+    }
+
+    private OriginEndpoint leastOutstandingRequests(long now) {
+        // rotating the starting point spreads the ties instead of always picking the first endpoint
+        int start = Math.floorMod(cursor.getAndIncrement(), endpoints.length);
+        OriginEndpoint selected = null;
+        int selectedInFlight = Integer.MAX_VALUE;
+        for (int i = 0; i < endpoints.length && selectedInFlight > 0; i++) {
+            OriginEndpoint candidate = endpoints[(start + i) % endpoints.length];
+            int candidateInFlight = candidate.inFlightRequests();
+            if (candidateInFlight < selectedInFlight && candidate.health().admits(now)) {
+                selected = candidate;
+                selectedInFlight = candidateInFlight;
+            }
+        }
+        return selected != null ? selected : endpoints[start];
+    }
+
+    private OriginEndpoint powerOfTwoChoices(long now) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(endpoints.length);
+        int second = random.nextInt(endpoints.length - 1);
+        if (second >= first) {
+            second++;
+        }
+        boolean firstAdmitted = endpoints[first].health().admits(now);
+        boolean secondAdmitted = endpoints[second].health().admits(now);
+        if (firstAdmitted && secondAdmitted) {
+            return endpoints[second].inFlightRequests() < endpoints[first].inFlightRequests()
+                    ? endpoints[second]
+                    : endpoints[first];
+        }
+        if (firstAdmitted) {
+            return endpoints[first];
+        }
+        if (secondAdmitted) {
+            return endpoints[second];
+        }
+        return roundRobin(now);
+    }
+}
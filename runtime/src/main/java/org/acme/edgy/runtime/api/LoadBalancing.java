@@ -0,0 +1,10 @@
+package org.acme.edgy.runtime.api;
+
+/**
+ * How an {@link Origin} with several endpoints picks the endpoint of each request.
+ */
+public enum LoadBalancing {
+    ROUND_ROBIN,
+    LEAST_OUTSTANDING_REQUESTS,
+    POWER_OF_TWO_CHOICES
+}
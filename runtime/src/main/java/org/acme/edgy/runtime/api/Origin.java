@@ -1,9 +1,11 @@
 package org.acme.edgy.runtime.api;
 
-import static org.acme.edgy.runtime.api.utils.StorkUtils.storkFuture;
-
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
+import org.acme.edgy.runtime.api.utils.StorkOriginRequestProvider;
+
 import io.vertx.core.http.HttpClient;
 import io.vertx.core.http.RequestOptions;
 import io.vertx.httpproxy.OriginRequestProvider;
@@ -17,6 +19,7 @@ public final class Origin {
 
     private static final String URI_SCHEME_SEPARATOR = "://";
     private static final char PORT_SEPARATOR = ':';
+    private static final char ENDPOINT_SEPARATOR = ',';
 
     private static final int MIN_PORT_NUMBER = 0;
     private static final int MAX_PORT_NUMBER = 65535;
@@ -24,41 +27,46 @@ public final class Origin {
     private final String identifier;
 
     private final Protocol protocol;
-    private final String host;
-    private final int port;
+    private final List<OriginEndpoint> endpoints;
+    private final LoadBalancing loadBalancing;
     private final String path;
 
     private HttpClient httpClient;
+    private OriginRequestProvider originRequestProvider;
 
-    private Origin(String identifier, Protocol protocol, String host, int port, String path) {
+    private Origin(String identifier, Protocol protocol, List<OriginEndpoint> endpoints,
+            LoadBalancing loadBalancing, String path) {
         this.identifier = identifier;
         this.protocol = protocol;
-        this.host = host;
-        this.port = port;
+        this.endpoints = endpoints;
+        this.loadBalancing = loadBalancing;
         this.path = path;
     }
 
     public static Origin of(String identifier, String uri) {
+        return of(identifier, uri, LoadBalancing.ROUND_ROBIN);
+    }
+
+    /**
+     * The URI may list several comma-separated endpoints ({@code http://host-1:8080,host-2:8080/path}),
+     * one of them being picked for each request with the given load balancing.
+     */
+    public static Origin of(String identifier, String uri, LoadBalancing loadBalancing) {
+        Objects.requireNonNull(loadBalancing, "loadBalancing");
         Protocol protocol = canonizeProtocol(uri);
-        String host = canonizeHost(uri);
-        int port = canonizePort(uri);
+        List<OriginEndpoint> endpoints = canonizeEndpoints(uri);
         String path = canonizePath(uri);
 
+        if ((protocol == Protocol.stork || protocol == Protocol.storks) && endpoints.size() > 1) {
+            throw new IllegalArgumentException("Stork origin cannot specify several hosts");
+        }
         // stork should not have a port specified
-        if (protocol == Protocol.stork && port != DEFAULT_PORT) {
-            String remaining = uri;
-            int protocolEnd = remaining.indexOf(URI_SCHEME_SEPARATOR);
-            if (protocolEnd != -1) {
-                remaining = remaining.substring(protocolEnd + URI_SCHEME_SEPARATOR.length());
-            }
-            int pathStart = remaining.indexOf('/');
-            String hostPortPart = pathStart != -1 ? remaining.substring(0, pathStart) : remaining;
-            if (hostPortPart.contains(String.valueOf(PORT_SEPARATOR))) {
-                throw new IllegalArgumentException("Stork origin cannot specify a port");
-            }
+        if (protocol == Protocol.stork && endpoints.get(0).port() != DEFAULT_PORT
+                && hostPortPart(uri).indexOf(PORT_SEPARATOR) != -1) {
+            throw new IllegalArgumentException("Stork origin cannot specify a port");
         }
 
-        return new Origin(identifier, protocol, host, port, path);
+        return new Origin(identifier, protocol, List.copyOf(endpoints), loadBalancing, path);
     }
 
     public HttpClient httpClient() {
@@ -82,28 +90,74 @@ public final class Origin {
         return protocol;
     }
 
+    /**
+     * @return the host of the first endpoint
+     */
     public String host() {
-        return host;
+        return endpoints.get(0).host();
     }
 
+    /**
+     * @return the port of the first endpoint
+     */
     public int port() {
-        return port;
+        return endpoints.get(0).port();
+    }
+
+    public List<OriginEndpoint> endpoints() {
+        return endpoints;
+    }
+
+    public LoadBalancing loadBalancing() {
+        return loadBalancing;
+    }
+
+    public void setHealthPolicy(HealthPolicy healthPolicy) {
+        Objects.requireNonNull(healthPolicy, "healthPolicy");
+        for (OriginEndpoint endpoint : endpoints) {
+            endpoint.health().setPolicy(healthPolicy);
+        }
     }
 
     public String path() {
         return path;
     }
 
+    /**
+     * The provider is shared by the routes using this origin, so that they share the load balancing
+     * state.
+     */
     public OriginRequestProvider originRequestProvider() {
-        return proxyContext -> switch (protocol) {
-            case stork, storks -> storkFuture(host, proxyContext, protocol == Protocol.storks);
-            case http, https -> proxyContext.client().request(new RequestOptions().setHost(host)
-                    .setPort(port).setSsl(protocol == Protocol.https));
+        OriginRequestProvider provider = originRequestProvider;
+        if (provider == null) {
+            provider = createOriginRequestProvider();
+            originRequestProvider = provider;
+        }
+        return provider;
+    }
+
+    private OriginRequestProvider createOriginRequestProvider() {
+        String host = host();
+        int port = port();
+        return switch (protocol) {
+            case stork, storks -> new StorkOriginRequestProvider(host, protocol == Protocol.storks);
+            case http, https -> endpoints.size() > 1
+                    ? new LoadBalancedOriginRequestProvider(endpoints, loadBalancing, protocol == Protocol.https)
+                    : proxyContext -> proxyContext.client().request(new RequestOptions().setHost(host)
+                            .setPort(port).setSsl(protocol == Protocol.https));
         };
     }
 
     public String uri() {
-        return protocol.name() + URI_SCHEME_SEPARATOR + host + PORT_SEPARATOR + port + path;
+        StringBuilder uri = new StringBuilder(protocol.name()).append(URI_SCHEME_SEPARATOR);
+        for (int i = 0; i < endpoints.size(); i++) {
+            if (i > 0) {
+                uri.append(ENDPOINT_SEPARATOR);
+            }
+            OriginEndpoint endpoint = endpoints.get(i);
+            uri.append(endpoint.host()).append(PORT_SEPARATOR).append(endpoint.port());
+        }
+        return uri.append(path).toString();
     }
 
     public boolean supportsTls() {
@@ -131,8 +185,8 @@ public final class Origin {
         return "Origin{" +
                 "identifier='" + identifier + '\'' +
                 "protocol=" + protocol +
-                ", host='" + host + '\'' +
-                ", port=" + port +
+                ", endpoints=" + endpoints +
+                ", loadBalancing=" + loadBalancing +
                 ", path='" + path + '\'' +
                 '}';
     }
@@ -153,11 +207,26 @@ public final class Origin {
         }
     }
 
-    private static String canonizeHost(String uri) {
+    private static List<OriginEndpoint> canonizeEndpoints(String uri) {
         if (uri == null || uri.isBlank()) {
-            return DEFAULT_HOST;
+            return List.of(new OriginEndpoint(DEFAULT_HOST, DEFAULT_PORT));
         }
 
+        String hostPortPart = hostPortPart(uri);
+        List<OriginEndpoint> endpoints = new ArrayList<>(1);
+        int start = 0;
+        while (true) {
+            int end = hostPortPart.indexOf(ENDPOINT_SEPARATOR, start);
+            String endpoint = end != -1 ? hostPortPart.substring(start, end) : hostPortPart.substring(start);
+            endpoints.add(new OriginEndpoint(canonizeHost(endpoint), canonizePort(endpoint)));
+            if (end == -1) {
+                return endpoints;
+            }
+            start = end + 1;
+        }
+    }
+
+    private static String hostPortPart(String uri) {
         String remaining = uri;
         int protocolEnd = remaining.indexOf(URI_SCHEME_SEPARATOR);
         if (protocolEnd != -1) {
@@ -165,28 +234,17 @@ public final class Origin {
         }
 
         int pathStart = remaining.indexOf('/');
-        String hostPortPart = pathStart != -1 ? remaining.substring(0, pathStart) : remaining;
+        return pathStart != -1 ? remaining.substring(0, pathStart) : remaining;
+    }
 
+    private static String canonizeHost(String hostPortPart) {
         int portSeparator = hostPortPart.indexOf(PORT_SEPARATOR);
         String host = portSeparator != -1 ? hostPortPart.substring(0, portSeparator) : hostPortPart;
 
         return host.isBlank() ? DEFAULT_HOST : host.trim().toLowerCase();
     }
 
-    private static int canonizePort(String uri) {
-        if (uri == null || uri.isBlank()) {
-            return DEFAULT_PORT;
-        }
-
-        String remaining = uri;
-        int protocolEnd = remaining.indexOf(URI_SCHEME_SEPARATOR);
-        if (protocolEnd != -1) {
-            remaining = remaining.substring(protocolEnd + URI_SCHEME_SEPARATOR.length());
-        }
-
-        int pathStart = remaining.indexOf('/');
-        String hostPortPart = pathStart != -1 ? remaining.substring(0, pathStart) : remaining;
-
+    private static int canonizePort(String hostPortPart) {
         int portSeparator = hostPortPart.indexOf(PORT_SEPARATOR);
         if (portSeparator == -1) {
             return DEFAULT_PORT;
@@ -0,0 +1,67 @@
+package org.acme.edgy.runtime.api;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.vertx.core.http.HttpClient;
+
+/**
+ * One of the {@code host:port} pairs of an {@link Origin}, with its own {@link HttpClient} when the
+ * origin has several endpoints.
+ */
+public final class OriginEndpoint {
+
+    private final String host;
+    private final int port;
+    private final AtomicInteger inFlightRequests = new AtomicInteger();
+    private final EndpointHealth health = new EndpointHealth();
+
+    private HttpClient httpClient;
+
+    OriginEndpoint(String host, int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    public String host() {
+        return host;
+    }
+
+    public int port() {
+        return port;
+    }
+
+    public HttpClient httpClient() {
+        return httpClient;
+    }
+
+    public void setHttpClient(HttpClient httpClient) {
+        Objects.requireNonNull(httpClient, "httpClient");
+        HttpClient existing = this.httpClient;
+        if (existing != null && existing != httpClient) {
+            throw new IllegalStateException("Origin endpoint already has an HttpClient assigned");
+        }
+        this.httpClient = httpClient;
+    }
+
+    public EndpointHealth health() {
+        return health;
+    }
+
+    public int inFlightRequests() {
+        return inFlightRequests.get();
+    }
+
+    void requestStarted() {
+        inFlightRequests.incrementAndGet();
+    }
+
+    void requestEnded() {
+        inFlightRequests.decrementAndGet();
+    }
+
+    @Override
+    public String toString() {
+        return host + ':' + port;
+    }
+}
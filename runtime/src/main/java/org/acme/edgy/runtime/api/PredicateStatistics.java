@@ -0,0 +1,77 @@
+package org.acme.edgy.runtime.api;
+
+/**
+ * Snapshot of how a {@link RoutingPredicate} of a route behaved so far.
+ */
+public final class PredicateStatistics {
+
+    private final Route route;
+    private final int position;
+    private final int evaluationPosition;
+    private final long evaluations;
+    private final long rejections;
+    private final long totalNanos;
+
+    public PredicateStatistics(Route route, int position, int evaluationPosition, long evaluations, long rejections,
+            long totalNanos) {
+        this.route = route;
+        this.position = position;
+        this.evaluationPosition = evaluationPosition;
+        this.evaluations = evaluations;
+        this.rejections = rejections;
+        this.totalNanos = totalNanos;
+    }
+
+    public Route route() {
+        return route;
+    }
+
+    /**
+     * @return the position of the predicate in {@link Route#predicates()}
+     */
+    public int position() {
+        return position;
+    }
+
+    /**
+     * @return the position at which the predicate is currently evaluated, which differs from
+     *         {@link #position()} once the predicates have been reordered
+     */
+    public int evaluationPosition() {
+        return evaluationPosition;
+    }
+
+    public long evaluations() {
+        return evaluations;
+    }
+
+    public long rejections() {
+        return rejections;
+    }
+
+    /**
+     * @return the share of the evaluations that did not match, {@code 0} when never evaluated
+     */
+    public double rejectionRate() {
+        return evaluations == 0 ? 0 : (double) rejections / evaluations;
+    }
+
+    /**
+     * @return the average evaluation time, {@code 0} when never evaluated
+     */
+    public double averageNanos() {
+        return evaluations == 0 ? 0 : (double) totalNanos / evaluations;
+    }
+
+    @Override
+    public String toString() {
+        return "PredicateStatistics{" +
+                "route='" + route.path() + '\'' +
+                ", position=" + position +
+                ", evaluationPosition=" + evaluationPosition +
+                ", evaluations=" + evaluations +
+                ", rejections=" + rejections +
+                ", totalNanos=" + totalNanos +
+                '}';
+    }
+}
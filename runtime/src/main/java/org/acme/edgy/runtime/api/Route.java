@@ -9,6 +9,7 @@ public class Route {
     private final Origin origin;
     private final PathMode pathMode;
     private final List<RoutingPredicate> predicates = new ArrayList<>();
+    private final List<AsyncRoutingPredicate> asyncPredicates = new ArrayList<>();
     private final List<RequestTransformer> requestTransformers = new ArrayList<>();
     private final List<ResponseTransformer> responseTransformers = new ArrayList<>();
 
@@ -39,6 +40,15 @@ public class Route {
         return this;
     }
 
+    public List<AsyncRoutingPredicate> asyncPredicates() {
+        return asyncPredicates;
+    }
+
+    public Route addAsyncPredicate(AsyncRoutingPredicate predicate) {
+        asyncPredicates.add(predicate);
+        return this;
+    }
+
     public List<RequestTransformer> requestTransformers() {
         return requestTransformers;
     }
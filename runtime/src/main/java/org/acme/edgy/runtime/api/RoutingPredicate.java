@@ -4,8 +4,11 @@ import java.util.function.Predicate;
 
 import io.vertx.ext.web.RoutingContext;
 
+/**
+ * Predicate deciding whether a request goes to a route, tested on the event loop. Use an
+ * {@link AsyncRoutingPredicate} for predicates needing I/O.
+ */
 @FunctionalInterface
 public interface RoutingPredicate extends Predicate<RoutingContext> {
 
-    // TODO: should we have async predicates?
 }
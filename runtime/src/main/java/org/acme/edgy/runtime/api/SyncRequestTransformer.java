@@ -0,0 +1,22 @@
+package org.acme.edgy.runtime.api;
+
+import io.vertx.core.Future;
+import io.vertx.httpproxy.ProxyContext;
+import io.vertx.httpproxy.ProxyResponse;
+
+/**
+ * {@link RequestTransformer} that edits the proxy request in place, without blocking and without
+ * touching the body. The transformer chain runs consecutive synchronous transformers in a plain
+ * loop, instead of composing one {@link Future} per transformer.
+ */
+@FunctionalInterface
+public interface SyncRequestTransformer extends RequestTransformer {
+
+    void transform(ProxyContext proxyContext);
+
+    @Override
+    default Future<ProxyResponse> apply(ProxyContext proxyContext) {
+        transform(proxyContext);
+        return proxyContext.sendRequest();
+    }
+}
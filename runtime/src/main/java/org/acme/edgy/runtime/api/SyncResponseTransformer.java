@@ -0,0 +1,21 @@
+package org.acme.edgy.runtime.api;
+
+import io.vertx.core.Future;
+import io.vertx.httpproxy.ProxyContext;
+
+/**
+ * {@link ResponseTransformer} that edits the proxy response in place, without blocking and without
+ * touching the body. The transformer chain runs consecutive synchronous transformers in a plain
+ * loop, instead of composing one {@link Future} per transformer.
+ */
+@FunctionalInterface
+public interface SyncResponseTransformer extends ResponseTransformer {
+
+    void transform(ProxyContext proxyContext);
+
+    @Override
+    default Future<Void> apply(ProxyContext proxyContext) {
+        transform(proxyContext);
+        return proxyContext.sendResponse();
+    }
+}
@@ -0,0 +1,78 @@
+package org.acme.edgy.runtime.api.utils;
+
+/**
+ * RFC 3986 percent-encoding of query components, in UTF-8 and with uppercase hexadecimal digits.
+ * The characters left as is are the same as {@link java.net.URLEncoder} ({@code ALPHA / DIGIT /
+ * "-" / "." / "_" / "*"}), so encoded names keep matching the ones sent by clients, but a space is
+ * encoded as {@code %20} instead of {@code +}. An input that needs no encoding is returned as is.
+ */
+public final class PercentEncoder {
+
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+    private static final boolean[] SAFE = new boolean[128];
+    // same as java.net.URLEncoder for malformed input
+    private static final byte UNMAPPABLE_REPLACEMENT = '?';
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            SAFE[c] = true;
+            SAFE[Character.toUpperCase(c)] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            SAFE[c] = true;
+        }
+        SAFE['-'] = true;
+        SAFE['.'] = true;
+        SAFE['_'] = true;
+        SAFE['*'] = true;
+    }
+
+    private PercentEncoder() {
+    }
+
+    public static String encode(String value) {
+        int length = value.length();
+        int start = 0;
+        while (start < length && isSafe(value.charAt(start))) {
+            start++;
+        }
+        if (start == length) {
+            return value;
+        }
+
+        StringBuilder encoded = new StringBuilder(length + 16).append(value, 0, start);
+        for (int i = start; i < length; i++) {
+            char c = value.charAt(i);
+            if (isSafe(c)) {
+                encoded.append(c);
+            } else if (c < 0x80) {
+                appendEncodedByte(encoded, c);
+            } else if (c < 0x800) {
+                appendEncodedByte(encoded, 0xC0 | (c >> 6));
+                appendEncodedByte(encoded, 0x80 | (c & 0x3F));
+            } else if (!Character.isSurrogate(c)) {
+                appendEncodedByte(encoded, 0xE0 | (c >> 12));
+                appendEncodedByte(encoded, 0x80 | ((c >> 6) & 0x3F));
+                appendEncodedByte(encoded, 0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                appendEncodedByte(encoded, 0xF0 | (codePoint >> 18));
+                appendEncodedByte(encoded, 0x80 | ((codePoint >> 12) & 0x3F));
+                appendEncodedByte(encoded, 0x80 | ((codePoint >> 6) & 0x3F));
+                appendEncodedByte(encoded, 0x80 | (codePoint & 0x3F));
+            } else {
+                appendEncodedByte(encoded, UNMAPPABLE_REPLACEMENT);
+            }
+        }
+        return encoded.toString();
+    }
+
+    private static boolean isSafe(char c) {
+        return c < 0x80 && SAFE[c];
+    }
+
+    private static void appendEncodedByte(StringBuilder encoded, int b) {
+        encoded.append('%').append(HEX_DIGITS[(b >> 4) & 0x0F]).append(HEX_DIGITS[b & 0x0F]);
+    }
+}
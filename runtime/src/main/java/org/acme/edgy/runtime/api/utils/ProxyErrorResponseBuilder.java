@@ -2,6 +2,7 @@ package org.acme.edgy.runtime.api.utils;
 
 import static jakarta.ws.rs.core.HttpHeaders.CONTENT_TYPE;
 import static jakarta.ws.rs.core.MediaType.TEXT_PLAIN;
+import static org.jboss.resteasy.reactive.RestResponse.StatusCode.BAD_GATEWAY;
 import static org.jboss.resteasy.reactive.RestResponse.StatusCode.BAD_REQUEST;
 import static org.jboss.resteasy.reactive.RestResponse.StatusCode.INTERNAL_SERVER_ERROR;
 import static org.jboss.resteasy.reactive.RestResponse.StatusCode.PAYLOAD_TOO_LARGE;
@@ -72,6 +73,10 @@ public class ProxyErrorResponseBuilder {
         return status(SERVICE_UNAVAILABLE);
     }
 
+    public ProxyErrorResponseBuilder badGateway() {
+        return status(BAD_GATEWAY);
+    }
+
     // --------------- build methods ---------------
 
     public Future<ProxyResponse> sendResponseInRequestTransformer() {
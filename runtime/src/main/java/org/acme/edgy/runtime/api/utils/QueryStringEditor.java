@@ -0,0 +1,180 @@
+package org.acme.edgy.runtime.api.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import io.vertx.httpproxy.ProxyContext;
+import io.vertx.httpproxy.ProxyRequest;
+
+/**
+ * Raw query string of a request URI, edited as a list of encoded name/value pairs. The editor of a
+ * request is kept on the {@link ProxyContext}, so the URI is parsed once for all the query
+ * transformers of a route, and is written back by {@link #flush(ProxyContext)} after each run of
+ * consecutive query transformers, so the other request transformers, and the origin, see the edited
+ * URI.
+ * <p>
+ * Names and values are neither decoded nor encoded by the editor. If the request URI is replaced,
+ * the editor parses the new URI on its next use.
+ */
+public final class QueryStringEditor {
+
+    private static final String CONTEXT_KEY = QueryStringEditor.class.getName();
+
+    private static final char QUERY_START = '?';
+    private static final char FRAGMENT_START = '#';
+    private static final char PAIR_SEPARATOR = '&';
+    private static final char VALUE_SEPARATOR = '=';
+
+    private final String path;
+    private final String fragment;
+    private final List<String> names = new ArrayList<>();
+    // null for a pair without '='
+    private final List<String> values = new ArrayList<>();
+
+    private String uri;
+    private boolean modified;
+
+    private QueryStringEditor(String uri, String path, String fragment) {
+        this.uri = uri;
+        this.path = path;
+        this.fragment = fragment;
+    }
+
+    public static QueryStringEditor parse(String uri) {
+        Objects.requireNonNull(uri);
+        int fragmentStart = uri.indexOf(FRAGMENT_START);
+        int end = fragmentStart == -1 ? uri.length() : fragmentStart;
+        int queryStart = uri.indexOf(QUERY_START);
+        if (queryStart > end) {
+            queryStart = -1;
+        }
+        QueryStringEditor editor = new QueryStringEditor(uri, uri.substring(0, queryStart == -1 ? end : queryStart),
+                fragmentStart == -1 ? null : uri.substring(fragmentStart));
+        if (queryStart != -1) {
+            editor.parsePairs(uri, queryStart + 1, end, false);
+        }
+        return editor;
+    }
+
+    /**
+     * @return the editor of the request URI, created on first use
+     */
+    public static QueryStringEditor of(ProxyContext proxyContext) {
+        String requestUri = proxyContext.request().getURI();
+        QueryStringEditor editor = proxyContext.get(CONTEXT_KEY, QueryStringEditor.class);
+        if (editor == null || !editor.uri.equals(requestUri)) {
+            editor = parse(requestUri);
+            proxyContext.set(CONTEXT_KEY, editor);
+        }
+        return editor;
+    }
+
+    /**
+     * Writes the pending edits of the request editor, if any, to the request URI.
+     */
+    public static void flush(ProxyContext proxyContext) {
+        QueryStringEditor editor = proxyContext.get(CONTEXT_KEY, QueryStringEditor.class);
+        if (editor == null || !editor.modified) {
+            return;
+        }
+        ProxyRequest request = proxyContext.request();
+        if (editor.uri.equals(request.getURI())) {
+            editor.uri = editor.toUri();
+            request.setURI(editor.uri);
+        }
+        editor.modified = false;
+    }
+
+    public boolean contains(String encodedName) {
+        return names.contains(encodedName);
+    }
+
+    /**
+     * @return the encoded names, in order of first appearance
+     */
+    public Set<String> names() {
+        return new LinkedHashSet<>(names);
+    }
+
+    public QueryStringEditor add(String encodedName, String encodedValue) {
+        names.add(Objects.requireNonNull(encodedName));
+        values.add(Objects.requireNonNull(encodedValue));
+        modified = true;
+        return this;
+    }
+
+    /**
+     * Appends the pairs of an encoded query string, a pair without a value being appended with an
+     * empty value.
+     */
+    public QueryStringEditor addAll(String encodedQuery) {
+        parsePairs(encodedQuery, 0, encodedQuery.length(), true);
+        modified = true;
+        return this;
+    }
+
+    public QueryStringEditor remove(String encodedName) {
+        for (int i = names.size() - 1; i >= 0; i--) {
+            if (names.get(i).equals(encodedName)) {
+                names.remove(i);
+                values.remove(i);
+                modified = true;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Removes all the values of the name, and appends the given ones.
+     */
+    public QueryStringEditor replace(String encodedName, Collection<String> encodedValues) {
+        remove(encodedName);
+        for (String encodedValue : encodedValues) {
+            add(encodedName, encodedValue);
+        }
+        return this;
+    }
+
+    public String toUri() {
+        if (names.isEmpty()) {
+            return fragment == null ? path : path + fragment;
+        }
+        StringBuilder result = new StringBuilder(path.length() + names.size() * 16).append(path);
+        for (int i = 0; i < names.size(); i++) {
+            result.append(i == 0 ? QUERY_START : PAIR_SEPARATOR).append(names.get(i));
+            String value = values.get(i);
+            if (value != null) {
+                result.append(VALUE_SEPARATOR).append(value);
+            }
+        }
+        if (fragment != null) {
+            result.append(fragment);
+        }
+        return result.toString();
+    }
+
+    private void parsePairs(String query, int start, int end, boolean emptyValueIfMissing) {
+        int pairStart = start;
+        while (pairStart < end) {
+            int pairEnd = query.indexOf(PAIR_SEPARATOR, pairStart);
+            if (pairEnd == -1 || pairEnd > end) {
+                pairEnd = end;
+            }
+            if (pairEnd > pairStart) {
+                int valueSeparator = query.indexOf(VALUE_SEPARATOR, pairStart);
+                if (valueSeparator == -1 || valueSeparator > pairEnd) {
+                    names.add(query.substring(pairStart, pairEnd));
+                    values.add(emptyValueIfMissing ? QueryParamUtils.EMPTY_QUERY_VALUE : null);
+                } else {
+                    names.add(query.substring(pairStart, valueSeparator));
+                    values.add(query.substring(valueSeparator + 1, pairEnd));
+                }
+            }
+            pairStart = pairEnd + 1;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.acme.edgy.runtime.api.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiled form of a {@link org.acme.edgy.runtime.api.PathMode#PARAMS} path template. The segment
+ * IDs and the capture-group pattern are resolved once, so extracting the segment values of a
+ * request path is a single {@link Matcher#matches()}.
+ */
+public final class SegmentPathMatcher {
+
+    // Matches: {<SEGMENT_ID>PATTERN} or {SEGMENT_ID}
+    static final Pattern SEGMENT_PATTERN = Pattern.compile("\\{(<[^>]*>)?([^}]+)\\}");
+
+    private static final String SLASH = "/";
+    private static final String WILDCARD_CAPTURE_GROUP = "(.*)";
+
+    private final String pathTemplate;
+    private final String[] segmentIds;
+    // the trailing slash presence of the template and the request path is normalized by picking
+    // the pattern matching the request path, instead of appending a slash to either of them
+    private final Pattern withoutTrailingSlash;
+    private final Pattern withTrailingSlash;
+
+    private SegmentPathMatcher(String pathTemplate, String[] segmentIds, Pattern withoutTrailingSlash,
+            Pattern withTrailingSlash) {
+        this.pathTemplate = pathTemplate;
+        this.segmentIds = segmentIds;
+        this.withoutTrailingSlash = withoutTrailingSlash;
+        this.withTrailingSlash = withTrailingSlash;
+    }
+
+    public static SegmentPathMatcher compile(String pathTemplate) {
+        if (Objects.requireNonNull(pathTemplate).isBlank()) {
+            throw new IllegalArgumentException("pathTemplate must not be blank");
+        }
+
+        List<String> segmentIds = new ArrayList<>();
+        StringBuilder templateWithGroups = new StringBuilder();
+        Matcher segmentMatcher = SEGMENT_PATTERN.matcher(pathTemplate);
+        while (segmentMatcher.find()) {
+            String segmentIdWithAngleBrackets = segmentMatcher.group(1); // <SEGMENT_ID> or null
+            String patternOrSegmentId = segmentMatcher.group(2);
+
+            // For simple segments like {userId}, group(1) is null and group(2) is "userId"
+            // For custom regex like {<userId>\d+}, group(1) is "<userId>" and group(2) is "\d+"
+            String segmentId = (segmentIdWithAngleBrackets != null)
+                    ? segmentIdWithAngleBrackets.substring(1, segmentIdWithAngleBrackets.length() - 1)
+                    : patternOrSegmentId; // in this case it is segmentId
+
+            if (segmentIds.contains(segmentId)) {
+                throw new IllegalArgumentException(
+                        "Duplicate segment ID found: '%s' in path '%s' ".formatted(segmentId, pathTemplate));
+            }
+            segmentIds.add(segmentId);
+
+            segmentMatcher.appendReplacement(templateWithGroups,
+                    (segmentIdWithAngleBrackets != null)
+                            ? Matcher.quoteReplacement("(" + patternOrSegmentId + ")")
+                            : WILDCARD_CAPTURE_GROUP);
+        }
+        segmentMatcher.appendTail(templateWithGroups);
+
+        String regex = templateWithGroups.toString();
+        if (regex.endsWith(SLASH)) {
+            regex = regex.substring(0, regex.length() - 1);
+        }
+        return new SegmentPathMatcher(pathTemplate, segmentIds.toArray(new String[0]),
+                Pattern.compile(regex), Pattern.compile(regex + SLASH));
+    }
+
+    public String pathTemplate() {
+        return pathTemplate;
+    }
+
+    /**
+     * @return segment values by segment ID, or an empty map if the path does not match the template
+     */
+    public Map<String, String> extractSegmentValues(String actualPath) {
+        if (Objects.requireNonNull(actualPath).isBlank()) {
+            throw new IllegalArgumentException("actualPath must not be blank");
+        }
+        if (segmentIds.length == 0) {
+            return Collections.emptyMap();
+        }
+
+        Pattern pattern = actualPath.endsWith(SLASH) ? withTrailingSlash : withoutTrailingSlash;
+        Matcher matcher = pattern.matcher(actualPath);
+        if (!matcher.matches()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> segmentValues = new HashMap<>(segmentIds.length * 2);
+        for (int i = 0; i < segmentIds.length; i++) {
+            segmentValues.put(segmentIds[i], matcher.group(i + 1));
+        }
+        return segmentValues;
+    }
+}
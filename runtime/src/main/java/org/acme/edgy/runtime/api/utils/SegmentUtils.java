@@ -1,9 +1,5 @@
 package org.acme.edgy.runtime.api.utils;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.regex.Matcher;
@@ -46,75 +42,12 @@ public interface SegmentUtils {
         if (Objects.requireNonNull(actualPath).isBlank()) {
             throw new IllegalArgumentException("actualPath must not be blank");
         }
-
-        boolean templateEndsWithSlash = pathTemplate.endsWith("/");
-        boolean actualEndsWithSlash = actualPath.endsWith("/");
-
-        // Normalize trailing slash presence
-        if (templateEndsWithSlash && !actualEndsWithSlash) {
-            actualPath += "/";
-        } else if (actualEndsWithSlash && !templateEndsWithSlash) {
-            pathTemplate += "/";
-        }
-
-        // Extract segment IDs from template in order
-        Matcher paramMatcher = segmentPattern().matcher(pathTemplate);
-        List<String> segmentIds = new ArrayList<>();
-        while (paramMatcher.find()) {
-            String segmentIdWithAngleBrackets = paramMatcher.group(1); // <SEGMENT_ID> or null
-            String patternOrSegmentId = paramMatcher.group(2);
-
-            // For simple segments like {userId}, group(1) is null and group(2) is "userId"
-            // For custom regex like {<userId>\d+}, group(1) is "<userId>" and group(2) is "\d+"
-            String segmentId =
-                    (segmentIdWithAngleBrackets != null)
-                            ? segmentIdWithAngleBrackets.substring(1,
-                                    segmentIdWithAngleBrackets.length() - 1)
-                            : patternOrSegmentId; // in this case it is segmentId
-
-
-            if (segmentIds.contains(segmentId)) {
-                throw new IllegalArgumentException(
-                        "Duplicate segment ID found: '%s' in path '%s' ".formatted(segmentId,
-                                pathTemplate));
-            }
-            segmentIds.add(segmentId);
-        }
-        if (segmentIds.isEmpty()) {
-            return Collections.emptyMap();
-        }
-
-        // Build regex pattern with capture groups
-        StringBuilder templateWithGroups = new StringBuilder();
-        Matcher segmentMatcher = segmentPattern().matcher(pathTemplate);
-        while (segmentMatcher.find()) {
-            String nameWithAngleBrackets = segmentMatcher.group(1); // <SEGMENT_ID> or null
-            String pattern = segmentMatcher.group(2);
-            segmentMatcher.appendReplacement(templateWithGroups,
-                    (nameWithAngleBrackets != null) ? Matcher.quoteReplacement("(" + pattern + ")")
-                            : wildcardCaptureGroup());
-        }
-        segmentMatcher.appendTail(templateWithGroups);
-
-        Pattern pattern = Pattern.compile(templateWithGroups.toString());
-        Matcher matcher = pattern.matcher(actualPath);
-        Map<String, String> segmentValues = new HashMap<>();
-        if (matcher.matches()) {
-            for (int i = 0; i < segmentIds.size(); i++) {
-                segmentValues.put(segmentIds.get(i), matcher.group(i + 1));
-            }
-        }
-        return segmentValues;
+        // prefer compiling the template once with SegmentPathMatcher#compile on hot paths
+        return SegmentPathMatcher.compile(pathTemplate).extractSegmentValues(actualPath);
     }
 
     private static Pattern segmentPattern() {
-        // Matches: {<SEGMENT_ID>PATTERN} or {SEGMENT_ID}
-        return Pattern.compile("\\{(<[^>]*>)?([^}]+)\\}");
-    }
-
-    private static String wildcardCaptureGroup() {
-        // Matches any characters (greedy)
-        return "(" + wildcard() + ")";
+        return SegmentPathMatcher.SEGMENT_PATTERN;
     }
 
     private static String wildcard() {
@@ -0,0 +1,90 @@
+package org.acme.edgy.runtime.api.utils;
+
+import io.smallrye.stork.Stork;
+import io.smallrye.stork.api.Service;
+import io.smallrye.stork.api.ServiceInstance;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.RequestOptions;
+import io.vertx.httpproxy.OriginRequestProvider;
+import io.vertx.httpproxy.ProxyContext;
+
+/**
+ * Resolves the origin of each request through a Stork service. The {@link Service} is looked up
+ * once, the selected instance is handed over to a Vert.x {@link Future} without going through a
+ * {@code CompletionStage}, and the calls are recorded on the instance so that load-aware strategies
+ * such as least-response-time have statistics to work with.
+ */
+public final class StorkOriginRequestProvider implements OriginRequestProvider {
+
+    private final String serviceName;
+    private final boolean useTls;
+    private volatile Service service;
+
+    public StorkOriginRequestProvider(String serviceName, boolean useTls) {
+        this.serviceName = serviceName;
+        this.useTls = useTls;
+    }
+
+    @Override
+    public Future<HttpClientRequest> create(ProxyContext proxyContext) {
+        Context context = Vertx.currentContext();
+        Promise<ServiceInstance> selected = Promise.promise();
+        service().selectInstanceAndRecordStart(true).subscribe().with(
+                instance -> onContext(context, () -> selected.complete(instance)),
+                failure -> onContext(context, () -> selected.fail(failure)));
+        return selected.future().compose(instance -> {
+            Future<HttpClientRequest> request = proxyContext.client().request(new RequestOptions()
+                    .setHost(instance.getHost())
+                    .setPort(instance.getPort())
+                    .setSsl(useTls));
+            if (instance.gatherStatistics()) {
+                recordCall(instance, request);
+            }
+            return request;
+        });
+    }
+
+    private Service service() {
+        Service current = service;
+        if (current == null) {
+            // a concurrent lookup returns the same service, no need to synchronize
+            current = getInstance().getService(serviceName);
+            service = current;
+        }
+        return current;
+    }
+
+    private static void recordCall(ServiceInstance instance, Future<HttpClientRequest> request) {
+        request.onFailure(instance::recordEnd)
+                .onSuccess(sent -> sent.response().onComplete(response -> {
+                    if (response.failed()) {
+                        instance.recordEnd(response.cause());
+                        return;
+                    }
+                    instance.recordReply();
+                    response.result().end().onComplete(end -> instance.recordEnd(end.cause()));
+                }));
+    }
+
+    // Stork may complete the selection on one of its own threads
+    private static void onContext(Context context, Runnable action) {
+        if (context == null || context == Vertx.currentContext()) {
+            action.run();
+        } else {
+            context.runOnContext(ignored -> action.run());
+        }
+    }
+
+    private static Stork getInstance() {
+        Stork stork = Stork.getInstance();
+        if (stork == null) {
+            throw new IllegalStateException(
+                    "Trying to use a stork but the quarkus-smallrye-stork extension is missing, please add the extension.");
+        }
+        return stork;
+    }
+}
@@ -0,0 +1,296 @@
+package org.acme.edgy.runtime.api.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+import io.vertx.uritemplate.UriTemplate;
+
+/**
+ * Pre-compiled form of an RFC 6570 URI template (as accepted by {@link UriTemplate}), made of
+ * literal chunks and variable slots. It is compiled once per route and expanded in a single
+ * {@link StringBuilder} pass per request, producing the same output as
+ * {@code UriTemplate.of(template).expandToString(variables)} for single-valued variables.
+ */
+public final class UriRewritePlan {
+
+    private static final char EXPRESSION_START = '{';
+    private static final char EXPRESSION_END = '}';
+    private static final char VARIABLE_SEPARATOR = ',';
+    private static final char PREFIX_MODIFIER = ':';
+    private static final char EXPLODE_MODIFIER = '*';
+    private static final int EXPANDED_VARIABLE_LENGTH_HINT = 16;
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    private final String template;
+    private final Part[] parts;
+    private final int lengthHint;
+
+    private UriRewritePlan(String template, Part[] parts, int lengthHint) {
+        this.template = template;
+        this.parts = parts;
+        this.lengthHint = lengthHint;
+    }
+
+    public static UriRewritePlan compile(String template) {
+        Objects.requireNonNull(template, "template");
+        // let the Vert.x parser reject malformed templates, so that they fail at configuration time
+        // with the same error as before
+        UriTemplate.of(template);
+
+        List<Part> parts = new ArrayList<>();
+        int lengthHint = 0;
+        int position = 0;
+        while (position < template.length()) {
+            int expressionStart = template.indexOf(EXPRESSION_START, position);
+            if (expressionStart == -1) {
+                break;
+            }
+            int expressionEnd = template.indexOf(EXPRESSION_END, expressionStart);
+            if (expressionEnd == -1) {
+                throw new IllegalArgumentException("Unterminated expression in URI template: " + template);
+            }
+            if (expressionStart > position) {
+                String literal = template.substring(position, expressionStart);
+                parts.add(new Literal(literal));
+                lengthHint += literal.length();
+            }
+            parts.add(Expression.parse(template.substring(expressionStart + 1, expressionEnd)));
+            lengthHint += EXPANDED_VARIABLE_LENGTH_HINT;
+            position = expressionEnd + 1;
+        }
+        if (position < template.length()) {
+            String literal = template.substring(position);
+            parts.add(new Literal(literal));
+            lengthHint += literal.length();
+        }
+        return new UriRewritePlan(template, parts.toArray(new Part[0]), lengthHint);
+    }
+
+    public String template() {
+        return template;
+    }
+
+    /**
+     * @return {@code true} if the template has no variable slots, i.e. it always expands to itself
+     */
+    public boolean isLiteral() {
+        for (Part part : parts) {
+            if (part instanceof Expression) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Expands the template.
+     *
+     * @param variables resolves a variable name to its value, or to {@code null} when the variable
+     *        is undefined
+     */
+    public String expand(Function<String, String> variables) {
+        StringBuilder result = new StringBuilder(lengthHint);
+        for (Part part : parts) {
+            part.appendTo(result, variables);
+        }
+        return result.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "UriRewritePlan{template='" + template + "'}";
+    }
+
+    private interface Part {
+
+        void appendTo(StringBuilder result, Function<String, String> variables);
+    }
+
+    private static final class Literal implements Part {
+
+        private final String value;
+
+        private Literal(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public void appendTo(StringBuilder result, Function<String, String> variables) {
+            result.append(value);
+        }
+    }
+
+    private static final class Expression implements Part {
+
+        private final Operator operator;
+        private final String[] names;
+        private final int[] maxLengths; // -1 when there is no prefix modifier
+
+        private Expression(Operator operator, String[] names, int[] maxLengths) {
+            this.operator = operator;
+            this.names = names;
+            this.maxLengths = maxLengths;
+        }
+
+        private static Expression parse(String expression) {
+            Operator operator = Operator.of(expression);
+            String variableList = operator == Operator.SIMPLE ? expression : expression.substring(1);
+            String[] variableSpecs = variableList.split(String.valueOf(VARIABLE_SEPARATOR), -1);
+            String[] names = new String[variableSpecs.length];
+            int[] maxLengths = new int[variableSpecs.length];
+            for (int i = 0; i < variableSpecs.length; i++) {
+                String variableSpec = variableSpecs[i];
+                int prefixModifier = variableSpec.indexOf(PREFIX_MODIFIER);
+                if (prefixModifier != -1) {
+                    names[i] = variableSpec.substring(0, prefixModifier);
+                    maxLengths[i] = Integer.parseInt(variableSpec.substring(prefixModifier + 1));
+                } else if (variableSpec.endsWith(String.valueOf(EXPLODE_MODIFIER))) {
+                    // exploding a single string value has the same effect as not exploding it
+                    names[i] = variableSpec.substring(0, variableSpec.length() - 1);
+                    maxLengths[i] = -1;
+                } else {
+                    names[i] = variableSpec;
+                    maxLengths[i] = -1;
+                }
+            }
+            return new Expression(operator, names, maxLengths);
+        }
+
+        @Override
+        public void appendTo(StringBuilder result, Function<String, String> variables) {
+            boolean first = true;
+            for (int i = 0; i < names.length; i++) {
+                String value = variables.apply(names[i]);
+                if (value == null) {
+                    continue;
+                }
+                result.append(first ? operator.first : operator.separator);
+                first = false;
+                if (operator.named) {
+                    result.append(names[i]);
+                    if (value.isEmpty()) {
+                        result.append(operator.ifEmpty);
+                        continue;
+                    }
+                    result.append('=');
+                }
+                appendEncoded(result, truncate(value, maxLengths[i]), operator.allowReserved);
+            }
+        }
+
+        private static String truncate(String value, int maxLength) {
+            if (maxLength < 0 || maxLength >= value.length()) {
+                return value;
+            }
+            if (maxLength >= value.codePointCount(0, value.length())) {
+                return value;
+            }
+            return value.substring(0, value.offsetByCodePoints(0, maxLength));
+        }
+    }
+
+    private enum Operator {
+        SIMPLE("", ",", false, "", false),
+        RESERVED("", ",", false, "", true),
+        FRAGMENT("#", ",", false, "", true),
+        LABEL(".", ".", false, "", false),
+        PATH_SEGMENT("/", "/", false, "", false),
+        PATH_PARAMETER(";", ";", true, "", false),
+        QUERY("?", "&", true, "=", false),
+        QUERY_CONTINUATION("&", "&", true, "=", false);
+
+        private final String first;
+        private final String separator;
+        private final boolean named;
+        private final String ifEmpty;
+        private final boolean allowReserved;
+
+        Operator(String first, String separator, boolean named, String ifEmpty, boolean allowReserved) {
+            this.first = first;
+            this.separator = separator;
+            this.named = named;
+            this.ifEmpty = ifEmpty;
+            this.allowReserved = allowReserved;
+        }
+
+        private static Operator of(String expression) {
+            if (expression.isEmpty()) {
+                return SIMPLE;
+            }
+            return switch (expression.charAt(0)) {
+                case '+' -> RESERVED;
+                case '#' -> FRAGMENT;
+                case '.' -> LABEL;
+                case '/' -> PATH_SEGMENT;
+                case ';' -> PATH_PARAMETER;
+                case '?' -> QUERY;
+                case '&' -> QUERY_CONTINUATION;
+                default -> SIMPLE;
+            };
+        }
+    }
+
+    private static void appendEncoded(StringBuilder result, String value, boolean allowReserved) {
+        int length = value.length();
+        int i = 0;
+        while (i < length) {
+            char c = value.charAt(i);
+            if (isUnreserved(c) || (allowReserved && isReserved(c))) {
+                result.append(c);
+                i++;
+            } else if (allowReserved && c == '%' && i + 2 < length
+                    && isHexDigit(value.charAt(i + 1)) && isHexDigit(value.charAt(i + 2))) {
+                // already pct-encoded triplets are kept as they are
+                result.append(value, i, i + 3);
+                i += 3;
+            } else {
+                int codePoint = value.codePointAt(i);
+                appendPercentEncodedUtf8(result, codePoint);
+                i += Character.charCount(codePoint);
+            }
+        }
+    }
+
+    private static void appendPercentEncodedUtf8(StringBuilder result, int codePoint) {
+        if (codePoint < 0x80) {
+            appendPercentEncoded(result, codePoint);
+        } else if (codePoint < 0x800) {
+            appendPercentEncoded(result, 0xC0 | (codePoint >> 6));
+            appendPercentEncoded(result, 0x80 | (codePoint & 0x3F));
+        } else if (Character.isSurrogate((char) codePoint)) {
+            // unpaired surrogate, replaced the same way String#getBytes(UTF_8) does
+            appendPercentEncoded(result, '?');
+        } else if (codePoint < 0x10000) {
+            appendPercentEncoded(result, 0xE0 | (codePoint >> 12));
+            appendPercentEncoded(result, 0x80 | ((codePoint >> 6) & 0x3F));
+            appendPercentEncoded(result, 0x80 | (codePoint & 0x3F));
+        } else {
+            appendPercentEncoded(result, 0xF0 | (codePoint >> 18));
+            appendPercentEncoded(result, 0x80 | ((codePoint >> 12) & 0x3F));
+            appendPercentEncoded(result, 0x80 | ((codePoint >> 6) & 0x3F));
+            appendPercentEncoded(result, 0x80 | (codePoint & 0x3F));
+        }
+    }
+
+    private static void appendPercentEncoded(StringBuilder result, int octet) {
+        result.append('%').append(HEX_DIGITS[(octet >> 4) & 0xF]).append(HEX_DIGITS[octet & 0xF]);
+    }
+
+    private static boolean isUnreserved(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '-' || c == '.' || c == '_' || c == '~';
+    }
+
+    private static boolean isReserved(char c) {
+        return switch (c) {
+            case ':', '/', '?', '#', '[', ']', '@', '!', '$', '&', '\'', '(', ')', '*', '+', ',', ';', '=' -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean isHexDigit(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'A' && c <= 'F') || (c >= 'a' && c <= 'f');
+    }
+}
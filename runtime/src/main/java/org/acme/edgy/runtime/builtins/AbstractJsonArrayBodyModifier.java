@@ -7,8 +7,8 @@ import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonArray;
 import io.vertx.httpproxy.ProxyContext;
 
-public abstract class AbstractJsonArrayBodyModifier
-        extends AbstractJsonBodyModifier<JsonArray, JsonArray> {
+public abstract class AbstractJsonArrayBodyModifier<S extends AbstractJsonArrayBodyModifier<S>>
+        extends AbstractJsonBodyModifier<JsonArray, JsonArray, S> {
 
     protected AbstractJsonArrayBodyModifier(BiFunction<ProxyContext, JsonArray, JsonArray> mapper) {
         super(mapper);
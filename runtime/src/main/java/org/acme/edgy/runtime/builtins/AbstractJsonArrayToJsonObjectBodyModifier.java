@@ -8,8 +8,8 @@ import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.httpproxy.ProxyContext;
 
-public abstract class AbstractJsonArrayToJsonObjectBodyModifier
-        extends AbstractJsonBodyModifier<JsonArray, JsonObject> {
+public abstract class AbstractJsonArrayToJsonObjectBodyModifier<S extends AbstractJsonArrayToJsonObjectBodyModifier<S>>
+        extends AbstractJsonBodyModifier<JsonArray, JsonObject, S> {
 
     protected AbstractJsonArrayToJsonObjectBodyModifier(
             BiFunction<ProxyContext, JsonArray, JsonObject> mapper) {
@@ -1,26 +1,39 @@
 package org.acme.edgy.runtime.builtins;
 
+import static jakarta.ws.rs.core.HttpHeaders.CONTENT_ENCODING;
+import static jakarta.ws.rs.core.HttpHeaders.CONTENT_LENGTH;
+import static org.jboss.resteasy.reactive.RestResponse.StatusCode.BAD_GATEWAY;
+import static org.jboss.resteasy.reactive.RestResponse.StatusCode.BAD_REQUEST;
+import static org.jboss.resteasy.reactive.RestResponse.StatusCode.PAYLOAD_TOO_LARGE;
+
 import java.util.Objects;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
+import org.acme.edgy.runtime.api.utils.ProxyErrorResponseBuilder;
+import org.acme.edgy.runtime.builtins.BodyAggregator.BodyTooLargeException;
+
 import io.vertx.core.Future;
-import io.vertx.core.Promise;
+import io.vertx.core.MultiMap;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.DecodeException;
+import io.vertx.core.streams.ReadStream;
 import io.vertx.httpproxy.Body;
 import io.vertx.httpproxy.ProxyContext;
+import io.vertx.httpproxy.ProxyResponse;
 
 /**
  * Base abstraction for all JSON body modifiers that transform JSON content.
  * 
  * @param <I> Input JSON type
  * @param <O> Output JSON type
+ * @param <S> Type of the modifier, returned by its builder methods
  */
-public abstract class AbstractJsonBodyModifier<I, O> {
+public abstract class AbstractJsonBodyModifier<I, O, S extends AbstractJsonBodyModifier<I, O, S>> {
 
     protected final BiFunction<ProxyContext, I, O> mapper;
     private final O fullNewJson; // for optimization when replacing entire body
+    private long maxBodySizeInBytes = BodyAggregator.DEFAULT_MAX_SIZE_IN_BYTES;
 
     protected AbstractJsonBodyModifier(BiFunction<ProxyContext, I, O> mapper) {
         this.mapper = Objects.requireNonNull(mapper);
@@ -36,12 +49,58 @@ public abstract class AbstractJsonBodyModifier<I, O> {
         this.fullNewJson = body;
     }
 
+    /**
+     * @param maxBodySizeInBytes the maximum size of the body that is aggregated, a larger request body
+     *        is answered with 413 Payload Too Large, and a larger response body with 502 Bad Gateway
+     */
+    @SuppressWarnings("unchecked")
+    public S maxBodySize(long maxBodySizeInBytes) {
+        if (maxBodySizeInBytes < 0) {
+            throw new IllegalArgumentException("maxBodySizeInBytes must not be negative");
+        }
+        this.maxBodySizeInBytes = maxBodySizeInBytes;
+        return (S) this;
+    }
+
+    protected Future<ProxyResponse> applyToRequest(ProxyContext proxyContext) {
+        return apply(proxyContext, ProxyContext::sendRequest, PAYLOAD_TOO_LARGE,
+                ProxyErrorResponseBuilder::sendResponseInRequestTransformer);
+    }
+
+    protected Future<Void> applyToResponse(ProxyContext proxyContext) {
+        return apply(proxyContext, ProxyContext::sendResponse, BAD_GATEWAY,
+                ProxyErrorResponseBuilder::sendResponseInResponseTransformer);
+    }
+
+    // a body that is too large or is not valid JSON is answered with an error response
+    private <T> Future<T> apply(ProxyContext proxyContext, Function<ProxyContext, Future<T>> sender,
+            int bodyTooLargeStatusCode, Function<ProxyErrorResponseBuilder, Future<T>> errorSender) {
+        if (mapper == null) {
+            return applyStaticBody(proxyContext, sender);
+        }
+
+        return applyDynamicBody(proxyContext, sender).recover(throwable -> {
+            int statusCode;
+            if (throwable instanceof BodyTooLargeException) {
+                statusCode = bodyTooLargeStatusCode;
+            } else if (throwable instanceof DecodeException) {
+                statusCode = BAD_REQUEST;
+            } else {
+                return Future.failedFuture(throwable);
+            }
+            return errorSender.apply(ProxyErrorResponseBuilder.create(proxyContext)
+                    .status(statusCode)
+                    .message(throwable.getMessage()));
+        });
+    }
+
     protected <T> Future<T> applyStaticBody(ProxyContext proxyContext,
             Function<ProxyContext, Future<T>> sender) {
         Buffer buffer = Buffer.buffer();
         if (fullNewJson != null) { // allowing null for clearing the body
             buffer.appendBuffer(jsonToBuffer(fullNewJson));
         }
+        getHeaders(proxyContext).remove(CONTENT_ENCODING);
         setBody(proxyContext, Body.body(buffer));
         return sender.apply(proxyContext);
     }
@@ -55,32 +114,30 @@ public abstract class AbstractJsonBodyModifier<I, O> {
             return sender.apply(proxyContext);
         }
 
-        return readBodyBuffer(body).compose(bodyBuffer -> {
-            I oldJson = bufferToInputJson(bodyBuffer);
-            O newJson = mapper.apply(proxyContext, oldJson);
-
-            Buffer replacingBuffer = Buffer.buffer();
-            if (newJson != null) { // allowing null for clearing the body
-                replacingBuffer.appendBuffer(jsonToBuffer(newJson));
-            }
-
-            setBody(proxyContext, Body.body(replacingBuffer));
-
-            return sender.apply(proxyContext);
-        });
-    }
+        // a compressed body is decompressed while it is read, and replaced by an identity one
+        MultiMap headers = getHeaders(proxyContext);
+        ContentEncoding encoding = ContentEncoding.of(headers.get(CONTENT_ENCODING));
+        ReadStream<Buffer> stream = body.stream();
+        long expectedLength = body.length();
+        if (encoding != null) {
+            // stops inflating a body that expands past the limit, before it is aggregated
+            stream = encoding.decode(stream, maxBodySizeInBytes);
+            expectedLength = -1;
+            headers.remove(CONTENT_ENCODING);
+            headers.remove(CONTENT_LENGTH);
+        }
 
-    private Future<Buffer> readBodyBuffer(Body body) {
-        Promise<Buffer> promise = Promise.promise();
-        Buffer accumulator = Buffer.buffer();
+        // the aggregated body is released once decoded, the JSON does not reference it
+        return BodyAggregator.aggregate(stream, expectedLength, maxBodySizeInBytes, this::bufferToInputJson)
+                .compose(oldJson -> {
+                    O newJson = mapper.apply(proxyContext, oldJson);
 
-        body.stream().handler(chunk -> {
-            if (chunk != null) {
-                accumulator.appendBuffer(chunk);
-            }
-        }).endHandler(v -> promise.complete(accumulator)).exceptionHandler(promise::fail).resume();
+                    // allowing null for clearing the body
+                    Buffer replacingBuffer = newJson != null ? jsonToBuffer(newJson) : Buffer.buffer();
+                    setBody(proxyContext, Body.body(replacingBuffer));
 
-        return promise.future();
+                    return sender.apply(proxyContext);
+                });
     }
 
     protected abstract I bufferToInputJson(Buffer buffer) throws DecodeException;
@@ -90,4 +147,6 @@ public abstract class AbstractJsonBodyModifier<I, O> {
     protected abstract Body getBody(ProxyContext proxyContext);
 
     protected abstract void setBody(ProxyContext proxyContext, Body body);
+
+    protected abstract MultiMap getHeaders(ProxyContext proxyContext);
 }
@@ -7,8 +7,8 @@ import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
 import io.vertx.httpproxy.ProxyContext;
 
-public abstract class AbstractJsonObjectBodyModifier
-        extends AbstractJsonBodyModifier<JsonObject, JsonObject> {
+public abstract class AbstractJsonObjectBodyModifier<S extends AbstractJsonObjectBodyModifier<S>>
+        extends AbstractJsonBodyModifier<JsonObject, JsonObject, S> {
 
     protected AbstractJsonObjectBodyModifier(
             BiFunction<ProxyContext, JsonObject, JsonObject> mapper) {
@@ -8,8 +8,8 @@ import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.httpproxy.ProxyContext;
 
-public abstract class AbstractJsonObjectToJsonArrayBodyModifier
-        extends AbstractJsonBodyModifier<JsonObject, JsonArray> {
+public abstract class AbstractJsonObjectToJsonArrayBodyModifier<S extends AbstractJsonObjectToJsonArrayBodyModifier<S>>
+        extends AbstractJsonBodyModifier<JsonObject, JsonArray, S> {
 
     protected AbstractJsonObjectToJsonArrayBodyModifier(
             BiFunction<ProxyContext, JsonObject, JsonArray> mapper) {
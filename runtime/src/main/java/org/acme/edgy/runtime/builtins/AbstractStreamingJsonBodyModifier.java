@@ -0,0 +1,56 @@
+package org.acme.edgy.runtime.builtins;
+
+import static jakarta.ws.rs.core.HttpHeaders.CONTENT_ENCODING;
+import static jakarta.ws.rs.core.HttpHeaders.CONTENT_LENGTH;
+
+import java.util.Objects;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.httpproxy.Body;
+
+/**
+ * Base abstraction for the JSON body modifiers that edit the fields of a top-level JSON object
+ * while the body is streamed, without aggregating it nor materializing a
+ * {@link io.vertx.core.json.JsonObject}.
+ * <p>
+ * The edited body is sent chunked, and since the body is parsed as it is forwarded, an invalid
+ * JSON body fails the exchange once the transformer has returned. A {@code gzip} or
+ * {@code deflate} body is decompressed while it is streamed, and the edited body is sent
+ * without a content coding. The decompressed body is bounded, by
+ * {@link BodyAggregator#DEFAULT_MAX_SIZE_IN_BYTES} by default, so that a small compressed body
+ * cannot expand without limit.
+ */
+public abstract class AbstractStreamingJsonBodyModifier {
+
+    private final JsonFieldEdits edits;
+    private long maxDecodedBodySizeInBytes = BodyAggregator.DEFAULT_MAX_SIZE_IN_BYTES;
+
+    protected AbstractStreamingJsonBodyModifier(JsonFieldEdits edits) {
+        this.edits = Objects.requireNonNull(edits);
+    }
+
+    /**
+     * @param maxDecodedBodySizeInBytes the maximum size of a decompressed body, a larger body fails
+     *        the exchange with a {@link BodyAggregator.BodyTooLargeException}
+     */
+    protected void setMaxDecodedBodySize(long maxDecodedBodySizeInBytes) {
+        if (maxDecodedBodySizeInBytes < 0) {
+            throw new IllegalArgumentException("maxDecodedBodySizeInBytes must not be negative");
+        }
+        this.maxDecodedBodySizeInBytes = maxDecodedBodySizeInBytes;
+    }
+
+    protected Body editBody(Body body, MultiMap headers) {
+        ReadStream<Buffer> stream = body.stream();
+        ContentEncoding encoding = ContentEncoding.of(headers.get(CONTENT_ENCODING));
+        if (encoding != null) {
+            stream = encoding.decode(stream, maxDecodedBodySizeInBytes);
+            headers.remove(CONTENT_ENCODING);
+        }
+        // the length of the edited body is only known once it is fully sent
+        headers.remove(CONTENT_LENGTH);
+        return Body.body(new JsonEditingReadStream(stream, edits), -1);
+    }
+}
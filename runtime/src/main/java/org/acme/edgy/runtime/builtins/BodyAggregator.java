@@ -0,0 +1,99 @@
+package org.acme.edgy.runtime.builtins;
+
+import java.util.function.Function;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.httpproxy.Body;
+
+/**
+ * Aggregates bodies for the transformers that need them whole. The aggregate is presized from the
+ * declared length of the body when it is known, up to a small initial capacity so that a declared
+ * length does not reserve memory before the body arrives, and grows as it is read. It is bounded: a
+ * body declared or read larger than the maximum size fails with a {@link BodyTooLargeException},
+ * and the rest of it is discarded.
+ */
+public final class BodyAggregator {
+
+    public static final long DEFAULT_MAX_SIZE_IN_BYTES = 10L * 1024 * 1024;
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 1024;
+    private static final int MAX_INITIAL_CAPACITY = 64 * 1024;
+
+    private BodyAggregator() {
+    }
+
+    /**
+     * Aggregates the body in a pooled direct buffer, which is released as soon as the reader has
+     * returned, or when the aggregation fails. The reader must not keep a reference to the buffer.
+     *
+     * @param expectedLength the declared length of the body, -1 if it is unknown
+     */
+    public static <T> Future<T> aggregate(ReadStream<Buffer> stream, long expectedLength, long maxSizeInBytes,
+            Function<Buffer, T> reader) {
+        return aggregate(stream, expectedLength, maxSizeInBytes, PooledByteBufAllocator.DEFAULT).map(aggregate -> {
+            try {
+                return reader.apply(Buffer.buffer(aggregate));
+            } finally {
+                aggregate.release();
+            }
+        });
+    }
+
+    /**
+     * Aggregates the body in a heap buffer owned by the caller, for bodies that are kept once read.
+     */
+    public static Future<Buffer> aggregate(Body body, long maxSizeInBytes) {
+        return aggregate(body.stream(), body.length(), maxSizeInBytes, UnpooledByteBufAllocator.DEFAULT)
+                .map(Buffer::buffer);
+    }
+
+    private static Future<ByteBuf> aggregate(ReadStream<Buffer> stream, long expectedLength, long maxSizeInBytes,
+            ByteBufAllocator allocator) {
+        // a buffer cannot hold more than 2 GiB, whatever the limit
+        int maxCapacity = (int) Math.min(maxSizeInBytes, Integer.MAX_VALUE);
+        if (expectedLength > maxCapacity) {
+            return Future.failedFuture(new BodyTooLargeException(maxCapacity));
+        }
+        long initialCapacity = expectedLength >= 0 ? Math.min(expectedLength, MAX_INITIAL_CAPACITY)
+                : DEFAULT_INITIAL_CAPACITY;
+        ByteBuf aggregate = allocator.buffer((int) Math.min(initialCapacity, maxCapacity), maxCapacity);
+        Promise<ByteBuf> promise = Promise.promise();
+
+        stream.handler(chunk -> {
+            if (chunk == null || promise.future().isComplete()) {
+                return;
+            }
+            if (aggregate.readableBytes() + (long) chunk.length() > maxCapacity) {
+                fail(promise, aggregate, new BodyTooLargeException(maxCapacity));
+                return;
+            }
+            aggregate.writeBytes(chunk.getByteBuf());
+        }).endHandler(v -> promise.tryComplete(aggregate)).exceptionHandler(failure -> fail(promise, aggregate, failure))
+                .resume();
+
+        return promise.future();
+    }
+
+    private static void fail(Promise<ByteBuf> promise, ByteBuf aggregate, Throwable failure) {
+        if (promise.tryFail(failure)) {
+            aggregate.release();
+        }
+    }
+
+    /**
+     * The failure of an aggregation whose body exceeds the maximum size.
+     */
+    public static final class BodyTooLargeException extends IllegalStateException {
+
+        public BodyTooLargeException(long maxSizeInBytes) {
+            super("Body size exceeds the limit of " + maxSizeInBytes + " bytes");
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.acme.edgy.runtime.builtins;
+
+import java.util.Locale;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+
+/**
+ * The content codings that can be applied and removed while a body is streamed, chunk by chunk.
+ */
+public enum ContentEncoding {
+
+    GZIP("gzip"),
+    DEFLATE("deflate");
+
+    private final String token;
+
+    ContentEncoding(String token) {
+        this.token = token;
+    }
+
+    /**
+     * @return the token of the coding in the {@code Content-Encoding} and {@code Accept-Encoding}
+     *         headers
+     */
+    public String token() {
+        return token;
+    }
+
+    /**
+     * @param level the compression level, from 0 to 9, or -1 for the default level
+     * @return the body compressed with this coding, every source chunk is flushed
+     */
+    public ReadStream<Buffer> encode(ReadStream<Buffer> source, int level) {
+        return new DeflatingReadStream(source, this == GZIP, level);
+    }
+
+    /**
+     * @return the body decompressed from this coding, failing if it is not valid
+     */
+    public ReadStream<Buffer> decode(ReadStream<Buffer> source) {
+        return decode(source, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param maxSizeInBytes the maximum size of the decompressed body
+     * @return the body decompressed from this coding, failing if it is not valid or with a
+     *         {@link BodyAggregator.BodyTooLargeException} once it exceeds the maximum size
+     */
+    public ReadStream<Buffer> decode(ReadStream<Buffer> source, long maxSizeInBytes) {
+        return new InflatingReadStream(source, this == GZIP, maxSizeInBytes);
+    }
+
+    /**
+     * @param contentEncoding a single content coding, such as a {@code Content-Encoding} header value
+     * @return the coding, {@code null} if it is missing or not supported
+     */
+    public static ContentEncoding of(String contentEncoding) {
+        if (contentEncoding == null) {
+            return null;
+        }
+        return switch (contentEncoding.trim().toLowerCase(Locale.ROOT)) {
+            case "gzip", "x-gzip" -> GZIP;
+            case "deflate" -> DEFLATE;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,141 @@
+package org.acme.edgy.runtime.builtins;
+
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+
+/**
+ * Compresses a body while it is read, in the {@code gzip} or {@code deflate} (zlib) format. Each
+ * source chunk is flushed, so that it produces one output chunk and a streamed body is not held
+ * back. The deflater is released once the body ends or fails, or by the garbage collector when
+ * the body is abandoned.
+ */
+final class DeflatingReadStream implements ReadStream<Buffer> {
+
+    private static final int OUTPUT_SIZE = 8192;
+    // magic number, deflate method, no flags, no modification time, no extra flags, unknown OS
+    private static final byte[] GZIP_HEADER = { 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff };
+
+    private final ReadStream<Buffer> source;
+    private final Deflater deflater;
+    private final CRC32 crc;
+    private final byte[] output = new byte[OUTPUT_SIZE];
+    private boolean headerWritten;
+    private boolean released;
+
+    private Handler<Buffer> handler;
+
+    DeflatingReadStream(ReadStream<Buffer> source, boolean gzip, int level) {
+        this.source = source;
+        // gzip wraps a raw deflate stream with its own header and trailer
+        this.deflater = new Deflater(level, gzip);
+        this.crc = gzip ? new CRC32() : null;
+        this.headerWritten = !gzip;
+    }
+
+    @Override
+    public ReadStream<Buffer> exceptionHandler(Handler<Throwable> handler) {
+        source.exceptionHandler(handler == null ? null : failure -> {
+            release();
+            handler.handle(failure);
+        });
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> handler(Handler<Buffer> handler) {
+        this.handler = handler;
+        if (handler == null) {
+            source.handler(null);
+            return this;
+        }
+        source.handler(chunk -> {
+            if (released || chunk.length() == 0) {
+                return;
+            }
+            byte[] input = chunk.getBytes();
+            if (crc != null) {
+                crc.update(input);
+            }
+            deflater.setInput(input);
+            Buffer compressed = Buffer.buffer(Math.min(input.length, OUTPUT_SIZE) + GZIP_HEADER.length);
+            writeHeader(compressed);
+            deflate(compressed, Deflater.SYNC_FLUSH);
+            handler.handle(compressed);
+        });
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> pause() {
+        source.pause();
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> resume() {
+        source.resume();
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> fetch(long amount) {
+        source.fetch(amount);
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> endHandler(Handler<Void> endHandler) {
+        source.endHandler(endHandler == null ? null : v -> {
+            if (!released) {
+                Buffer trailer = Buffer.buffer(64);
+                writeHeader(trailer);
+                finish(trailer);
+                if (crc != null) {
+                    trailer.appendIntLE((int) crc.getValue());
+                    trailer.appendIntLE((int) deflater.getBytesRead());
+                }
+                release();
+                if (handler != null) {
+                    handler.handle(trailer);
+                }
+            }
+            endHandler.handle(null);
+        });
+        return this;
+    }
+
+    private void writeHeader(Buffer buffer) {
+        if (!headerWritten) {
+            buffer.appendBytes(GZIP_HEADER);
+            headerWritten = true;
+        }
+    }
+
+    private void deflate(Buffer buffer, int flush) {
+        int length;
+        do {
+            length = deflater.deflate(output, 0, output.length, flush);
+            buffer.appendBytes(output, 0, length);
+            // a full output array means that there may be more to come
+        } while (length == output.length);
+    }
+
+    private void finish(Buffer buffer) {
+        deflater.finish();
+        while (!deflater.finished()) {
+            int length = deflater.deflate(output);
+            buffer.appendBytes(output, 0, length);
+        }
+    }
+
+    private void release() {
+        if (!released) {
+            released = true;
+            deflater.end();
+        }
+    }
+}
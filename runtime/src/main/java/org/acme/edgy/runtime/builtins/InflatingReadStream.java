@@ -0,0 +1,325 @@
+package org.acme.edgy.runtime.builtins;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+import org.acme.edgy.runtime.builtins.BodyAggregator.BodyTooLargeException;
+
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+
+/**
+ * Decompresses a {@code gzip} or {@code deflate} body while it is read. Only the gzip header and
+ * trailer are buffered, and the body fails if it is not valid or is truncated. A {@code deflate}
+ * body is expected in the zlib format, but a raw deflate stream, which some clients send instead,
+ * is accepted too. The inflater is released once the body ends or fails, or by the garbage
+ * collector when the body is abandoned.
+ * <p>
+ * The decompressed body is emitted one block at a time, as it is demanded: a small compressed chunk
+ * that expands to a large body is inflated only as fast as it is consumed, and the source is paused
+ * meanwhile. The body fails with a {@link BodyTooLargeException} once it exceeds the maximum size.
+ */
+final class InflatingReadStream implements ReadStream<Buffer> {
+
+    private static final int OUTPUT_SIZE = 8192;
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int GZIP_MIN_HEADER_SIZE = 10;
+    private static final int GZIP_TRAILER_SIZE = 8;
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+
+    private final ReadStream<Buffer> source;
+    private final boolean gzip;
+    private final long maxSizeInBytes;
+    private final CRC32 crc;
+    private final byte[] output = new byte[OUTPUT_SIZE];
+    private Inflater inflater;
+    // the header, then the gzip trailer, while they are incomplete
+    private Buffer pending = Buffer.buffer();
+    // the source chunks that are not given to the inflater yet
+    private final Deque<byte[]> chunks = new ArrayDeque<>();
+    // the chunk given to the inflater, until its compressed data is consumed
+    private byte[] input;
+    private long sizeInBytes;
+    private long demand = Long.MAX_VALUE;
+    private boolean sourcePaused;
+    private boolean sourceEnded;
+    private boolean done;
+
+    private Handler<Buffer> handler;
+    private Handler<Void> endHandler;
+    private Handler<Throwable> exceptionHandler;
+
+    InflatingReadStream(ReadStream<Buffer> source, boolean gzip, long maxSizeInBytes) {
+        this.source = source;
+        this.gzip = gzip;
+        this.maxSizeInBytes = maxSizeInBytes;
+        this.crc = gzip ? new CRC32() : null;
+    }
+
+    @Override
+    public ReadStream<Buffer> exceptionHandler(Handler<Throwable> handler) {
+        this.exceptionHandler = handler;
+        source.exceptionHandler(handler == null ? null : this::fail);
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> handler(Handler<Buffer> handler) {
+        this.handler = handler;
+        source.handler(handler == null ? null : chunk -> {
+            if (!done) {
+                chunks.add(chunk.getBytes());
+                drain();
+            }
+        });
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> pause() {
+        demand = 0;
+        drain();
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> resume() {
+        demand = Long.MAX_VALUE;
+        drain();
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> fetch(long amount) {
+        demand = demand > Long.MAX_VALUE - amount ? Long.MAX_VALUE : demand + amount;
+        drain();
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> endHandler(Handler<Void> endHandler) {
+        this.endHandler = endHandler;
+        source.endHandler(endHandler == null ? null : v -> {
+            sourceEnded = true;
+            drain();
+        });
+        return this;
+    }
+
+    // inflates while there is demand, then pauses the source if there is a backlog
+    private void drain() {
+        if (done) {
+            return;
+        }
+        try {
+            while (!done) {
+                if (inflater != null && inflater.finished() && input != null) {
+                    appendTrailer(input, input.length - inflater.getRemaining());
+                    input = null;
+                }
+                // the input is consumed without demand, only the output waits for it
+                if (inflater == null || inflater.needsInput() || inflater.finished()) {
+                    byte[] chunk = chunks.poll();
+                    if (chunk == null) {
+                        break;
+                    }
+                    feed(chunk);
+                    continue;
+                }
+                if (demand == 0) {
+                    break;
+                }
+                int length = inflater.inflate(output);
+                if (length > 0) {
+                    emit(length);
+                } else if (inflater.needsDictionary()) {
+                    throw new ZipException("Compressed body needs a preset dictionary");
+                }
+            }
+            if (!done && sourceEnded && chunks.isEmpty() && !hasInput()) {
+                checkComplete();
+                done = true;
+                release();
+                if (endHandler != null) {
+                    endHandler.handle(null);
+                }
+                return;
+            }
+        } catch (DataFormatException | ZipException | BodyTooLargeException e) {
+            fail(e);
+            return;
+        }
+        updateSource();
+    }
+
+    private void feed(byte[] chunk) throws ZipException {
+        int offset = 0;
+        if (inflater == null) {
+            if (gzip) {
+                offset = startGzip(chunk);
+            } else {
+                chunk = startDeflate(chunk);
+            }
+            if (inflater == null) {
+                // the header is not complete yet
+                return;
+            }
+        }
+        if (inflater.finished()) {
+            appendTrailer(chunk, offset);
+            return;
+        }
+        input = chunk;
+        inflater.setInput(chunk, offset, chunk.length - offset);
+    }
+
+    private boolean hasInput() {
+        return inflater != null && !inflater.finished() && !inflater.needsInput();
+    }
+
+    private void emit(int length) {
+        sizeInBytes += length;
+        if (sizeInBytes > maxSizeInBytes) {
+            throw new BodyTooLargeException(maxSizeInBytes);
+        }
+        if (crc != null) {
+            crc.update(output, 0, length);
+        }
+        if (demand != Long.MAX_VALUE) {
+            demand--;
+        }
+        Buffer block = Buffer.buffer(length);
+        block.appendBytes(output, 0, length);
+        if (handler != null) {
+            handler.handle(block);
+        }
+    }
+
+    private void updateSource() {
+        boolean backlog = hasInput();
+        if ((backlog || demand == 0) && !sourcePaused) {
+            sourcePaused = true;
+            source.pause();
+        } else if (!backlog && demand > 0 && sourcePaused) {
+            sourcePaused = false;
+            source.resume();
+        }
+    }
+
+    // creates the zlib or raw inflater once the first two bytes are known, and returns them with the chunk
+    private byte[] startDeflate(byte[] chunk) {
+        pending.appendBytes(chunk);
+        if (pending.length() < 2) {
+            return null;
+        }
+        // a zlib header is a multiple of 31 and uses the deflate method
+        int header = pending.getUnsignedShort(0);
+        boolean zlib = (header & 0x0f00) == 0x0800 && header % 31 == 0;
+        inflater = new Inflater(!zlib);
+        byte[] head = pending.getBytes();
+        pending = Buffer.buffer();
+        return head;
+    }
+
+    // creates the inflater once the gzip header is complete, and returns where the compressed data starts
+    private int startGzip(byte[] chunk) throws ZipException {
+        int previous = pending.length();
+        pending.appendBytes(chunk);
+        int headerSize = gzipHeaderSize(pending);
+        if (headerSize == -1) {
+            return chunk.length;
+        }
+        inflater = new Inflater(true);
+        pending = Buffer.buffer(GZIP_TRAILER_SIZE);
+        return headerSize - previous;
+    }
+
+    /**
+     * @return the size of the gzip header, -1 if it is not complete
+     */
+    private static int gzipHeaderSize(Buffer header) throws ZipException {
+        if (header.length() < GZIP_MIN_HEADER_SIZE) {
+            return -1;
+        }
+        if (header.getUnsignedShortLE(0) != GZIP_MAGIC || header.getByte(2) != 8) {
+            throw new ZipException("Not in gzip format");
+        }
+        int flags = header.getUnsignedByte(3);
+        int size = GZIP_MIN_HEADER_SIZE;
+        if ((flags & FEXTRA) != 0) {
+            if (header.length() < size + 2) {
+                return -1;
+            }
+            size += 2 + header.getUnsignedShortLE(size);
+        }
+        if ((flags & FNAME) != 0) {
+            size = skipZeroTerminated(header, size);
+        }
+        if ((flags & FCOMMENT) != 0 && size != -1) {
+            size = skipZeroTerminated(header, size);
+        }
+        if ((flags & FHCRC) != 0 && size != -1) {
+            size += 2;
+        }
+        return size != -1 && header.length() >= size ? size : -1;
+    }
+
+    private static int skipZeroTerminated(Buffer header, int from) {
+        for (int i = from; i < header.length(); i++) {
+            if (header.getByte(i) == 0) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private void appendTrailer(byte[] chunk, int offset) {
+        if (gzip) {
+            int length = Math.min(chunk.length - offset, GZIP_TRAILER_SIZE - pending.length());
+            pending.appendBytes(chunk, offset, Math.max(length, 0));
+        }
+        // anything after the compressed data, like another gzip member, is ignored
+    }
+
+    private void checkComplete() throws ZipException {
+        if (inflater == null || !inflater.finished()) {
+            throw new ZipException("Unexpected end of compressed body");
+        }
+        if (!gzip) {
+            return;
+        }
+        if (pending.length() < GZIP_TRAILER_SIZE) {
+            throw new ZipException("Unexpected end of gzip trailer");
+        }
+        if (pending.getUnsignedIntLE(0) != crc.getValue()
+                || pending.getUnsignedIntLE(4) != (inflater.getBytesWritten() & 0xffffffffL)) {
+            throw new ZipException("Corrupt gzip trailer");
+        }
+    }
+
+    private void fail(Throwable failure) {
+        if (done) {
+            return;
+        }
+        done = true;
+        chunks.clear();
+        release();
+        if (exceptionHandler != null) {
+            exceptionHandler.handle(failure);
+        }
+    }
+
+    private void release() {
+        if (inflater != null) {
+            inflater.end();
+        }
+    }
+}
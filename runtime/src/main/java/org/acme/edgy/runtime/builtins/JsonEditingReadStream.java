@@ -0,0 +1,232 @@
+package org.acme.edgy.runtime.builtins;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.Json;
+import io.vertx.core.streams.ReadStream;
+
+/**
+ * Re-serializes a JSON body token by token while it is read, applying {@link JsonFieldEdits} to
+ * the top-level object. Each source chunk produces at most one output chunk, holding the tokens
+ * completed by that chunk, so only the current token is buffered.
+ * <p>
+ * Numbers and literals are copied as they were read, so {@code 1.0}, {@code 1e3} or a large
+ * number in a field that is not edited keeps its exact text.
+ */
+final class JsonEditingReadStream implements ReadStream<Buffer> {
+
+    private static final byte OBJECT_START = '{';
+    private static final byte OBJECT_END = '}';
+    private static final byte ARRAY_START = '[';
+    private static final byte ARRAY_END = ']';
+    private static final byte VALUE_SEPARATOR = ',';
+    private static final byte NAME_SEPARATOR = ':';
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final ReadStream<Buffer> source;
+    private final JsonFieldEdits edits;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+
+    private Buffer output = Buffer.buffer();
+    // whether the container at each depth already has an element, and needs a separator
+    private boolean[] hasElements = new boolean[8];
+    private int depth;
+    private boolean topLevelObject;
+    // open containers left in the value of a skipped field
+    private int skippedDepth;
+    private boolean failed;
+
+    private Handler<Buffer> handler;
+    private Handler<Throwable> exceptionHandler;
+
+    JsonEditingReadStream(ReadStream<Buffer> source, JsonFieldEdits edits) {
+        this.source = source;
+        this.edits = edits;
+        try {
+            this.parser = JSON_FACTORY.createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    @Override
+    public ReadStream<Buffer> exceptionHandler(Handler<Throwable> handler) {
+        exceptionHandler = handler;
+        source.exceptionHandler(handler);
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> handler(Handler<Buffer> handler) {
+        this.handler = handler;
+        if (handler == null) {
+            source.handler(null);
+        } else {
+            source.handler(chunk -> {
+                if (!failed) {
+                    byte[] bytes = chunk.getBytes();
+                    parse(() -> feeder.feedInput(bytes, 0, bytes.length));
+                    flush();
+                }
+            });
+        }
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> pause() {
+        source.pause();
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> resume() {
+        source.resume();
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> fetch(long amount) {
+        source.fetch(amount);
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> endHandler(Handler<Void> endHandler) {
+        if (endHandler == null) {
+            source.endHandler(null);
+        } else {
+            source.endHandler(v -> {
+                if (failed) {
+                    return;
+                }
+                parse(feeder::endOfInput);
+                flush();
+                if (!failed) {
+                    endHandler.handle(null);
+                }
+            });
+        }
+        return this;
+    }
+
+    // feeds the parser, then handles the tokens it completes
+    private void parse(Input input) {
+        try {
+            input.feed();
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                handleToken(token);
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    private void fail(Throwable failure) {
+        failed = true;
+        Handler<Throwable> handler = exceptionHandler;
+        if (handler != null) {
+            handler.handle(failure);
+        }
+    }
+
+    private void flush() {
+        if (output.length() > 0 && handler != null && !failed) {
+            Buffer chunk = output;
+            output = Buffer.buffer();
+            handler.handle(chunk);
+        }
+    }
+
+    private void handleToken(JsonToken token) throws IOException {
+        if (skippedDepth > 0) {
+            if (token.isStructStart()) {
+                skippedDepth++;
+            } else if (token.isStructEnd()) {
+                skippedDepth--;
+            }
+            return;
+        }
+        if (token == JsonToken.FIELD_NAME) {
+            // written with the value, which is given the name of its field
+            return;
+        }
+
+        String fieldName = parser.currentName();
+        boolean topLevelField = topLevelObject && depth == 1 && fieldName != null;
+        switch (token) {
+            case START_OBJECT, START_ARRAY -> {
+                if (topLevelField && edits.skips(fieldName)) {
+                    skippedDepth = 1;
+                    return;
+                }
+                if (depth == 0) {
+                    topLevelObject = token == JsonToken.START_OBJECT;
+                }
+                writeSeparatorAndName(fieldName, topLevelField);
+                output.appendByte(token == JsonToken.START_OBJECT ? OBJECT_START : ARRAY_START);
+                push();
+            }
+            case END_OBJECT, END_ARRAY -> {
+                if (topLevelObject && depth == 1) {
+                    for (String encodedField : edits.encodedAddedFields()) {
+                        writeSeparator();
+                        output.appendString(encodedField);
+                    }
+                }
+                depth--;
+                output.appendByte(token == JsonToken.END_OBJECT ? OBJECT_END : ARRAY_END);
+            }
+            default -> {
+                if (topLevelField && edits.skips(fieldName)) {
+                    return;
+                }
+                writeSeparatorAndName(fieldName, topLevelField);
+                // the text of a number is the one read, not a re-encoding of its value
+                output.appendString(token == JsonToken.VALUE_STRING ? Json.encode(parser.getText()) : parser.getText());
+            }
+        }
+    }
+
+    private void writeSeparatorAndName(String fieldName, boolean topLevelField) {
+        writeSeparator();
+        if (fieldName != null) {
+            output.appendString(Json.encode(topLevelField ? edits.nameOf(fieldName) : fieldName))
+                    .appendByte(NAME_SEPARATOR);
+        }
+    }
+
+    private void writeSeparator() {
+        if (depth == 0) {
+            return;
+        }
+        if (hasElements[depth - 1]) {
+            output.appendByte(VALUE_SEPARATOR);
+        }
+        hasElements[depth - 1] = true;
+    }
+
+    private void push() {
+        if (depth == hasElements.length) {
+            hasElements = Arrays.copyOf(hasElements, depth * 2);
+        }
+        hasElements[depth++] = false;
+    }
+
+    @FunctionalInterface
+    private interface Input {
+        void feed() throws IOException;
+    }
+}
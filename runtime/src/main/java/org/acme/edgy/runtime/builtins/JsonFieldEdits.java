@@ -0,0 +1,67 @@
+package org.acme.edgy.runtime.builtins;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import io.vertx.core.json.Json;
+
+/**
+ * Edits applied to the fields of a top-level JSON object by the streaming JSON body modifiers.
+ * Removed and renamed fields are edited where they appear, added fields are written at the end of
+ * the object and replace the fields of the same name.
+ */
+public final class JsonFieldEdits {
+
+    private final Set<String> removedFields = new HashSet<>();
+    private final Map<String, String> renamedFields = new HashMap<>();
+    private final Set<String> addedFields = new HashSet<>();
+    // "name":value, encoded once
+    private final List<String> encodedAddedFields = new ArrayList<>();
+
+    private JsonFieldEdits() {
+    }
+
+    public static JsonFieldEdits create() {
+        return new JsonFieldEdits();
+    }
+
+    /**
+     * @param value a JSON value: {@code null}, a string, a number, a boolean, a
+     *        {@link io.vertx.core.json.JsonObject} or a {@link io.vertx.core.json.JsonArray}
+     */
+    public JsonFieldEdits add(String name, Object value) {
+        if (!addedFields.add(Objects.requireNonNull(name))) {
+            throw new IllegalArgumentException("Field '%s' is already added".formatted(name));
+        }
+        encodedAddedFields.add(Json.encode(name) + ':' + Json.encode(value));
+        return this;
+    }
+
+    public JsonFieldEdits remove(String name) {
+        removedFields.add(Objects.requireNonNull(name));
+        return this;
+    }
+
+    public JsonFieldEdits rename(String name, String newName) {
+        renamedFields.put(Objects.requireNonNull(name), Objects.requireNonNull(newName));
+        return this;
+    }
+
+    boolean skips(String name) {
+        return removedFields.contains(name) || addedFields.contains(name);
+    }
+
+    String nameOf(String name) {
+        return renamedFields.getOrDefault(name, name);
+    }
+
+    List<String> encodedAddedFields() {
+        return Collections.unmodifiableList(encodedAddedFields);
+    }
+}
@@ -0,0 +1,99 @@
+package org.acme.edgy.runtime.builtins;
+
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+
+/**
+ * Forwards a body unchanged while counting its bytes, and fails it as soon as it exceeds the
+ * maximum size: the chunk crossing the limit and everything after it are dropped, and the
+ * exception handler is called instead, so that a pipe from this stream fails and resets its
+ * destination. Nothing is buffered.
+ */
+public final class SizeLimitingReadStream implements ReadStream<Buffer> {
+
+    private final ReadStream<Buffer> source;
+    private final long maxSizeInBytes;
+    private long sizeInBytes;
+    private boolean limitExceeded;
+    private Handler<Throwable> exceptionHandler;
+
+    public SizeLimitingReadStream(ReadStream<Buffer> source, long maxSizeInBytes) {
+        this.source = source;
+        this.maxSizeInBytes = maxSizeInBytes;
+    }
+
+    /**
+     * @return whether the body exceeded the maximum size, failing the stream
+     */
+    public boolean limitExceeded() {
+        return limitExceeded;
+    }
+
+    /**
+     * @return the number of bytes read so far, including the chunk that exceeded the limit
+     */
+    public long sizeInBytes() {
+        return sizeInBytes;
+    }
+
+    @Override
+    public ReadStream<Buffer> exceptionHandler(Handler<Throwable> handler) {
+        this.exceptionHandler = handler;
+        source.exceptionHandler(handler == null ? null : failure -> {
+            if (!limitExceeded) {
+                handler.handle(failure);
+            }
+        });
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> handler(Handler<Buffer> handler) {
+        source.handler(handler == null ? null : chunk -> {
+            if (limitExceeded) {
+                return;
+            }
+            sizeInBytes += chunk.length();
+            if (sizeInBytes > maxSizeInBytes) {
+                limitExceeded = true;
+                Handler<Throwable> failureHandler = exceptionHandler;
+                if (failureHandler != null) {
+                    failureHandler.handle(new IllegalStateException(
+                            "Body size exceeds the limit of " + maxSizeInBytes + " bytes"));
+                }
+                return;
+            }
+            handler.handle(chunk);
+        });
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> pause() {
+        source.pause();
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> resume() {
+        source.resume();
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> fetch(long amount) {
+        source.fetch(amount);
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> endHandler(Handler<Void> endHandler) {
+        source.endHandler(endHandler == null ? null : v -> {
+            if (!limitExceeded) {
+                endHandler.handle(null);
+            }
+        });
+        return this;
+    }
+}
@@ -0,0 +1,140 @@
+package org.acme.edgy.runtime.builtins;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+
+/**
+ * Re-encodes a text body from a charset to another while it is read, chunk by chunk, through
+ * bounded char and byte buffers. The bytes of a character split across two chunks are carried
+ * over to the next one. Malformed input and characters that the target charset cannot represent
+ * are replaced, like {@link String#String(byte[], Charset)} and {@link String#getBytes(Charset)} do.
+ */
+public final class TranscodingReadStream implements ReadStream<Buffer> {
+
+    private static final int CHAR_BUFFER_SIZE = 4096;
+    private static final byte[] NO_BYTES = new byte[0];
+
+    private final ReadStream<Buffer> source;
+    private final CharsetDecoder decoder;
+    private final CharsetEncoder encoder;
+    private final CharBuffer chars = CharBuffer.allocate(CHAR_BUFFER_SIZE);
+    private final ByteBuffer bytes;
+    // the bytes of an incomplete character at the end of the previous chunk
+    private byte[] remainder = NO_BYTES;
+
+    private Handler<Buffer> handler;
+
+    public TranscodingReadStream(ReadStream<Buffer> source, Charset from, Charset to) {
+        this.source = source;
+        this.decoder = from.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.encoder = to.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.bytes = ByteBuffer.allocate((int) Math.ceil(CHAR_BUFFER_SIZE * encoder.maxBytesPerChar()));
+    }
+
+    @Override
+    public ReadStream<Buffer> exceptionHandler(Handler<Throwable> handler) {
+        source.exceptionHandler(handler);
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> handler(Handler<Buffer> handler) {
+        this.handler = handler;
+        source.handler(handler == null ? null : chunk -> {
+            Buffer transcoded = transcode(input(chunk.getBytes()), false);
+            if (transcoded.length() > 0) {
+                handler.handle(transcoded);
+            }
+        });
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> pause() {
+        source.pause();
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> resume() {
+        source.resume();
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> fetch(long amount) {
+        source.fetch(amount);
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> endHandler(Handler<Void> endHandler) {
+        source.endHandler(endHandler == null ? null : v -> {
+            Buffer transcoded = transcode(input(NO_BYTES), true);
+            if (transcoded.length() > 0 && handler != null) {
+                handler.handle(transcoded);
+            }
+            endHandler.handle(null);
+        });
+        return this;
+    }
+
+    private ByteBuffer input(byte[] chunk) {
+        if (remainder.length == 0) {
+            return ByteBuffer.wrap(chunk);
+        }
+        ByteBuffer input = ByteBuffer.allocate(remainder.length + chunk.length);
+        input.put(remainder).put(chunk).flip();
+        return input;
+    }
+
+    private Buffer transcode(ByteBuffer input, boolean endOfInput) {
+        Buffer output = Buffer.buffer(Math.min(bytes.capacity(), input.remaining() * 2 + 16));
+        // a full char buffer is encoded before more is decoded
+        while (decoder.decode(input, chars, endOfInput).isOverflow()) {
+            encode(output, false);
+        }
+        if (endOfInput) {
+            while (decoder.flush(chars).isOverflow()) {
+                encode(output, false);
+            }
+            encode(output, true);
+            while (encoder.flush(bytes).isOverflow()) {
+                drain(output);
+            }
+            drain(output);
+            remainder = NO_BYTES;
+        } else {
+            encode(output, false);
+            remainder = new byte[input.remaining()];
+            input.get(remainder);
+        }
+        return output;
+    }
+
+    private void encode(Buffer output, boolean endOfInput) {
+        chars.flip();
+        while (encoder.encode(chars, bytes, endOfInput).isOverflow()) {
+            drain(output);
+        }
+        drain(output);
+        // keeps the high surrogate of a pair that is not complete yet
+        chars.compact();
+    }
+
+    private void drain(Buffer output) {
+        bytes.flip();
+        output.appendBytes(bytes.array(), 0, bytes.limit());
+        bytes.clear();
+    }
+}
@@ -0,0 +1,88 @@
+package org.acme.edgy.runtime.builtins.cache;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The {@code Cache-Control} directives relevant to a shared cache.
+ */
+final class CacheDirectives {
+
+    static final CacheDirectives NONE = new CacheDirectives(false, false, false, false, -1, -1);
+
+    private static final String NO_STORE = "no-store";
+    private static final String NO_CACHE = "no-cache";
+    private static final String PRIVATE = "private";
+    private static final String PUBLIC = "public";
+    private static final String MAX_AGE = "max-age";
+    private static final String S_MAXAGE = "s-maxage";
+
+    final boolean noStore;
+    final boolean noCache;
+    final boolean privateResponse;
+    final boolean publicResponse;
+    final long maxAgeSeconds;
+    final long sharedMaxAgeSeconds;
+
+    private CacheDirectives(boolean noStore, boolean noCache, boolean privateResponse, boolean publicResponse,
+            long maxAgeSeconds, long sharedMaxAgeSeconds) {
+        this.noStore = noStore;
+        this.noCache = noCache;
+        this.privateResponse = privateResponse;
+        this.publicResponse = publicResponse;
+        this.maxAgeSeconds = maxAgeSeconds;
+        this.sharedMaxAgeSeconds = sharedMaxAgeSeconds;
+    }
+
+    static CacheDirectives parse(List<String> cacheControlHeaders) {
+        if (cacheControlHeaders.isEmpty()) {
+            return NONE;
+        }
+        boolean noStore = false;
+        boolean noCache = false;
+        boolean privateResponse = false;
+        boolean publicResponse = false;
+        long maxAgeSeconds = -1;
+        long sharedMaxAgeSeconds = -1;
+        for (String header : cacheControlHeaders) {
+            for (String directive : header.split(",")) {
+                String name = directive;
+                String value = null;
+                int equals = directive.indexOf('=');
+                if (equals != -1) {
+                    name = directive.substring(0, equals);
+                    value = directive.substring(equals + 1).trim();
+                }
+                name = name.trim().toLowerCase(Locale.ROOT);
+                // qualified no-cache and private (no-cache="Set-Cookie") are handled as unqualified
+                switch (name) {
+                    case NO_STORE -> noStore = true;
+                    case NO_CACHE -> noCache = true;
+                    case PRIVATE -> privateResponse = true;
+                    case PUBLIC -> publicResponse = true;
+                    case MAX_AGE -> maxAgeSeconds = parseSeconds(value);
+                    case S_MAXAGE -> sharedMaxAgeSeconds = parseSeconds(value);
+                    default -> {
+                    }
+                }
+            }
+        }
+        return new CacheDirectives(noStore, noCache, privateResponse, publicResponse, maxAgeSeconds,
+                sharedMaxAgeSeconds);
+    }
+
+    // an invalid delta-seconds makes the response stale
+    private static long parseSeconds(String value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value.length() > 1 && value.charAt(0) == '"' && value.charAt(value.length() - 1) == '"') {
+            value = value.substring(1, value.length() - 1);
+        }
+        try {
+            return Math.max(0, Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
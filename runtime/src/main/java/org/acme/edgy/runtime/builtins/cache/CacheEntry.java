@@ -0,0 +1,41 @@
+package org.acme.edgy.runtime.builtins.cache;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * A stored response, never modified: revalidating it stores a new entry in its place.
+ */
+final class CacheEntry {
+
+    final int statusCode;
+    final String statusMessage;
+    final MultiMap headers;
+    final Buffer body;
+    final long sizeInBytes;
+    final long storedAtMillis;
+    final long freshUntilMillis;
+
+    CacheEntry(int statusCode, String statusMessage, MultiMap headers, Buffer body, long storedAtMillis,
+            long freshUntilMillis) {
+        this.statusCode = statusCode;
+        this.statusMessage = statusMessage;
+        this.headers = headers;
+        this.body = body;
+        this.storedAtMillis = storedAtMillis;
+        this.freshUntilMillis = freshUntilMillis;
+        long headersSize = 0;
+        for (var header : headers) {
+            headersSize += header.getKey().length() + header.getValue().length();
+        }
+        this.sizeInBytes = body.length() + headersSize;
+    }
+
+    boolean isFresh(long nowMillis) {
+        return nowMillis < freshUntilMillis;
+    }
+
+    String validator(CharSequence name) {
+        return headers.get(name);
+    }
+}
@@ -0,0 +1,80 @@
+package org.acme.edgy.runtime.builtins.cache;
+
+import java.util.function.Consumer;
+
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.ReadStream;
+
+/**
+ * Forwards a body unchanged while keeping a copy of it, handed over once the body ends if it did
+ * not exceed the maximum size.
+ */
+final class CapturingReadStream implements ReadStream<Buffer> {
+
+    private final ReadStream<Buffer> source;
+    private final long maxSizeInBytes;
+    private final Consumer<Buffer> onCaptured;
+    private Buffer captured = Buffer.buffer();
+
+    CapturingReadStream(ReadStream<Buffer> source, long maxSizeInBytes, Consumer<Buffer> onCaptured) {
+        this.source = source;
+        this.maxSizeInBytes = maxSizeInBytes;
+        this.onCaptured = onCaptured;
+    }
+
+    @Override
+    public ReadStream<Buffer> exceptionHandler(Handler<Throwable> handler) {
+        source.exceptionHandler(handler == null ? null : failure -> {
+            captured = null;
+            handler.handle(failure);
+        });
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> handler(Handler<Buffer> handler) {
+        source.handler(handler == null ? null : chunk -> {
+            if (captured != null) {
+                if (captured.length() + chunk.length() > maxSizeInBytes) {
+                    // too large to be cached, stop copying
+                    captured = null;
+                } else {
+                    captured.appendBuffer(chunk);
+                }
+            }
+            handler.handle(chunk);
+        });
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> pause() {
+        source.pause();
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> resume() {
+        source.resume();
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> fetch(long amount) {
+        source.fetch(amount);
+        return this;
+    }
+
+    @Override
+    public ReadStream<Buffer> endHandler(Handler<Void> endHandler) {
+        source.endHandler(endHandler == null ? null : v -> {
+            if (captured != null) {
+                onCaptured.accept(captured);
+                captured = null;
+            }
+            endHandler.handle(null);
+        });
+        return this;
+    }
+}
@@ -0,0 +1,81 @@
+package org.acme.edgy.runtime.builtins.cache;
+
+import static jakarta.ws.rs.core.HttpHeaders.CACHE_CONTROL;
+import static jakarta.ws.rs.core.HttpHeaders.ETAG;
+import static jakarta.ws.rs.core.HttpHeaders.IF_MODIFIED_SINCE;
+import static jakarta.ws.rs.core.HttpHeaders.IF_NONE_MATCH;
+import static jakarta.ws.rs.core.HttpHeaders.LAST_MODIFIED;
+
+import java.util.Objects;
+
+import org.acme.edgy.runtime.api.RequestTransformer;
+
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.httpproxy.ProxyContext;
+import io.vertx.httpproxy.ProxyRequest;
+import io.vertx.httpproxy.ProxyResponse;
+
+/**
+ * Serves fresh {@link ResponseCache} entries without reaching the origin, and turns the request
+ * into a conditional request when the entry is stale. Must be paired with a
+ * {@link ResponseCacheStore} on the same cache.
+ */
+public class RequestCacheLookup implements RequestTransformer {
+
+    static final String CACHE_KEY = "edgy.cache.key";
+    static final String CACHE_HIT = "edgy.cache.hit";
+    static final String REVALIDATED_ENTRY = "edgy.cache.revalidated-entry";
+
+    private static final String RANGE = "Range";
+
+    private final ResponseCache cache;
+
+    public RequestCacheLookup(ResponseCache cache) {
+        this.cache = Objects.requireNonNull(cache);
+    }
+
+    @Override
+    public Future<ProxyResponse> apply(ProxyContext proxyContext) {
+        ProxyRequest request = proxyContext.request();
+        MultiMap headers = request.headers();
+        // conditional and range requests of the client are left to the origin
+        if (request.getMethod() != HttpMethod.GET || headers.contains(IF_NONE_MATCH)
+                || headers.contains(IF_MODIFIED_SINCE) || headers.contains(RANGE)) {
+            return proxyContext.sendRequest();
+        }
+        CacheDirectives directives = CacheDirectives.parse(headers.getAll(CACHE_CONTROL));
+        if (directives.noStore) {
+            return proxyContext.sendRequest();
+        }
+
+        String key = cache.key(request.proxiedRequest());
+        proxyContext.set(CACHE_KEY, key);
+        CacheEntry entry = cache.get(key);
+        if (entry == null) {
+            return proxyContext.sendRequest();
+        }
+
+        long now = System.currentTimeMillis();
+        if (!directives.noCache && entry.isFresh(now)) {
+            proxyContext.set(CACHE_HIT, Boolean.TRUE);
+            ProxyResponse response = request.release().response();
+            ResponseCache.serve(response, entry, now);
+            return Future.succeededFuture(response);
+        }
+
+        String etag = entry.validator(ETAG);
+        String lastModified = entry.validator(LAST_MODIFIED);
+        if (etag != null) {
+            headers.set(IF_NONE_MATCH, etag);
+        }
+        if (lastModified != null) {
+            headers.set(IF_MODIFIED_SINCE, lastModified);
+        }
+        if (etag != null || lastModified != null) {
+            proxyContext.set(REVALIDATED_ENTRY, entry);
+        }
+        return proxyContext.sendRequest();
+    }
+}
@@ -0,0 +1,262 @@
+package org.acme.edgy.runtime.builtins.cache;
+
+import static jakarta.ws.rs.core.HttpHeaders.AUTHORIZATION;
+import static jakarta.ws.rs.core.HttpHeaders.CACHE_CONTROL;
+import static jakarta.ws.rs.core.HttpHeaders.CONTENT_LENGTH;
+import static jakarta.ws.rs.core.HttpHeaders.DATE;
+import static jakarta.ws.rs.core.HttpHeaders.ETAG;
+import static jakarta.ws.rs.core.HttpHeaders.EXPIRES;
+import static jakarta.ws.rs.core.HttpHeaders.LAST_MODIFIED;
+import static jakarta.ws.rs.core.HttpHeaders.SET_COOKIE;
+import static jakarta.ws.rs.core.HttpHeaders.VARY;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.httpproxy.Body;
+import io.vertx.httpproxy.ProxyResponse;
+
+/**
+ * Bounded in-memory cache of origin responses, shared by a {@link RequestCacheLookup} and a
+ * {@link ResponseCacheStore}. It behaves as a shared HTTP cache: only {@code GET} responses with an
+ * explicit freshness ({@code Cache-Control} {@code s-maxage} or {@code max-age}, or
+ * {@code Expires}) or a validator ({@code ETag} or {@code Last-Modified}) are stored, and stale
+ * entries are revalidated with a conditional request.
+ * <p>
+ * Entries are keyed by method, path and query, and the configured request headers. When query
+ * parameters to vary on are configured, only those are part of the key instead of the whole
+ * query. Responses varying on other headers are not stored, and neither are responses setting a
+ * cookie, which is meant for a single client. The least recently used entries are
+ * evicted once the total size of the entries exceeds the maximum size.
+ */
+public final class ResponseCache {
+
+    static final String AGE = "Age";
+
+    private static final Set<Integer> CACHEABLE_STATUS_CODES = Set.of(200, 203, 204, 300, 301, 404, 405, 410, 414,
+            501);
+    // hop-by-hop headers, and the headers recomputed when the entry is served
+    private static final Set<String> NOT_STORED_HEADERS = Set.of("connection", "keep-alive", "proxy-authenticate",
+            "proxy-authorization", "te", "trailer", "transfer-encoding", "upgrade", "age", "content-length");
+    private static final String VARY_ANY = "*";
+    private static final char KEY_SEPARATOR = '\n';
+    private static final int DEFAULT_MAX_ENTRY_SIZE_DIVISOR = 10;
+
+    private final long maxSizeInBytes;
+    private long maxEntrySizeInBytes;
+    private final Set<String> varyHeaders = new TreeSet<>();
+    private Set<String> varyQueryParameters;
+
+    private final LinkedHashMap<String, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long sizeInBytes;
+
+    /**
+     * @param maxSizeInBytes the maximum total size of the entries, a single entry is at most a
+     *        tenth of it unless {@link #maxEntrySize(long)} is set
+     */
+    public ResponseCache(long maxSizeInBytes) {
+        if (maxSizeInBytes <= 0) {
+            throw new IllegalArgumentException("maxSizeInBytes must be positive");
+        }
+        this.maxSizeInBytes = maxSizeInBytes;
+        this.maxEntrySizeInBytes = maxSizeInBytes / DEFAULT_MAX_ENTRY_SIZE_DIVISOR;
+    }
+
+    public ResponseCache maxEntrySize(long maxEntrySizeInBytes) {
+        if (maxEntrySizeInBytes <= 0 || maxEntrySizeInBytes > maxSizeInBytes) {
+            throw new IllegalArgumentException("maxEntrySizeInBytes must be positive and at most maxSizeInBytes");
+        }
+        this.maxEntrySizeInBytes = maxEntrySizeInBytes;
+        return this;
+    }
+
+    public ResponseCache varyByHeader(String name, String... names) {
+        varyHeaders.add(Objects.requireNonNull(name).toLowerCase(Locale.ROOT));
+        for (String other : names) {
+            varyHeaders.add(Objects.requireNonNull(other).toLowerCase(Locale.ROOT));
+        }
+        return this;
+    }
+
+    public ResponseCache varyByQueryParameter(String name, String... names) {
+        if (varyQueryParameters == null) {
+            varyQueryParameters = new TreeSet<>();
+        }
+        varyQueryParameters.add(Objects.requireNonNull(name));
+        for (String other : names) {
+            varyQueryParameters.add(Objects.requireNonNull(other));
+        }
+        return this;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long sizeInBytes() {
+        return sizeInBytes;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        sizeInBytes = 0;
+    }
+
+    long maxEntrySizeInBytes() {
+        return maxEntrySizeInBytes;
+    }
+
+    String key(HttpServerRequest request) {
+        StringBuilder key = new StringBuilder()
+                .append(request.method().name()).append(' ')
+                .append(request.path());
+        if (varyQueryParameters == null) {
+            String query = request.query();
+            if (query != null) {
+                key.append('?').append(query);
+            }
+        } else {
+            MultiMap params = request.params();
+            for (String name : varyQueryParameters) {
+                key.append(KEY_SEPARATOR).append(name).append('=').append(params.getAll(name));
+            }
+        }
+        MultiMap headers = request.headers();
+        for (String name : varyHeaders) {
+            key.append(KEY_SEPARATOR).append(name).append(':').append(headers.getAll(name));
+        }
+        return key.toString();
+    }
+
+    synchronized CacheEntry get(String key) {
+        return entries.get(key);
+    }
+
+    synchronized void put(String key, CacheEntry entry) {
+        if (entry.sizeInBytes > maxEntrySizeInBytes) {
+            return;
+        }
+        CacheEntry previous = entries.put(key, entry);
+        if (previous != null) {
+            sizeInBytes -= previous.sizeInBytes;
+        }
+        sizeInBytes += entry.sizeInBytes;
+        Iterator<Map.Entry<String, CacheEntry>> leastRecentlyUsed = entries.entrySet().iterator();
+        while (sizeInBytes > maxSizeInBytes && leastRecentlyUsed.hasNext()) {
+            sizeInBytes -= leastRecentlyUsed.next().getValue().sizeInBytes;
+            leastRecentlyUsed.remove();
+        }
+    }
+
+    /**
+     * @return when the response stops being fresh, or {@code -1} if it must not be stored
+     */
+    long freshUntil(MultiMap requestHeaders, int statusCode, MultiMap responseHeaders, long nowMillis) {
+        if (!CACHEABLE_STATUS_CODES.contains(statusCode) || !variesOnKeyHeaders(responseHeaders)
+                || responseHeaders.contains(SET_COOKIE)) {
+            return -1;
+        }
+        CacheDirectives directives = CacheDirectives.parse(responseHeaders.getAll(CACHE_CONTROL));
+        if (directives.noStore || directives.privateResponse) {
+            return -1;
+        }
+        if (requestHeaders.contains(AUTHORIZATION) && !directives.publicResponse
+                && directives.sharedMaxAgeSeconds < 0) {
+            return -1;
+        }
+        long lifetimeMillis = lifetimeMillis(directives, responseHeaders, nowMillis);
+        if (lifetimeMillis <= 0 && !responseHeaders.contains(ETAG) && !responseHeaders.contains(LAST_MODIFIED)) {
+            // would never be served without a validator to revalidate it
+            return -1;
+        }
+        return nowMillis + Math.max(0, lifetimeMillis);
+    }
+
+    static MultiMap storedHeaders(MultiMap responseHeaders) {
+        MultiMap storedHeaders = MultiMap.caseInsensitiveMultiMap();
+        for (Map.Entry<String, String> header : responseHeaders) {
+            if (!NOT_STORED_HEADERS.contains(header.getKey().toLowerCase(Locale.ROOT))) {
+                storedHeaders.add(header.getKey(), header.getValue());
+            }
+        }
+        return storedHeaders;
+    }
+
+    /**
+     * @return the entry updated with the headers of a {@code 304 Not Modified} response
+     */
+    CacheEntry revalidated(CacheEntry entry, MultiMap notModifiedHeaders, long nowMillis) {
+        MultiMap headers = MultiMap.caseInsensitiveMultiMap().addAll(entry.headers);
+        for (String name : List.of(CACHE_CONTROL, EXPIRES, DATE, ETAG, LAST_MODIFIED)) {
+            List<String> values = notModifiedHeaders.getAll(name);
+            if (!values.isEmpty()) {
+                headers.set(name, values);
+            }
+        }
+        CacheDirectives directives = CacheDirectives.parse(headers.getAll(CACHE_CONTROL));
+        long freshUntilMillis = nowMillis + Math.max(0, lifetimeMillis(directives, headers, nowMillis));
+        return new CacheEntry(entry.statusCode, entry.statusMessage, headers, entry.body, nowMillis,
+                freshUntilMillis);
+    }
+
+    static void serve(ProxyResponse response, CacheEntry entry, long nowMillis) {
+        response.setStatusCode(entry.statusCode);
+        response.setStatusMessage(entry.statusMessage);
+        MultiMap headers = response.headers();
+        headers.clear().addAll(entry.headers);
+        headers.set(AGE, String.valueOf(Math.max(0, nowMillis - entry.storedAtMillis) / 1000));
+        headers.set(CONTENT_LENGTH, String.valueOf(entry.body.length()));
+        response.setBody(Body.body(entry.body.slice()));
+    }
+
+    private boolean variesOnKeyHeaders(MultiMap responseHeaders) {
+        for (String vary : responseHeaders.getAll(VARY)) {
+            for (String name : vary.split(",")) {
+                String headerName = name.trim().toLowerCase(Locale.ROOT);
+                if (headerName.equals(VARY_ANY) || !headerName.isEmpty() && !varyHeaders.contains(headerName)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static long lifetimeMillis(CacheDirectives directives, MultiMap responseHeaders, long nowMillis) {
+        if (directives.noCache) {
+            return 0;
+        }
+        if (directives.sharedMaxAgeSeconds >= 0) {
+            return directives.sharedMaxAgeSeconds * 1000;
+        }
+        if (directives.maxAgeSeconds >= 0) {
+            return directives.maxAgeSeconds * 1000;
+        }
+        String expires = responseHeaders.get(EXPIRES);
+        if (expires == null) {
+            return -1;
+        }
+        String date = responseHeaders.get(DATE);
+        long dateMillis = date != null ? parseHttpDate(date, nowMillis) : nowMillis;
+        return parseHttpDate(expires, 0) - dateMillis;
+    }
+
+    // an invalid Expires date means already expired
+    private static long parseHttpDate(String value, long defaultMillis) {
+        try {
+            return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return defaultMillis;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package org.acme.edgy.runtime.builtins.cache;
+
+import static org.acme.edgy.runtime.builtins.cache.RequestCacheLookup.CACHE_HIT;
+import static org.acme.edgy.runtime.builtins.cache.RequestCacheLookup.CACHE_KEY;
+import static org.acme.edgy.runtime.builtins.cache.RequestCacheLookup.REVALIDATED_ENTRY;
+
+import java.util.Objects;
+
+import org.acme.edgy.runtime.api.ResponseTransformer;
+
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.httpproxy.Body;
+import io.vertx.httpproxy.ProxyContext;
+import io.vertx.httpproxy.ProxyResponse;
+
+/**
+ * Stores the cacheable origin responses into a {@link ResponseCache} while they are sent to the
+ * client, and serves the cached entry when the origin confirms it with a {@code 304 Not Modified}.
+ * Must be paired with a {@link RequestCacheLookup} on the same cache.
+ */
+public class ResponseCacheStore implements ResponseTransformer {
+
+    private static final int NOT_MODIFIED = 304;
+
+    private final ResponseCache cache;
+
+    public ResponseCacheStore(ResponseCache cache) {
+        this.cache = Objects.requireNonNull(cache);
+    }
+
+    @Override
+    public Future<Void> apply(ProxyContext proxyContext) {
+        String key = proxyContext.get(CACHE_KEY, String.class);
+        if (key == null || proxyContext.get(CACHE_HIT, Boolean.class) != null) {
+            return proxyContext.sendResponse();
+        }
+
+        ProxyResponse response = proxyContext.response();
+        long now = System.currentTimeMillis();
+        CacheEntry revalidatedEntry = proxyContext.get(REVALIDATED_ENTRY, CacheEntry.class);
+        if (revalidatedEntry != null && response.getStatusCode() == NOT_MODIFIED) {
+            CacheEntry entry = cache.revalidated(revalidatedEntry, response.headers(), now);
+            cache.put(key, entry);
+            ResponseCache.serve(response, entry, now);
+            return proxyContext.sendResponse();
+        }
+
+        int statusCode = response.getStatusCode();
+        MultiMap headers = response.headers();
+        long freshUntil = cache.freshUntil(proxyContext.request().headers(), statusCode, headers, now);
+        if (freshUntil < 0) {
+            return proxyContext.sendResponse();
+        }
+
+        String statusMessage = response.getStatusMessage();
+        // copied now, the response transformers running after this one do not change the stored
+        // response
+        MultiMap storedHeaders = ResponseCache.storedHeaders(headers);
+        Body body = response.getBody();
+        if (body == null) {
+            cache.put(key, new CacheEntry(statusCode, statusMessage, storedHeaders, Buffer.buffer(), now, freshUntil));
+            return proxyContext.sendResponse();
+        }
+        if (body.length() > cache.maxEntrySizeInBytes()) {
+            return proxyContext.sendResponse();
+        }
+        response.setBody(Body.body(new CapturingReadStream(body.stream(), cache.maxEntrySizeInBytes(),
+                captured -> cache.put(key, new CacheEntry(statusCode, statusMessage, storedHeaders, captured, now,
+                        freshUntil))),
+                body.length()));
+        return proxyContext.sendResponse();
+    }
+}
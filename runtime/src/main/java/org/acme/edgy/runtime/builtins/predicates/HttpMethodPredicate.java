@@ -0,0 +1,44 @@
+package org.acme.edgy.runtime.builtins.predicates;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+import org.acme.edgy.runtime.api.KeyedRoutingPredicate;
+
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Matches when the request method is one of the given methods.
+ */
+public class HttpMethodPredicate implements KeyedRoutingPredicate {
+
+    private static final String KEY = "method";
+
+    private final Set<String> values;
+
+    public HttpMethodPredicate(HttpMethod method, HttpMethod... methods) {
+        Set<String> names = new HashSet<>();
+        names.add(Objects.requireNonNull(method, "method").name());
+        for (HttpMethod other : methods) {
+            names.add(Objects.requireNonNull(other, "method").name());
+        }
+        this.values = Set.copyOf(names);
+    }
+
+    @Override
+    public String key() {
+        return KEY;
+    }
+
+    @Override
+    public Set<String> values() {
+        return values;
+    }
+
+    @Override
+    public String extract(RoutingContext rc) {
+        return rc.request().method().name();
+    }
+}
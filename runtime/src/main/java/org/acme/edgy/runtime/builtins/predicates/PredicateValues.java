@@ -0,0 +1,20 @@
+package org.acme.edgy.runtime.builtins.predicates;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+final class PredicateValues {
+
+    private PredicateValues() {
+    }
+
+    static Set<String> of(String value, String... values) {
+        Set<String> all = new HashSet<>();
+        all.add(Objects.requireNonNull(value, "value"));
+        for (String other : values) {
+            all.add(Objects.requireNonNull(other, "value"));
+        }
+        return Set.copyOf(all);
+    }
+}
@@ -0,0 +1,39 @@
+package org.acme.edgy.runtime.builtins.predicates;
+
+import java.util.Objects;
+import java.util.Set;
+
+import org.acme.edgy.runtime.api.KeyedRoutingPredicate;
+
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Matches when the first value of a query parameter is one of the given values.
+ */
+public class QueryParameterPredicate implements KeyedRoutingPredicate {
+
+    private final String name;
+    private final String key;
+    private final Set<String> values;
+
+    public QueryParameterPredicate(String name, String value, String... values) {
+        this.name = Objects.requireNonNull(name, "name");
+        this.key = "query:" + name;
+        this.values = PredicateValues.of(value, values);
+    }
+
+    @Override
+    public String key() {
+        return key;
+    }
+
+    @Override
+    public Set<String> values() {
+        return values;
+    }
+
+    @Override
+    public String extract(RoutingContext rc) {
+        return rc.request().getParam(name);
+    }
+}
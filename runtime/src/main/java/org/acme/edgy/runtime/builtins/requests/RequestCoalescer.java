@@ -0,0 +1,184 @@
+package org.acme.edgy.runtime.builtins.requests;
+
+import static jakarta.ws.rs.core.HttpHeaders.AUTHORIZATION;
+import static jakarta.ws.rs.core.HttpHeaders.CONTENT_LENGTH;
+import static jakarta.ws.rs.core.HttpHeaders.COOKIE;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.acme.edgy.runtime.api.RequestTransformer;
+import org.acme.edgy.runtime.builtins.BodyAggregator;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.httpproxy.Body;
+import io.vertx.httpproxy.ProxyContext;
+import io.vertx.httpproxy.ProxyRequest;
+import io.vertx.httpproxy.ProxyResponse;
+
+/**
+ * Coalesces identical in-flight {@code GET} requests, keyed by the origin URI and the selected
+ * request headers: the first request is sent to the origin, and the identical requests arriving
+ * before its response are answered with a copy of it instead of being sent.
+ * <p>
+ * Only responses whose {@code Content-Length} is at most the maximum body size are shared, the
+ * waiting requests are sent to the origin otherwise, as well as the requests arriving once the
+ * maximum number of waiters is reached. Should be the last request transformer of the route, so
+ * the key reflects the request actually sent to the origin.
+ * <p>
+ * The requests carrying credentials, an {@code Authorization} or a {@code Cookie} header, are only
+ * coalesced when that header is one of the key headers, so that a response is never shared between
+ * users. They are sent to the origin otherwise. The cookies set by the response are only sent to
+ * the client of the first request.
+ */
+public class RequestCoalescer implements RequestTransformer {
+
+    // hop-by-hop headers, the length set from the shared body, and the cookies set for the first client
+    private static final Set<String> NOT_SHARED_HEADERS = Set.of("connection", "keep-alive", "transfer-encoding",
+            "upgrade", "content-length", "set-cookie");
+    private static final char KEY_SEPARATOR = '\n';
+
+    private final int maxWaiters;
+    private final long maxBodySizeInBytes;
+    private final List<String> keyHeaders;
+    // the credential headers that are not part of the key, whose requests are not coalesced
+    private final List<String> unkeyedCredentialHeaders;
+    private final Map<String, InFlightRequest> inFlightRequests = new ConcurrentHashMap<>();
+
+    public RequestCoalescer(int maxWaiters, long maxBodySizeInBytes, String... keyHeaders) {
+        if (maxWaiters < 1) {
+            throw new IllegalArgumentException("maxWaiters must be positive");
+        }
+        if (maxBodySizeInBytes < 0) {
+            throw new IllegalArgumentException("maxBodySizeInBytes must not be negative");
+        }
+        this.maxWaiters = maxWaiters;
+        this.maxBodySizeInBytes = maxBodySizeInBytes;
+        this.keyHeaders = List.of(Objects.requireNonNull(keyHeaders));
+        this.unkeyedCredentialHeaders = Stream.of(AUTHORIZATION, COOKIE)
+                .filter(credentialHeader -> this.keyHeaders.stream().noneMatch(credentialHeader::equalsIgnoreCase))
+                .toList();
+    }
+
+    @Override
+    public Future<ProxyResponse> apply(ProxyContext proxyContext) {
+        ProxyRequest request = proxyContext.request();
+        if (request.getMethod() != HttpMethod.GET || hasUnkeyedCredentials(request.headers())) {
+            return proxyContext.sendRequest();
+        }
+
+        String key = key(request);
+        InFlightRequest inFlightRequest = new InFlightRequest();
+        InFlightRequest leader = inFlightRequests.putIfAbsent(key, inFlightRequest);
+        if (leader != null) {
+            return awaitLeader(leader, proxyContext);
+        }
+        return proxyContext.sendRequest()
+                .compose(response -> share(key, inFlightRequest, response))
+                .onFailure(failure -> {
+                    inFlightRequests.remove(key, inFlightRequest);
+                    inFlightRequest.result.tryFail(failure);
+                });
+    }
+
+    private boolean hasUnkeyedCredentials(MultiMap headers) {
+        for (String credentialHeader : unkeyedCredentialHeaders) {
+            if (headers.contains(credentialHeader)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String key(ProxyRequest request) {
+        StringBuilder key = new StringBuilder(request.getURI());
+        MultiMap headers = request.headers();
+        for (String name : keyHeaders) {
+            key.append(KEY_SEPARATOR).append(name).append(':').append(headers.getAll(name));
+        }
+        return key.toString();
+    }
+
+    private Future<ProxyResponse> share(String key, InFlightRequest inFlightRequest, ProxyResponse response) {
+        // requests arriving from now on are sent to the origin, rather than getting an older response
+        inFlightRequests.remove(key, inFlightRequest);
+        Body body = response.getBody();
+        if (body == null) {
+            inFlightRequest.result.tryComplete(new SharedResponse(response, Buffer.buffer()));
+            return Future.succeededFuture(response);
+        }
+        if (body.length() < 0 || body.length() > maxBodySizeInBytes) {
+            inFlightRequest.result.tryFail("Response body cannot be shared");
+            return Future.succeededFuture(response);
+        }
+        // the body is kept for the waiting requests, it is not pooled
+        return BodyAggregator.aggregate(body, maxBodySizeInBytes).map(buffer -> {
+            response.setBody(Body.body(buffer));
+            inFlightRequest.result.tryComplete(new SharedResponse(response, buffer));
+            return response;
+        });
+    }
+
+    private Future<ProxyResponse> awaitLeader(InFlightRequest leader, ProxyContext proxyContext) {
+        if (leader.waiters.incrementAndGet() > maxWaiters) {
+            return proxyContext.sendRequest();
+        }
+        // the leader may complete on another event loop
+        Context context = Vertx.currentContext();
+        Promise<ProxyResponse> promise = Promise.promise();
+        leader.result.future().onComplete(sharedResponse -> context.runOnContext(v -> {
+            if (sharedResponse.succeeded()) {
+                ProxyResponse response = proxyContext.request().release().response();
+                sharedResponse.result().applyTo(response);
+                promise.complete(response);
+            } else {
+                proxyContext.sendRequest().onComplete(promise);
+            }
+        }));
+        return promise.future();
+    }
+
+    private static final class InFlightRequest {
+
+        private final Promise<SharedResponse> result = Promise.promise();
+        private final AtomicInteger waiters = new AtomicInteger();
+    }
+
+    private static final class SharedResponse {
+
+        private final int statusCode;
+        private final String statusMessage;
+        private final MultiMap headers = MultiMap.caseInsensitiveMultiMap();
+        private final Buffer body;
+
+        private SharedResponse(ProxyResponse response, Buffer body) {
+            this.statusCode = response.getStatusCode();
+            this.statusMessage = response.getStatusMessage();
+            for (Map.Entry<String, String> header : response.headers()) {
+                if (!NOT_SHARED_HEADERS.contains(header.getKey().toLowerCase(Locale.ROOT))) {
+                    headers.add(header.getKey(), header.getValue());
+                }
+            }
+            this.body = body;
+        }
+
+        private void applyTo(ProxyResponse response) {
+            response.setStatusCode(statusCode);
+            response.setStatusMessage(statusMessage);
+            response.headers().clear().addAll(headers).set(CONTENT_LENGTH, String.valueOf(body.length()));
+            response.setBody(Body.body(body.slice()));
+        }
+    }
+}
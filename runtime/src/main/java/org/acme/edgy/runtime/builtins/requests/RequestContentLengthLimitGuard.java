@@ -7,15 +7,25 @@ import java.util.function.Function;
 
 import org.acme.edgy.runtime.api.RequestTransformer;
 import org.acme.edgy.runtime.api.utils.ProxyErrorResponseBuilder;
+import org.acme.edgy.runtime.builtins.SizeLimitingReadStream;
 
 import io.vertx.core.Future;
+import io.vertx.httpproxy.Body;
 import io.vertx.httpproxy.ProxyContext;
 import io.vertx.httpproxy.ProxyRequest;
 import io.vertx.httpproxy.ProxyResponse;
 
+/**
+ * Rejects the requests whose body exceeds a limit with a {@code 413} response. A declared
+ * {@code Content-Length} above the limit is rejected before the origin is contacted. The body
+ * itself is counted while it is streamed to the origin, which also covers chunked requests: the
+ * origin request is reset as soon as the limit is crossed.
+ */
 public class RequestContentLengthLimitGuard implements RequestTransformer {
 
     private static final String ERROR_MESSAGE_TEMPLATE = "Request content length %d exceeds the limit of %d";
+    private static final String STREAMED_ERROR_MESSAGE_TEMPLATE = "Request content length exceeds the limit of %d";
+    private static final String INVALID_ERROR_MESSAGE_TEMPLATE = "Invalid request content length %s";
 
     private final Function<ProxyContext, Long> mapper;
 
@@ -30,15 +40,53 @@ public class RequestContentLengthLimitGuard implements RequestTransformer {
     @Override
     public Future<ProxyResponse> apply(ProxyContext proxyContext) {
         ProxyRequest request = proxyContext.request();
-        Long contentLengthLimit = mapper.apply(proxyContext);
-        long actualContentLength = Long.parseLong(request.headers().get(CONTENT_LENGTH));
-
-        if (actualContentLength > contentLengthLimit) {
-            return ProxyErrorResponseBuilder.create(proxyContext)
-                    .payloadTooLarge()
-                    .message(ERROR_MESSAGE_TEMPLATE.formatted(actualContentLength, contentLengthLimit))
-                    .sendResponseInRequestTransformer();
+        long contentLengthLimit = mapper.apply(proxyContext);
+        String contentLength = request.headers().get(CONTENT_LENGTH);
+
+        if (contentLength != null) {
+            long actualContentLength = parseContentLength(contentLength);
+            if (actualContentLength < 0) {
+                return ProxyErrorResponseBuilder.create(proxyContext)
+                        .badRequest()
+                        .message(INVALID_ERROR_MESSAGE_TEMPLATE.formatted(contentLength))
+                        .sendResponseInRequestTransformer();
+            }
+            if (actualContentLength > contentLengthLimit) {
+                return payloadTooLarge(proxyContext,
+                        ERROR_MESSAGE_TEMPLATE.formatted(actualContentLength, contentLengthLimit));
+            }
+        }
+
+        Body body = request.getBody();
+        if (body == null) {
+            return proxyContext.sendRequest();
+        }
+        SizeLimitingReadStream limitedStream = new SizeLimitingReadStream(body.stream(), contentLengthLimit);
+        request.setBody(Body.body(limitedStream, body.length()));
+        return proxyContext.sendRequest().recover(throwable -> {
+            if (limitedStream.limitExceeded()) {
+                return payloadTooLarge(proxyContext, STREAMED_ERROR_MESSAGE_TEMPLATE.formatted(contentLengthLimit));
+            }
+            // will transform to 502 Bad Gateway
+            return Future.failedFuture(throwable);
+        });
+    }
+
+    /**
+     * @return the declared length, -1 if it is not a non-negative number
+     */
+    private static long parseContentLength(String contentLength) {
+        try {
+            return Math.max(Long.parseLong(contentLength.trim()), -1);
+        } catch (NumberFormatException e) {
+            return -1;
         }
-        return proxyContext.sendRequest();
+    }
+
+    private static Future<ProxyResponse> payloadTooLarge(ProxyContext proxyContext, String message) {
+        return ProxyErrorResponseBuilder.create(proxyContext)
+                .payloadTooLarge()
+                .message(message)
+                .sendResponseInRequestTransformer();
     }
 }
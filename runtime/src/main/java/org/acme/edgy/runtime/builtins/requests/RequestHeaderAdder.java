@@ -3,13 +3,11 @@ package org.acme.edgy.runtime.builtins.requests;
 import java.util.Objects;
 import java.util.function.Function;
 
-import org.acme.edgy.runtime.api.RequestTransformer;
+import org.acme.edgy.runtime.api.SyncRequestTransformer;
 
-import io.vertx.core.Future;
 import io.vertx.httpproxy.ProxyContext;
-import io.vertx.httpproxy.ProxyResponse;
 
-public class RequestHeaderAdder implements RequestTransformer {
+public class RequestHeaderAdder implements SyncRequestTransformer {
 
     private final String name;
     private final Function<ProxyContext, String> mapper;
@@ -24,8 +22,7 @@ public class RequestHeaderAdder implements RequestTransformer {
     }
 
     @Override
-    public Future<ProxyResponse> apply(ProxyContext proxyContext) {
+    public void transform(ProxyContext proxyContext) {
         proxyContext.request().putHeader(name, mapper.apply(proxyContext));
-        return proxyContext.sendRequest();
     }
 }
@@ -3,13 +3,11 @@ package org.acme.edgy.runtime.builtins.requests;
 import java.util.Objects;
 import java.util.function.Function;
 
-import org.acme.edgy.runtime.api.RequestTransformer;
+import org.acme.edgy.runtime.api.SyncRequestTransformer;
 
-import io.vertx.core.Future;
 import io.vertx.httpproxy.ProxyContext;
-import io.vertx.httpproxy.ProxyResponse;
 
-public class RequestHeaderModifier implements RequestTransformer {
+public class RequestHeaderModifier implements SyncRequestTransformer {
     private final String name;
     private final Function<ProxyContext, String> mapper;
 
@@ -23,10 +21,9 @@ public class RequestHeaderModifier implements RequestTransformer {
     }
 
     @Override
-    public Future<ProxyResponse> apply(ProxyContext proxyContext) {
+    public void transform(ProxyContext proxyContext) {
         if (proxyContext.request().headers().contains(name)) {
             proxyContext.request().headers().set(name, mapper.apply(proxyContext));
         }
-        return proxyContext.sendRequest();
     }
 }
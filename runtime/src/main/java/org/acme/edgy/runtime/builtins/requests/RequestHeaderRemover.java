@@ -1,12 +1,10 @@
 package org.acme.edgy.runtime.builtins.requests;
 
-import org.acme.edgy.runtime.api.RequestTransformer;
+import org.acme.edgy.runtime.api.SyncRequestTransformer;
 
-import io.vertx.core.Future;
 import io.vertx.httpproxy.ProxyContext;
-import io.vertx.httpproxy.ProxyResponse;
 
-public class RequestHeaderRemover implements RequestTransformer {
+public class RequestHeaderRemover implements SyncRequestTransformer {
 
     private final String name;
 
@@ -15,8 +13,7 @@ public class RequestHeaderRemover implements RequestTransformer {
     }
 
     @Override
-    public Future<ProxyResponse> apply(ProxyContext proxyContext) {
+    public void transform(ProxyContext proxyContext) {
         proxyContext.request().headers().remove(name);
-        return proxyContext.sendRequest();
     }
 }
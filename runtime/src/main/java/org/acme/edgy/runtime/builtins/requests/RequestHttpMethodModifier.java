@@ -3,14 +3,12 @@ package org.acme.edgy.runtime.builtins.requests;
 import java.util.Objects;
 import java.util.function.Function;
 
-import org.acme.edgy.runtime.api.RequestTransformer;
+import org.acme.edgy.runtime.api.SyncRequestTransformer;
 
-import io.vertx.core.Future;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.httpproxy.ProxyContext;
-import io.vertx.httpproxy.ProxyResponse;
 
-public class RequestHttpMethodModifier implements RequestTransformer {
+public class RequestHttpMethodModifier implements SyncRequestTransformer {
 
     private final Function<ProxyContext, HttpMethod> mapper;
 
@@ -23,8 +21,7 @@ public class RequestHttpMethodModifier implements RequestTransformer {
     }
 
     @Override
-    public Future<ProxyResponse> apply(ProxyContext proxyContext) {
+    public void transform(ProxyContext proxyContext) {
         proxyContext.request().setMethod(mapper.apply(proxyContext));
-        return proxyContext.sendRequest();
     }
 }
@@ -4,17 +4,16 @@ import java.util.function.BiFunction;
 import java.util.function.Function;
 
 import org.acme.edgy.runtime.api.RequestTransformer;
-import org.acme.edgy.runtime.api.utils.ProxyErrorResponseBuilder;
 import org.acme.edgy.runtime.builtins.AbstractJsonArrayBodyModifier;
 
 import io.vertx.core.Future;
-import io.vertx.core.json.DecodeException;
+import io.vertx.core.MultiMap;
 import io.vertx.core.json.JsonArray;
 import io.vertx.httpproxy.Body;
 import io.vertx.httpproxy.ProxyContext;
 import io.vertx.httpproxy.ProxyResponse;
 
-public class RequestJsonArrayBodyModifier extends AbstractJsonArrayBodyModifier
+public class RequestJsonArrayBodyModifier extends AbstractJsonArrayBodyModifier<RequestJsonArrayBodyModifier>
         implements RequestTransformer {
 
     public RequestJsonArrayBodyModifier(BiFunction<ProxyContext, JsonArray, JsonArray> mapper) {
@@ -31,20 +30,7 @@ public class RequestJsonArrayBodyModifier extends AbstractJsonArrayBodyModifier
 
     @Override
     public Future<ProxyResponse> apply(ProxyContext proxyContext) {
-        if (mapper == null) {
-            return applyStaticBody(proxyContext, ProxyContext::sendRequest);
-        }
-
-        return applyDynamicBody(proxyContext, ProxyContext::sendRequest).recover(throwable -> {
-            if (throwable instanceof DecodeException) {
-                return ProxyErrorResponseBuilder.create(proxyContext)
-                        .badRequest()
-                        .message(throwable.getMessage())
-                        .sendResponseInRequestTransformer();
-            }
-            return Future.failedFuture(throwable);
-        });
-
+        return applyToRequest(proxyContext);
     }
 
     // @Override
@@ -71,4 +57,9 @@ public class RequestJsonArrayBodyModifier extends AbstractJsonArrayBodyModifier
     protected void setBody(ProxyContext proxyContext, Body body) {
         proxyContext.request().setBody(body);
     }
+
+    @Override
+    protected MultiMap getHeaders(ProxyContext proxyContext) {
+        return proxyContext.request().headers();
+    }
 }
@@ -4,11 +4,10 @@ import java.util.function.BiFunction;
 import java.util.function.Function;
 
 import org.acme.edgy.runtime.api.RequestTransformer;
-import org.acme.edgy.runtime.api.utils.ProxyErrorResponseBuilder;
 import org.acme.edgy.runtime.builtins.AbstractJsonArrayToJsonObjectBodyModifier;
 
 import io.vertx.core.Future;
-import io.vertx.core.json.DecodeException;
+import io.vertx.core.MultiMap;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.httpproxy.Body;
@@ -20,7 +19,8 @@ import io.vertx.httpproxy.ProxyResponse;
  * transforming array responses into structured objects.
  */
 public class RequestJsonArrayToJsonObjectBodyModifier
-        extends AbstractJsonArrayToJsonObjectBodyModifier implements RequestTransformer {
+        extends AbstractJsonArrayToJsonObjectBodyModifier<RequestJsonArrayToJsonObjectBodyModifier>
+        implements RequestTransformer {
 
     public RequestJsonArrayToJsonObjectBodyModifier(
             BiFunction<ProxyContext, JsonArray, JsonObject> mapper) {
@@ -34,15 +34,7 @@ public class RequestJsonArrayToJsonObjectBodyModifier
 
     @Override
     public Future<ProxyResponse> apply(ProxyContext proxyContext) {
-        return applyDynamicBody(proxyContext, ProxyContext::sendRequest).recover(throwable -> {
-            if (throwable instanceof DecodeException) {
-                return ProxyErrorResponseBuilder.create(proxyContext)
-                        .badRequest()
-                        .message(throwable.getMessage())
-                        .sendResponseInRequestTransformer();
-            }
-            return Future.failedFuture(throwable);
-        });
+        return applyToRequest(proxyContext);
     }
 
     @Override
@@ -54,4 +46,9 @@ public class RequestJsonArrayToJsonObjectBodyModifier
     protected void setBody(ProxyContext proxyContext, Body body) {
         proxyContext.request().setBody(body);
     }
+
+    @Override
+    protected MultiMap getHeaders(ProxyContext proxyContext) {
+        return proxyContext.request().headers();
+    }
 }
@@ -4,17 +4,16 @@ import java.util.function.BiFunction;
 import java.util.function.Function;
 
 import org.acme.edgy.runtime.api.RequestTransformer;
-import org.acme.edgy.runtime.api.utils.ProxyErrorResponseBuilder;
 import org.acme.edgy.runtime.builtins.AbstractJsonObjectBodyModifier;
 
 import io.vertx.core.Future;
-import io.vertx.core.json.DecodeException;
+import io.vertx.core.MultiMap;
 import io.vertx.core.json.JsonObject;
 import io.vertx.httpproxy.Body;
 import io.vertx.httpproxy.ProxyContext;
 import io.vertx.httpproxy.ProxyResponse;
 
-public class RequestJsonObjectBodyModifier extends AbstractJsonObjectBodyModifier
+public class RequestJsonObjectBodyModifier extends AbstractJsonObjectBodyModifier<RequestJsonObjectBodyModifier>
         implements RequestTransformer {
 
     public RequestJsonObjectBodyModifier(BiFunction<ProxyContext, JsonObject, JsonObject> mapper) {
@@ -31,20 +30,7 @@ public class RequestJsonObjectBodyModifier extends AbstractJsonObjectBodyModifie
 
     @Override
     public Future<ProxyResponse> apply(ProxyContext proxyContext) {
-        if (mapper == null) {
-            return applyStaticBody(proxyContext, ProxyContext::sendRequest);
-        }
-
-        return applyDynamicBody(proxyContext, ProxyContext::sendRequest).recover(throwable -> {
-            if (throwable instanceof DecodeException) {
-                return ProxyErrorResponseBuilder.create(proxyContext)
-                        .badRequest()
-                        .message(throwable.getMessage())
-                        .sendResponseInRequestTransformer();
-            }
-            return Future.failedFuture(throwable);
-        });
-
+        return applyToRequest(proxyContext);
     }
 
     // @Override
@@ -71,4 +57,9 @@ public class RequestJsonObjectBodyModifier extends AbstractJsonObjectBodyModifie
     protected void setBody(ProxyContext proxyContext, Body body) {
         proxyContext.request().setBody(body);
     }
+
+    @Override
+    protected MultiMap getHeaders(ProxyContext proxyContext) {
+        return proxyContext.request().headers();
+    }
 }
@@ -9,16 +9,12 @@ import java.util.Collection;
 import java.util.Objects;
 import java.util.function.Function;
 
-import jakarta.ws.rs.core.UriBuilder;
+import org.acme.edgy.runtime.api.SyncRequestTransformer;
+import org.acme.edgy.runtime.api.utils.QueryStringEditor;
 
-import org.acme.edgy.runtime.api.RequestTransformer;
-import org.acme.edgy.runtime.api.utils.QueryParamUtils;
-
-import io.vertx.core.Future;
 import io.vertx.httpproxy.ProxyContext;
-import io.vertx.httpproxy.ProxyResponse;
 
-public class RequestQueryParameterAdder implements RequestTransformer {
+public class RequestQueryParameterAdder implements SyncRequestTransformer {
 
     private final String name;
     private final Function<ProxyContext, Collection<?>> mapper;
@@ -43,22 +39,16 @@ public class RequestQueryParameterAdder implements RequestTransformer {
     }
 
     @Override
-    public Future<ProxyResponse> apply(ProxyContext proxyContext) {
-        // while uriBuilder encodes its inputs, it does not encodes '%' sign, if by any chance the
-        // input is already encoded, so to properly encode '%' sign we need to encode the inputs
-        // ourselves
+    public void transform(ProxyContext proxyContext) {
         Collection<?> values = mapper.apply(proxyContext);
-        UriBuilder uriBuilder = UriBuilder.fromUri(proxyContext.request().getURI());
+        QueryStringEditor query = QueryStringEditor.of(proxyContext);
         String encodedName = urlEncode(name);
         if (values == null || values.isEmpty()) {
-            uriBuilder.queryParam(encodedName, EMPTY_QUERY_VALUE);
+            query.add(encodedName, EMPTY_QUERY_VALUE);
         } else {
-            uriBuilder.queryParam(encodedName,
-                    values.stream().map(String::valueOf)
-                            .map(QueryParamUtils::urlEncode).toArray());
+            for (Object value : values) {
+                query.add(encodedName, urlEncode(String.valueOf(value)));
+            }
         }
-        String finalURI = uriBuilder.build().toString();
-        proxyContext.request().setURI(finalURI);
-        return proxyContext.sendRequest();
     }
 }
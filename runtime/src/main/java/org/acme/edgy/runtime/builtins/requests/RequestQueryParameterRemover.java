@@ -8,15 +8,12 @@ import java.util.Collection;
 import java.util.Objects;
 import java.util.function.Function;
 
-import jakarta.ws.rs.core.UriBuilder;
+import org.acme.edgy.runtime.api.SyncRequestTransformer;
+import org.acme.edgy.runtime.api.utils.QueryStringEditor;
 
-import org.acme.edgy.runtime.api.RequestTransformer;
-
-import io.vertx.core.Future;
 import io.vertx.httpproxy.ProxyContext;
-import io.vertx.httpproxy.ProxyResponse;
 
-public class RequestQueryParameterRemover implements RequestTransformer {
+public class RequestQueryParameterRemover implements SyncRequestTransformer {
 
     private final Function<ProxyContext, Collection<String>> mapper;
 
@@ -36,17 +33,11 @@ public class RequestQueryParameterRemover implements RequestTransformer {
     }
 
     @Override
-    public Future<ProxyResponse> apply(ProxyContext proxyContext) {
-        // while uriBuilder encodes its inputs, it does not encodes '%' sign, if by any chance the
-        // input is already encoded, so to properly encode '%' sign we need to encode the inputs
-        // ourselves
+    public void transform(ProxyContext proxyContext) {
         Collection<String> namesToBeRemoved = mapper.apply(proxyContext);
-        UriBuilder uriBuilder = UriBuilder.fromUri(proxyContext.request().getURI());
+        QueryStringEditor query = QueryStringEditor.of(proxyContext);
         for (String name : namesToBeRemoved) {
-            uriBuilder.replaceQueryParam(urlEncode(name));
+            query.remove(urlEncode(name));
         }
-        String finalURI = uriBuilder.build().toString();
-        proxyContext.request().setURI(finalURI);
-        return proxyContext.sendRequest();
     }
-}
\ No newline at end of file
+}
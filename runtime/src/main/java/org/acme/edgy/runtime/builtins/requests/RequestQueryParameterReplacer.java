@@ -1,25 +1,21 @@
 package org.acme.edgy.runtime.builtins.requests;
 
 import static org.acme.edgy.runtime.api.utils.QueryParamUtils.EMPTY_QUERY_VALUE;
-import static org.acme.edgy.runtime.api.utils.QueryParamUtils.extractEncodedQueryNames;
 import static org.acme.edgy.runtime.api.utils.QueryParamUtils.urlEncode;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
 
-import jakarta.ws.rs.core.UriBuilder;
+import org.acme.edgy.runtime.api.SyncRequestTransformer;
+import org.acme.edgy.runtime.api.utils.QueryStringEditor;
 
-import org.acme.edgy.runtime.api.RequestTransformer;
-import org.acme.edgy.runtime.api.utils.QueryParamUtils;
-
-import io.vertx.core.Future;
 import io.vertx.httpproxy.ProxyContext;
-import io.vertx.httpproxy.ProxyResponse;
 
-public class RequestQueryParameterReplacer implements RequestTransformer {
+public class RequestQueryParameterReplacer implements SyncRequestTransformer {
 
     private final String name;
     private final Function<ProxyContext, Collection<?>> mapper;
@@ -45,26 +41,21 @@ public class RequestQueryParameterReplacer implements RequestTransformer {
     }
 
     @Override
-    public Future<ProxyResponse> apply(ProxyContext proxyContext) {
-        // while uriBuilder encodes its inputs, it does not encodes '%' sign, if by any chance the
-        // input is already encoded, so to properly encode '%' sign we need to encode the inputs
-        // ourselves
-        String uri = proxyContext.request().getURI();
+    public void transform(ProxyContext proxyContext) {
+        QueryStringEditor query = QueryStringEditor.of(proxyContext);
         String encodedName = urlEncode(name);
-        if (!extractEncodedQueryNames(uri).contains(encodedName)) {
-            // UriBuilder#replaceQueryParam adds the query param if the name does not exist
-            return proxyContext.sendRequest();
+        if (!query.contains(encodedName)) {
+            return;
         }
-        UriBuilder uriBuilder = UriBuilder.fromUri(uri);
         Collection<?> values = mapper.apply(proxyContext);
         if (values == null || values.isEmpty()) {
-            uriBuilder.replaceQueryParam(encodedName, EMPTY_QUERY_VALUE);
+            query.replace(encodedName, List.of(EMPTY_QUERY_VALUE));
         } else {
-            uriBuilder.replaceQueryParam(encodedName,
-                    values.stream().map(String::valueOf).map(QueryParamUtils::urlEncode).toArray());
+            List<String> encodedValues = new ArrayList<>(values.size());
+            for (Object value : values) {
+                encodedValues.add(urlEncode(String.valueOf(value)));
+            }
+            query.replace(encodedName, encodedValues);
         }
-        String finalURI = uriBuilder.build().toString();
-        proxyContext.request().setURI(finalURI);
-        return proxyContext.sendRequest();
     }
 }
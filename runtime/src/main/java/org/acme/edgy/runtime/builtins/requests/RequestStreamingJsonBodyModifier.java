@@ -0,0 +1,38 @@
+package org.acme.edgy.runtime.builtins.requests;
+
+import org.acme.edgy.runtime.api.RequestTransformer;
+import org.acme.edgy.runtime.builtins.AbstractStreamingJsonBodyModifier;
+import org.acme.edgy.runtime.builtins.JsonFieldEdits;
+
+import io.vertx.core.Future;
+import io.vertx.httpproxy.Body;
+import io.vertx.httpproxy.ProxyContext;
+import io.vertx.httpproxy.ProxyRequest;
+import io.vertx.httpproxy.ProxyResponse;
+
+public class RequestStreamingJsonBodyModifier extends AbstractStreamingJsonBodyModifier
+        implements RequestTransformer {
+
+    public RequestStreamingJsonBodyModifier(JsonFieldEdits edits) {
+        super(edits);
+    }
+
+    /**
+     * @param maxDecodedBodySizeInBytes the maximum size of a {@code gzip} or {@code deflate} body
+     *        once decompressed
+     */
+    public RequestStreamingJsonBodyModifier maxDecodedBodySize(long maxDecodedBodySizeInBytes) {
+        setMaxDecodedBodySize(maxDecodedBodySizeInBytes);
+        return this;
+    }
+
+    @Override
+    public Future<ProxyResponse> apply(ProxyContext proxyContext) {
+        ProxyRequest request = proxyContext.request();
+        Body body = request.getBody();
+        if (body != null) {
+            request.setBody(editBody(body, request.headers()));
+        }
+        return proxyContext.sendRequest();
+    }
+}
@@ -0,0 +1,227 @@
+package org.acme.edgy.runtime.builtins.responses;
+
+import static jakarta.ws.rs.core.HttpHeaders.ACCEPT_ENCODING;
+import static jakarta.ws.rs.core.HttpHeaders.CACHE_CONTROL;
+import static jakarta.ws.rs.core.HttpHeaders.CONTENT_ENCODING;
+import static jakarta.ws.rs.core.HttpHeaders.CONTENT_LENGTH;
+import static jakarta.ws.rs.core.HttpHeaders.CONTENT_TYPE;
+import static jakarta.ws.rs.core.HttpHeaders.ETAG;
+import static jakarta.ws.rs.core.HttpHeaders.VARY;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.Deflater;
+
+import org.acme.edgy.runtime.api.ResponseTransformer;
+import org.acme.edgy.runtime.builtins.ContentEncoding;
+
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.httpproxy.Body;
+import io.vertx.httpproxy.ProxyContext;
+import io.vertx.httpproxy.ProxyResponse;
+
+/**
+ * Compresses the responses with the {@code gzip} or {@code deflate} coding preferred by the
+ * client's {@code Accept-Encoding} header, chunk by chunk while they are streamed. The compressed
+ * response is sent chunked, with {@code Vary: Accept-Encoding} and a weak {@code ETag}.
+ * <p>
+ * Responses that are already encoded, smaller than the minimum size, marked {@code no-transform},
+ * without a content type, or with a content type that is already compressed (images, audio,
+ * video, archives, fonts) are sent unchanged.
+ */
+public class ResponseCompressor implements ResponseTransformer {
+
+    public static final long DEFAULT_MIN_SIZE_IN_BYTES = 1024;
+
+    private static final String IDENTITY = "identity";
+    private static final String ANY = "*";
+    private static final String NO_TRANSFORM = "no-transform";
+    private static final String WEAK_ETAG_PREFIX = "W/";
+    private static final Set<String> COMPRESSED_TYPES = Set.of("image", "audio", "video", "font");
+    private static final Set<String> COMPRESSIBLE_MEDIA_TYPES = Set.of("image/svg+xml", "image/bmp",
+            "image/x-icon", "font/ttf", "font/otf");
+    private static final Set<String> COMPRESSED_MEDIA_TYPES = Set.of("application/zip", "application/gzip",
+            "application/x-gzip", "application/zstd", "application/x-bzip2", "application/x-xz",
+            "application/x-7z-compressed", "application/x-rar-compressed", "application/vnd.rar",
+            "application/java-archive");
+
+    private int level = Deflater.DEFAULT_COMPRESSION;
+    private long minSizeInBytes = DEFAULT_MIN_SIZE_IN_BYTES;
+    private List<ContentEncoding> encodings = List.of(ContentEncoding.GZIP, ContentEncoding.DEFLATE);
+    private final Set<String> excludedMediaTypes = new HashSet<>();
+
+    /**
+     * @param level the compression level, from 0 (no compression) to 9 (best compression), the
+     *        default level of the deflate algorithm otherwise
+     */
+    public ResponseCompressor level(int level) {
+        if (level < 0 || level > 9) {
+            throw new IllegalArgumentException("The compression level must be between 0 and 9: " + level);
+        }
+        this.level = level;
+        return this;
+    }
+
+    /**
+     * Responses with a declared length smaller than the minimum size are not compressed, chunked
+     * responses always are.
+     */
+    public ResponseCompressor minSize(long minSizeInBytes) {
+        this.minSizeInBytes = minSizeInBytes;
+        return this;
+    }
+
+    /**
+     * @param encodings the encodings offered to the clients, by decreasing preference when a client
+     *        accepts several of them with the same quality
+     */
+    public ResponseCompressor encodings(ContentEncoding encoding, ContentEncoding... encodings) {
+        ContentEncoding[] all = new ContentEncoding[encodings.length + 1];
+        all[0] = encoding;
+        System.arraycopy(encodings, 0, all, 1, encodings.length);
+        this.encodings = List.of(all);
+        return this;
+    }
+
+    /**
+     * Excludes more media types from compression, in addition to the already compressed ones.
+     */
+    public ResponseCompressor exclude(String mediaType, String... mediaTypes) {
+        excludedMediaTypes.add(mediaType.toLowerCase(Locale.ROOT));
+        for (String other : mediaTypes) {
+            excludedMediaTypes.add(other.toLowerCase(Locale.ROOT));
+        }
+        return this;
+    }
+
+    @Override
+    public Future<Void> apply(ProxyContext proxyContext) {
+        ProxyResponse response = proxyContext.response();
+        Body body = response.getBody();
+        if (body == null || !isCompressible(proxyContext, response, body)) {
+            return proxyContext.sendResponse();
+        }
+
+        MultiMap headers = response.headers();
+        // the response depends on the Accept-Encoding header, even when it is not compressed
+        addVary(headers);
+        ContentEncoding encoding = negotiate(proxyContext.request().proxiedRequest().getHeader(ACCEPT_ENCODING));
+        if (encoding != null) {
+            headers.set(CONTENT_ENCODING, encoding.token());
+            headers.remove(CONTENT_LENGTH);
+            String etag = headers.get(ETAG);
+            if (etag != null && !etag.startsWith(WEAK_ETAG_PREFIX)) {
+                // the representation is not byte for byte the one of the origin anymore
+                headers.set(ETAG, WEAK_ETAG_PREFIX + etag);
+            }
+            response.setBody(Body.body(encoding.encode(body.stream(), level), -1));
+        }
+        return proxyContext.sendResponse();
+    }
+
+    private boolean isCompressible(ProxyContext proxyContext, ProxyResponse response, Body body) {
+        int statusCode = response.getStatusCode();
+        if (statusCode < 200 || statusCode == 204 || statusCode == 206 || statusCode == 304
+                || proxyContext.request().getMethod() == HttpMethod.HEAD) {
+            return false;
+        }
+        MultiMap headers = response.headers();
+        String contentEncoding = headers.get(CONTENT_ENCODING);
+        if (contentEncoding != null && !IDENTITY.equalsIgnoreCase(contentEncoding.trim())) {
+            return false;
+        }
+        if (body.length() >= 0 && body.length() < minSizeInBytes) {
+            return false;
+        }
+        String cacheControl = headers.get(CACHE_CONTROL);
+        if (cacheControl != null && cacheControl.toLowerCase(Locale.ROOT).contains(NO_TRANSFORM)) {
+            return false;
+        }
+        return isCompressibleMediaType(headers.get(CONTENT_TYPE));
+    }
+
+    private boolean isCompressibleMediaType(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        int parameters = contentType.indexOf(';');
+        String mediaType = (parameters == -1 ? contentType : contentType.substring(0, parameters))
+                .trim().toLowerCase(Locale.ROOT);
+        if (excludedMediaTypes.contains(mediaType) || COMPRESSED_MEDIA_TYPES.contains(mediaType)) {
+            return false;
+        }
+        if (COMPRESSIBLE_MEDIA_TYPES.contains(mediaType)) {
+            return true;
+        }
+        int slash = mediaType.indexOf('/');
+        return slash == -1 || !COMPRESSED_TYPES.contains(mediaType.substring(0, slash));
+    }
+
+    private static void addVary(MultiMap headers) {
+        for (String vary : headers.getAll(VARY)) {
+            for (String field : vary.split(",")) {
+                String name = field.trim();
+                if (name.equalsIgnoreCase(ACCEPT_ENCODING) || name.equals(ANY)) {
+                    return;
+                }
+            }
+        }
+        headers.add(VARY, ACCEPT_ENCODING);
+    }
+
+    /**
+     * @return the accepted encoding with the highest quality, {@code null} if the client accepts
+     *         none of them
+     */
+    ContentEncoding negotiate(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        float[] qualities = new float[ContentEncoding.values().length];
+        float anyQuality = -1;
+        Arrays.fill(qualities, -1);
+        for (String coding : acceptEncoding.split(",")) {
+            int parameters = coding.indexOf(';');
+            String token = (parameters == -1 ? coding : coding.substring(0, parameters)).trim();
+            float quality = parameters == -1 ? 1 : quality(coding.substring(parameters + 1));
+            if (token.equals(ANY)) {
+                anyQuality = quality;
+                continue;
+            }
+            ContentEncoding encoding = ContentEncoding.of(token);
+            if (encoding != null) {
+                qualities[encoding.ordinal()] = Math.max(qualities[encoding.ordinal()], quality);
+            }
+        }
+
+        ContentEncoding best = null;
+        float bestQuality = 0;
+        for (ContentEncoding encoding : encodings) {
+            float quality = qualities[encoding.ordinal()] >= 0 ? qualities[encoding.ordinal()] : anyQuality;
+            if (quality > bestQuality) {
+                best = encoding;
+                bestQuality = quality;
+            }
+        }
+        return best;
+    }
+
+    private static float quality(String parameters) {
+        for (String parameter : parameters.split(";")) {
+            int equals = parameter.indexOf('=');
+            if (equals != -1 && parameter.substring(0, equals).trim().equalsIgnoreCase("q")) {
+                try {
+                    return Float.parseFloat(parameter.substring(equals + 1).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
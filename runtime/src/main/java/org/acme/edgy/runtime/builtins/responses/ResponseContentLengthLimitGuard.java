@@ -1,17 +1,23 @@
 package org.acme.edgy.runtime.builtins.responses;
 
-import static jakarta.ws.rs.core.HttpHeaders.CONTENT_LENGTH;
-
 import java.util.Objects;
 import java.util.function.Function;
 
 import org.acme.edgy.runtime.api.ResponseTransformer;
 import org.acme.edgy.runtime.api.utils.ProxyErrorResponseBuilder;
+import org.acme.edgy.runtime.builtins.SizeLimitingReadStream;
 
 import io.vertx.core.Future;
+import io.vertx.httpproxy.Body;
 import io.vertx.httpproxy.ProxyContext;
-import io.vertx.httpproxy.ProxyRequest;
-
+import io.vertx.httpproxy.ProxyResponse;
+
+/**
+ * Caps the size of the responses. A response whose declared length exceeds the limit is replaced
+ * with a {@code 413} response. The body is also counted while it is streamed to the client, which
+ * covers chunked responses: since the response has already started by then, the exchange is reset
+ * as soon as the limit is crossed.
+ */
 public class ResponseContentLengthLimitGuard implements ResponseTransformer {
 
     private static final String ERROR_MESSAGE_TEMPLATE = "Response content length %d exceeds the limit of %d";
@@ -28,9 +34,14 @@ public class ResponseContentLengthLimitGuard implements ResponseTransformer {
 
     @Override
     public Future<Void> apply(ProxyContext proxyContext) {
-        ProxyRequest request = proxyContext.request();
-        Long contentLengthLimit = mapper.apply(proxyContext);
-        long actualContentLength = Long.parseLong(request.headers().get(CONTENT_LENGTH));
+        ProxyResponse response = proxyContext.response();
+        Body body = response.getBody();
+        if (body == null) {
+            return proxyContext.sendResponse();
+        }
+        long contentLengthLimit = mapper.apply(proxyContext);
+        // the length of the body is the declared Content-Length of the response, -1 when chunked
+        long actualContentLength = body.length();
 
         if (actualContentLength > contentLengthLimit) {
             return ProxyErrorResponseBuilder.create(proxyContext)
@@ -38,6 +49,7 @@ public class ResponseContentLengthLimitGuard implements ResponseTransformer {
                     .message(ERROR_MESSAGE_TEMPLATE.formatted(actualContentLength, contentLengthLimit))
                     .sendResponseInResponseTransformer();
         }
+        response.setBody(Body.body(new SizeLimitingReadStream(body.stream(), contentLengthLimit), actualContentLength));
         return proxyContext.sendResponse();
     }
 
@@ -11,10 +11,9 @@ import java.util.function.Function;
 import jakarta.ws.rs.core.MediaType;
 
 import org.acme.edgy.runtime.api.ResponseTransformer;
+import org.acme.edgy.runtime.builtins.TranscodingReadStream;
 
 import io.vertx.core.Future;
-import io.vertx.core.Promise;
-import io.vertx.core.buffer.Buffer;
 import io.vertx.httpproxy.Body;
 import io.vertx.httpproxy.ProxyContext;
 
@@ -65,31 +64,13 @@ public class ResponseContentTypeModifier implements ResponseTransformer {
         if (!prevCharset.equals(newCharset)) {
             Body body = proxyContext.response().getBody();
             if (body != null) {
-                return readBodyBuffer(body).compose(bodyBuffer -> {
-                    String content = bodyBuffer.toString(prevCharset);
-                    Buffer reEncodedBuffer = Buffer.buffer(content.getBytes(newCharset));
-
-                    proxyContext.response().headers().set(CONTENT_LENGTH, String.valueOf(reEncodedBuffer.length()));
-                    proxyContext.response().setBody(Body.body(reEncodedBuffer));
-
-                    return proxyContext.sendResponse();
-                });
+                // the length of the re-encoded body is only known once it is fully sent
+                proxyContext.response().headers().remove(CONTENT_LENGTH);
+                proxyContext.response().setBody(Body.body(
+                        new TranscodingReadStream(body.stream(), prevCharset, newCharset), -1));
             }
         }
 
         return proxyContext.sendResponse();
     }
-
-    private Future<Buffer> readBodyBuffer(Body body) {
-        Promise<Buffer> promise = Promise.promise();
-        Buffer accumulator = Buffer.buffer();
-
-        body.stream().handler(chunk -> {
-            if (chunk != null) {
-                accumulator.appendBuffer(chunk);
-            }
-        }).endHandler(v -> promise.complete(accumulator)).exceptionHandler(promise::fail).resume();
-
-        return promise.future();
-    }
-}
\ No newline at end of file
+}
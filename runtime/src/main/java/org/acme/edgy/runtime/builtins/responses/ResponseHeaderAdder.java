@@ -2,12 +2,11 @@ package org.acme.edgy.runtime.builtins.responses;
 
 import java.util.function.Function;
 
-import org.acme.edgy.runtime.api.ResponseTransformer;
+import org.acme.edgy.runtime.api.SyncResponseTransformer;
 
-import io.vertx.core.Future;
 import io.vertx.httpproxy.ProxyContext;
 
-public class ResponseHeaderAdder implements ResponseTransformer {
+public class ResponseHeaderAdder implements SyncResponseTransformer {
 
     private final String name;
     private final Function<ProxyContext, String> mapper;
@@ -22,8 +21,7 @@ public class ResponseHeaderAdder implements ResponseTransformer {
     }
 
     @Override
-    public Future<Void> apply(ProxyContext proxyContext) {
+    public void transform(ProxyContext proxyContext) {
         proxyContext.response().putHeader(name, mapper.apply(proxyContext));
-        return proxyContext.sendResponse();
     }
 }
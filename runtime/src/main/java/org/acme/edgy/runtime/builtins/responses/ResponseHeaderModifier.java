@@ -3,12 +3,11 @@ package org.acme.edgy.runtime.builtins.responses;
 import java.util.Objects;
 import java.util.function.Function;
 
-import org.acme.edgy.runtime.api.ResponseTransformer;
+import org.acme.edgy.runtime.api.SyncResponseTransformer;
 
-import io.vertx.core.Future;
 import io.vertx.httpproxy.ProxyContext;
 
-public class ResponseHeaderModifier implements ResponseTransformer {
+public class ResponseHeaderModifier implements SyncResponseTransformer {
     private final String name;
     private final Function<ProxyContext, String> mapper;
 
@@ -22,10 +21,9 @@ public class ResponseHeaderModifier implements ResponseTransformer {
     }
 
     @Override
-    public Future<Void> apply(ProxyContext proxyContext) {
+    public void transform(ProxyContext proxyContext) {
         if (proxyContext.response().headers().contains(name)) {
             proxyContext.response().headers().set(name, mapper.apply(proxyContext));
         }
-        return proxyContext.sendResponse();
     }
 }
@@ -1,11 +1,10 @@
 package org.acme.edgy.runtime.builtins.responses;
 
-import org.acme.edgy.runtime.api.ResponseTransformer;
+import org.acme.edgy.runtime.api.SyncResponseTransformer;
 
-import io.vertx.core.Future;
 import io.vertx.httpproxy.ProxyContext;
 
-public class ResponseHeaderRemover implements ResponseTransformer {
+public class ResponseHeaderRemover implements SyncResponseTransformer {
 
     private final String name;
 
@@ -14,8 +13,7 @@ public class ResponseHeaderRemover implements ResponseTransformer {
     }
 
     @Override
-    public Future<Void> apply(ProxyContext proxyContext) {
+    public void transform(ProxyContext proxyContext) {
         proxyContext.response().headers().remove(name);
-        return proxyContext.sendResponse();
     }
 }
@@ -4,16 +4,15 @@ import java.util.function.BiFunction;
 import java.util.function.Function;
 
 import org.acme.edgy.runtime.api.ResponseTransformer;
-import org.acme.edgy.runtime.api.utils.ProxyErrorResponseBuilder;
 import org.acme.edgy.runtime.builtins.AbstractJsonArrayBodyModifier;
 
 import io.vertx.core.Future;
-import io.vertx.core.json.DecodeException;
+import io.vertx.core.MultiMap;
 import io.vertx.core.json.JsonArray;
 import io.vertx.httpproxy.Body;
 import io.vertx.httpproxy.ProxyContext;
 
-public class ResponseJsonArrayBodyModifier extends AbstractJsonArrayBodyModifier
+public class ResponseJsonArrayBodyModifier extends AbstractJsonArrayBodyModifier<ResponseJsonArrayBodyModifier>
         implements ResponseTransformer {
 
     public ResponseJsonArrayBodyModifier(BiFunction<ProxyContext, JsonArray, JsonArray> mapper) {
@@ -30,20 +29,7 @@ public class ResponseJsonArrayBodyModifier extends AbstractJsonArrayBodyModifier
 
     @Override
     public Future<Void> apply(ProxyContext proxyContext) {
-        if (mapper == null) {
-            return applyStaticBody(proxyContext, ProxyContext::sendResponse);
-        }
-
-        return applyDynamicBody(proxyContext, ProxyContext::sendResponse).recover(throwable -> {
-            if (throwable instanceof DecodeException) {
-                return ProxyErrorResponseBuilder.create(proxyContext)
-                        .badRequest()
-                        .message(throwable.getMessage())
-                        .sendResponseInResponseTransformer();
-            }
-            return Future.failedFuture(throwable);
-        });
-
+        return applyToResponse(proxyContext);
     }
 
     @Override
@@ -55,4 +41,9 @@ public class ResponseJsonArrayBodyModifier extends AbstractJsonArrayBodyModifier
     protected void setBody(ProxyContext proxyContext, Body body) {
         proxyContext.response().setBody(body);
     }
+
+    @Override
+    protected MultiMap getHeaders(ProxyContext proxyContext) {
+        return proxyContext.response().headers();
+    }
 }
@@ -4,11 +4,10 @@ import java.util.function.BiFunction;
 import java.util.function.Function;
 
 import org.acme.edgy.runtime.api.ResponseTransformer;
-import org.acme.edgy.runtime.api.utils.ProxyErrorResponseBuilder;
 import org.acme.edgy.runtime.builtins.AbstractJsonArrayToJsonObjectBodyModifier;
 
 import io.vertx.core.Future;
-import io.vertx.core.json.DecodeException;
+import io.vertx.core.MultiMap;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.httpproxy.Body;
@@ -19,7 +18,8 @@ import io.vertx.httpproxy.ProxyContext;
  * transforming array responses into structured objects.
  */
 public class ResponseJsonArrayToJsonObjectBodyModifier
-        extends AbstractJsonArrayToJsonObjectBodyModifier implements ResponseTransformer {
+        extends AbstractJsonArrayToJsonObjectBodyModifier<ResponseJsonArrayToJsonObjectBodyModifier>
+        implements ResponseTransformer {
 
     public ResponseJsonArrayToJsonObjectBodyModifier(
             BiFunction<ProxyContext, JsonArray, JsonObject> mapper) {
@@ -33,15 +33,7 @@ public class ResponseJsonArrayToJsonObjectBodyModifier
 
     @Override
     public Future<Void> apply(ProxyContext proxyContext) {
-        return applyDynamicBody(proxyContext, ProxyContext::sendResponse).recover(throwable -> {
-            if (throwable instanceof DecodeException) {
-                return ProxyErrorResponseBuilder.create(proxyContext)
-                        .badRequest()
-                        .message(throwable.getMessage())
-                        .sendResponseInResponseTransformer();
-            }
-            return Future.failedFuture(throwable);
-        });
+        return applyToResponse(proxyContext);
     }
 
     @Override
@@ -53,4 +45,9 @@ public class ResponseJsonArrayToJsonObjectBodyModifier
     protected void setBody(ProxyContext proxyContext, Body body) {
         proxyContext.response().setBody(body);
     }
+
+    @Override
+    protected MultiMap getHeaders(ProxyContext proxyContext) {
+        return proxyContext.response().headers();
+    }
 }
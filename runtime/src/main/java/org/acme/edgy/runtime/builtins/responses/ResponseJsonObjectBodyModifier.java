@@ -4,16 +4,15 @@ import java.util.function.BiFunction;
 import java.util.function.Function;
 
 import org.acme.edgy.runtime.api.ResponseTransformer;
-import org.acme.edgy.runtime.api.utils.ProxyErrorResponseBuilder;
 import org.acme.edgy.runtime.builtins.AbstractJsonObjectBodyModifier;
 
 import io.vertx.core.Future;
-import io.vertx.core.json.DecodeException;
+import io.vertx.core.MultiMap;
 import io.vertx.core.json.JsonObject;
 import io.vertx.httpproxy.Body;
 import io.vertx.httpproxy.ProxyContext;
 
-public class ResponseJsonObjectBodyModifier extends AbstractJsonObjectBodyModifier
+public class ResponseJsonObjectBodyModifier extends AbstractJsonObjectBodyModifier<ResponseJsonObjectBodyModifier>
         implements ResponseTransformer {
 
     public ResponseJsonObjectBodyModifier(BiFunction<ProxyContext, JsonObject, JsonObject> mapper) {
@@ -30,20 +29,7 @@ public class ResponseJsonObjectBodyModifier extends AbstractJsonObjectBodyModifi
 
     @Override
     public Future<Void> apply(ProxyContext proxyContext) {
-        if (mapper == null) {
-            return applyStaticBody(proxyContext, ProxyContext::sendResponse);
-        }
-
-        return applyDynamicBody(proxyContext, ProxyContext::sendResponse).recover(throwable -> {
-            if (throwable instanceof DecodeException) {
-                return ProxyErrorResponseBuilder.create(proxyContext)
-                        .badRequest()
-                        .message(throwable.getMessage())
-                        .sendResponseInResponseTransformer();
-            }
-            return Future.failedFuture(throwable);
-        });
-
+        return applyToResponse(proxyContext);
     }
 
     @Override
@@ -56,4 +42,9 @@ public class ResponseJsonObjectBodyModifier extends AbstractJsonObjectBodyModifi
         proxyContext.response().setBody(body);
     }
 
+
+    @Override
+    protected MultiMap getHeaders(ProxyContext proxyContext) {
+        return proxyContext.response().headers();
+    }
 }
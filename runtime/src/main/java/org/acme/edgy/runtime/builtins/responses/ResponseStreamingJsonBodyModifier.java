@@ -0,0 +1,37 @@
+package org.acme.edgy.runtime.builtins.responses;
+
+import org.acme.edgy.runtime.api.ResponseTransformer;
+import org.acme.edgy.runtime.builtins.AbstractStreamingJsonBodyModifier;
+import org.acme.edgy.runtime.builtins.JsonFieldEdits;
+
+import io.vertx.core.Future;
+import io.vertx.httpproxy.Body;
+import io.vertx.httpproxy.ProxyContext;
+import io.vertx.httpproxy.ProxyResponse;
+
+public class ResponseStreamingJsonBodyModifier extends AbstractStreamingJsonBodyModifier
+        implements ResponseTransformer {
+
+    public ResponseStreamingJsonBodyModifier(JsonFieldEdits edits) {
+        super(edits);
+    }
+
+    /**
+     * @param maxDecodedBodySizeInBytes the maximum size of a {@code gzip} or {@code deflate} body
+     *        once decompressed
+     */
+    public ResponseStreamingJsonBodyModifier maxDecodedBodySize(long maxDecodedBodySizeInBytes) {
+        setMaxDecodedBodySize(maxDecodedBodySizeInBytes);
+        return this;
+    }
+
+    @Override
+    public Future<Void> apply(ProxyContext proxyContext) {
+        ProxyResponse response = proxyContext.response();
+        Body body = response.getBody();
+        if (body != null) {
+            response.setBody(editBody(body, response.headers()));
+        }
+        return proxyContext.sendResponse();
+    }
+}
@@ -22,12 +22,72 @@ public interface EdgyConfig {
         CONFIGURATION,
     }
 
+    enum Dispatcher {
+        SEQUENTIAL,
+        INDEXED,
+    }
+
+    enum TransformerPipeline {
+        INTERCEPTORS,
+        FUSED,
+    }
+
+    enum PredicateEvaluation {
+        PLAIN,
+        PROFILED,
+        ADAPTIVE,
+    }
+
     /**
      * The configuration mode.
      */
     @WithDefault("api")
     Mode mode();
 
+    /**
+     * How requests are dispatched to the routes.
+     * <p>
+     * {@code sequential} registers one Vert.x route per route, tried one after the other, except for
+     * consecutive routes with the same path that all have a keyed predicate on the same value (such
+     * as {@code HeaderPredicate} on the same header): they share a Vert.x route that selects the
+     * candidate routes with a hash lookup on the value.
+     * {@code indexed} installs a single Vert.x handler that finds the matching {@code FIXED},
+     * {@code PREFIX} and {@code PARAMS} routes with a radix tree over their paths. The routes that
+     * cannot be indexed ({@code REGEXP}, or paths using Vert.x path parameters) are still registered
+     * as separate Vert.x routes. The indexed routes declared between two of them share an index,
+     * consulted at the position of the first of these routes, so the routes are still tried in
+     * declaration order.
+     */
+    @WithDefault("sequential")
+    Dispatcher dispatcher();
+
+    /**
+     * How the transformers of a route are installed on its proxy.
+     * <p>
+     * {@code interceptors} installs one proxy interceptor per transformer. {@code fused} installs a
+     * single proxy interceptor per route, which calls the transformers directly one after the
+     * other, in the same order as the interceptors would.
+     */
+    @WithDefault("interceptors")
+    TransformerPipeline transformerPipeline();
+
+    /**
+     * How the predicates of a route are evaluated.
+     * <p>
+     * {@code plain} tests them in registration order. {@code profiled} also records how often each
+     * predicate is evaluated and rejects a request, and how long it takes, see
+     * {@code RouterConfigurator#predicateStatistics()}. {@code adaptive} records the same statistics
+     * and periodically reorders the predicates of each route so that the cheapest and most selective
+     * ones run first, which is only correct for predicates without side effects.
+     */
+    @WithDefault("plain")
+    PredicateEvaluation predicateEvaluation();
+
+    /**
+     * Metrics.
+     */
+    EdgyMetricsConfig metrics();
+
     @ConfigDocMapKey("origin-identifier")
     @WithName("origin")
     Map<String, EdgyOriginConfig> origins();
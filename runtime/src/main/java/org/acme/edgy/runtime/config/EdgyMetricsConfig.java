@@ -0,0 +1,23 @@
+package org.acme.edgy.runtime.config;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.smallrye.config.WithDefault;
+
+/**
+ * Metrics of the routes, origins and transformers, published when the Micrometer extension is
+ * present.
+ */
+@ConfigGroup
+public interface EdgyMetricsConfig {
+
+    /**
+     * Whether the metrics are enabled.
+     * <p>
+     * Each route records its responses by status class and the latency of its origin, each origin
+     * records the requests waiting for and using a connection, the connection wait time and the
+     * errors. The transformers record the time spent in them and how often they short-circuit the
+     * exchange, with either transformer pipeline.
+     */
+    @WithDefault("true")
+    boolean enabled();
+}
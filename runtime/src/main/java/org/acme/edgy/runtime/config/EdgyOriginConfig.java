@@ -1,9 +1,16 @@
 package org.acme.edgy.runtime.config;
 
+import java.time.Duration;
 import java.util.Optional;
+import java.util.OptionalInt;
 
 import io.quarkus.runtime.annotations.ConfigGroup;
+import io.smallrye.config.WithDefault;
 
+/**
+ * Per-origin configuration. The connection settings that are not set keep the Vert.x HTTP client
+ * defaults.
+ */
 @ConfigGroup
 public interface EdgyOriginConfig {
 
@@ -12,4 +19,83 @@ public interface EdgyOriginConfig {
      */
     Optional<String> tlsConfigurationName();
 
+    /**
+     * The maximum number of HTTP/1.x connections to the origin.
+     */
+    OptionalInt maxPoolSize();
+
+    /**
+     * The maximum number of requests waiting for a connection to the origin, {@code -1} for
+     * unbounded.
+     */
+    OptionalInt maxWaitQueueSize();
+
+    /**
+     * Whether connections to the origin are kept alive.
+     */
+    Optional<Boolean> keepAlive();
+
+    /**
+     * How long an unused kept-alive connection stays in the pool, with a one second granularity.
+     */
+    Optional<Duration> keepAliveTimeout();
+
+    /**
+     * Whether the origin is reached over HTTP/2, negotiated with ALPN for TLS origins and with
+     * prior knowledge (h2c) for cleartext origins. A TLS origin not supporting HTTP/2 is still
+     * reached over HTTP/1.1.
+     */
+    @WithDefault("false")
+    boolean http2();
+
+    /**
+     * The maximum number of concurrent streams per HTTP/2 connection to the origin.
+     */
+    OptionalInt http2MaxConcurrentStreams();
+
+    /**
+     * The maximum number of HTTP/2 connections to the origin.
+     */
+    OptionalInt http2MaxPoolSize();
+
+    /**
+     * Whether HTTP/1.1 pipelining is used on the connections to the origin.
+     */
+    Optional<Boolean> pipelining();
+
+    /**
+     * The maximum number of pipelined requests per connection.
+     */
+    OptionalInt pipeliningLimit();
+
+    /**
+     * Closes connections to the origin with no data sent or received for this long.
+     */
+    Optional<Duration> idleTimeout();
+
+    /**
+     * The connect timeout to the origin.
+     */
+    Optional<Duration> connectTimeout();
+
+    /**
+     * Whether {@code TCP_NODELAY} is enabled.
+     */
+    Optional<Boolean> tcpNoDelay();
+
+    /**
+     * Whether TCP fast open is enabled, requires a native transport.
+     */
+    Optional<Boolean> tcpFastOpen();
+
+    /**
+     * Whether TCP quick ACK is enabled, requires a native transport.
+     */
+    Optional<Boolean> tcpQuickAck();
+
+    /**
+     * Health checking of the origin endpoints.
+     */
+    EdgyOriginHealthConfig health();
+
 }
@@ -0,0 +1,77 @@
+package org.acme.edgy.runtime.config;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+import io.quarkus.runtime.annotations.ConfigGroup;
+import io.smallrye.config.WithDefault;
+
+/**
+ * Health checking of the endpoints of an origin. It only has an effect on origins with several
+ * endpoints: an unhealthy endpoint is skipped as long as another endpoint is available, and gets an
+ * increasing share of the requests once it is back.
+ */
+@ConfigGroup
+public interface EdgyOriginHealthConfig {
+
+    /**
+     * The path probed with a {@code GET} request on each endpoint, enables the active health checks.
+     * A {@code 2xx} or {@code 3xx} response is a successful probe.
+     */
+    Optional<String> path();
+
+    /**
+     * The interval between two probes of an endpoint.
+     */
+    @WithDefault("10s")
+    Duration interval();
+
+    /**
+     * How long a probe may take before it fails.
+     */
+    @WithDefault("2s")
+    Duration timeout();
+
+    /**
+     * The number of consecutive failed probes after which an endpoint is ejected.
+     */
+    @WithDefault("3")
+    int unhealthyThreshold();
+
+    /**
+     * The number of consecutive successful probes after which an ejected endpoint is brought back.
+     */
+    @WithDefault("2")
+    int healthyThreshold();
+
+    /**
+     * The number of consecutive failed requests ({@code 5xx} responses, connection failures or slow
+     * responses) after which an endpoint is ejected, enables the passive health checks.
+     */
+    OptionalInt consecutiveFailures();
+
+    /**
+     * Requests whose response headers take longer than this to arrive count as failed requests.
+     */
+    Optional<Duration> slowResponseThreshold();
+
+    /**
+     * How long an endpoint is ejected after failed requests, multiplied by the number of times it was
+     * ejected since it last fully recovered.
+     */
+    @WithDefault("30s")
+    Duration baseEjectionTime();
+
+    /**
+     * The maximum time an endpoint is ejected after failed requests.
+     */
+    @WithDefault("5m")
+    Duration maxEjectionTime();
+
+    /**
+     * How long an endpoint that is back takes to receive its full share of the requests.
+     */
+    @WithDefault("30s")
+    Duration slowStart();
+}
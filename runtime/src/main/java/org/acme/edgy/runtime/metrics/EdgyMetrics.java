@@ -0,0 +1,30 @@
+package org.acme.edgy.runtime.metrics;
+
+import org.acme.edgy.runtime.api.Origin;
+import org.acme.edgy.runtime.api.RequestTransformer;
+import org.acme.edgy.runtime.api.ResponseTransformer;
+import org.acme.edgy.runtime.api.Route;
+
+/**
+ * Creates the meters of the routes, origins and transformers when the router is configured, so
+ * that recording a request does not look up or create any meter.
+ */
+public interface EdgyMetrics {
+
+    RouteMetrics route(Route route);
+
+    /**
+     * Called once per origin identifier.
+     */
+    OriginMetrics origin(Origin origin);
+
+    /**
+     * @param position the position of the transformer in {@link Route#requestTransformers()}
+     */
+    TransformerMetrics requestTransformer(Route route, int position, RequestTransformer transformer);
+
+    /**
+     * @param position the position of the transformer in {@link Route#responseTransformers()}
+     */
+    TransformerMetrics responseTransformer(Route route, int position, ResponseTransformer transformer);
+}
@@ -0,0 +1,212 @@
+package org.acme.edgy.runtime.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.acme.edgy.runtime.api.Origin;
+import org.acme.edgy.runtime.api.RequestTransformer;
+import org.acme.edgy.runtime.api.ResponseTransformer;
+import org.acme.edgy.runtime.api.Route;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * {@link EdgyMetrics} publishing to the Micrometer {@link MeterRegistry} bean. The meters are tagged
+ * with the route path and the origin identifier, plus the position and type of the transformers,
+ * which are all bounded by the routing configuration.
+ */
+@ApplicationScoped
+public class MicrometerEdgyMetrics implements EdgyMetrics {
+
+    private static final String ROUTE = "route";
+    private static final String ORIGIN = "origin";
+    private static final String STATUS = "status";
+    private static final String OUTCOME = "outcome";
+    private static final String PHASE = "phase";
+    private static final String POSITION = "position";
+    private static final String TRANSFORMER = "transformer";
+    private static final String[] STATUS_CLASSES = { "other", "1xx", "2xx", "3xx", "4xx", "5xx" };
+
+    private final MeterRegistry registry;
+
+    @Inject
+    public MicrometerEdgyMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public RouteMetrics route(Route route) {
+        Tags tags = Tags.of(ROUTE, route.path(), ORIGIN, route.origin().identifier());
+        Counter[] responses = new Counter[STATUS_CLASSES.length];
+        for (int i = 0; i < STATUS_CLASSES.length; i++) {
+            responses[i] = Counter.builder("edgy.route.requests")
+                    .description("Responses sent to the clients")
+                    .tags(tags).tag(STATUS, STATUS_CLASSES[i])
+                    .register(registry);
+        }
+        return new MicrometerRouteMetrics(responses, upstreamTimer(tags, "success"), upstreamTimer(tags, "failure"));
+    }
+
+    private Timer upstreamTimer(Tags tags, String outcome) {
+        return Timer.builder("edgy.route.upstream.duration")
+                .description("Time between sending a request to the origin and receiving its response")
+                .tags(tags).tag(OUTCOME, outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    @Override
+    public OriginMetrics origin(Origin origin) {
+        Tags tags = Tags.of(ORIGIN, origin.identifier());
+        MicrometerOriginMetrics metrics = new MicrometerOriginMetrics(
+                Timer.builder("edgy.origin.connection.wait")
+                        .description("Time waiting for a connection to the origin")
+                        .tags(tags)
+                        .publishPercentileHistogram()
+                        .register(registry),
+                Counter.builder("edgy.origin.errors")
+                        .description("Requests that failed to get a connection, or whose exchange failed")
+                        .tags(tags)
+                        .register(registry));
+        // the gauges only hold weak references to the counts
+        Gauge.builder("edgy.origin.connections.pending", metrics.pending, AtomicInteger::get)
+                .description("Requests waiting for a connection to the origin")
+                .tags(tags)
+                .register(registry);
+        Gauge.builder("edgy.origin.connections.active", metrics.active, AtomicInteger::get)
+                .description("Requests using a connection to the origin")
+                .tags(tags)
+                .register(registry);
+        return metrics;
+    }
+
+    @Override
+    public TransformerMetrics requestTransformer(Route route, int position, RequestTransformer transformer) {
+        return transformer(route, "request", position, transformer);
+    }
+
+    @Override
+    public TransformerMetrics responseTransformer(Route route, int position, ResponseTransformer transformer) {
+        return transformer(route, "response", position, transformer);
+    }
+
+    private TransformerMetrics transformer(Route route, String phase, int position, Object transformer) {
+        Tags tags = Tags.of(ROUTE, route.path(), ORIGIN, route.origin().identifier(), PHASE, phase,
+                POSITION, Integer.toString(position), TRANSFORMER, transformerType(transformer));
+        return new MicrometerTransformerMetrics(
+                Timer.builder("edgy.transformer.duration")
+                        .description("Time spent in a transformer")
+                        .tags(tags)
+                        .register(registry),
+                Counter.builder("edgy.transformer.short.circuits")
+                        .description("Exchanges completed by a transformer instead of being passed on")
+                        .tags(tags)
+                        .register(registry));
+    }
+
+    // lambdas and anonymous classes have generated names, which would differ between runs
+    private static String transformerType(Object transformer) {
+        Class<?> type = transformer.getClass();
+        if (type.isSynthetic() || type.isAnonymousClass() || type.getSimpleName().contains("$$Lambda")) {
+            return "lambda";
+        }
+        return type.getSimpleName();
+    }
+
+    private static final class MicrometerRouteMetrics implements RouteMetrics {
+
+        private final Counter[] responses;
+        private final Timer upstreamSuccess;
+        private final Timer upstreamFailure;
+
+        private MicrometerRouteMetrics(Counter[] responses, Timer upstreamSuccess, Timer upstreamFailure) {
+            this.responses = responses;
+            this.upstreamSuccess = upstreamSuccess;
+            this.upstreamFailure = upstreamFailure;
+        }
+
+        @Override
+        public void responseSent(int statusCode) {
+            int statusClass = statusCode / 100;
+            responses[statusClass > 0 && statusClass < responses.length ? statusClass : 0].increment();
+        }
+
+        @Override
+        public void upstreamResponded(long nanos) {
+            upstreamSuccess.record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void upstreamFailed(long nanos) {
+            upstreamFailure.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static final class MicrometerOriginMetrics implements OriginMetrics {
+
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicInteger active = new AtomicInteger();
+        private final Timer connectionWait;
+        private final Counter errors;
+
+        private MicrometerOriginMetrics(Timer connectionWait, Counter errors) {
+            this.connectionWait = connectionWait;
+            this.errors = errors;
+        }
+
+        @Override
+        public void connectionRequested() {
+            pending.incrementAndGet();
+        }
+
+        @Override
+        public void connectionAcquired(long nanos) {
+            pending.decrementAndGet();
+            active.incrementAndGet();
+            connectionWait.record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void connectionFailed(long nanos) {
+            pending.decrementAndGet();
+            connectionWait.record(nanos, TimeUnit.NANOSECONDS);
+            errors.increment();
+        }
+
+        @Override
+        public void requestEnded(boolean failed) {
+            active.decrementAndGet();
+            if (failed) {
+                errors.increment();
+            }
+        }
+    }
+
+    private static final class MicrometerTransformerMetrics implements TransformerMetrics {
+
+        private final Timer duration;
+        private final Counter shortCircuits;
+
+        private MicrometerTransformerMetrics(Timer duration, Counter shortCircuits) {
+            this.duration = duration;
+            this.shortCircuits = shortCircuits;
+        }
+
+        @Override
+        public void record(long nanos) {
+            duration.record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void shortCircuited() {
+            shortCircuits.increment();
+        }
+    }
+}
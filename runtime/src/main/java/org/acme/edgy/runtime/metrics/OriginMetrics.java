@@ -0,0 +1,27 @@
+package org.acme.edgy.runtime.metrics;
+
+public interface OriginMetrics {
+
+    /**
+     * A request waits for a connection to the origin.
+     */
+    void connectionRequested();
+
+    /**
+     * A request got a connection after waiting {@code nanos}, it uses it until
+     * {@link #requestEnded(boolean)}.
+     */
+    void connectionAcquired(long nanos);
+
+    /**
+     * A request could not get a connection after waiting {@code nanos}.
+     */
+    void connectionFailed(long nanos);
+
+    /**
+     * A request that got a connection is done with it.
+     *
+     * @param failed whether the request or its response failed
+     */
+    void requestEnded(boolean failed);
+}
@@ -0,0 +1,20 @@
+package org.acme.edgy.runtime.metrics;
+
+public interface RouteMetrics {
+
+    /**
+     * A response is sent to the client, after the response transformers ran.
+     */
+    void responseSent(int statusCode);
+
+    /**
+     * The origin answered, {@code nanos} after the request was sent to it.
+     */
+    void upstreamResponded(long nanos);
+
+    /**
+     * The origin could not be reached or did not answer, {@code nanos} after the request was sent to
+     * it.
+     */
+    void upstreamFailed(long nanos);
+}
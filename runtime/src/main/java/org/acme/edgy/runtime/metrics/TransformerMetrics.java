@@ -0,0 +1,15 @@
+package org.acme.edgy.runtime.metrics;
+
+public interface TransformerMetrics {
+
+    /**
+     * The transformer ran for {@code nanos}, until it passed the request or response on.
+     */
+    void record(long nanos);
+
+    /**
+     * The transformer completed the exchange instead of passing the request or response on, for
+     * instance with an error response.
+     */
+    void shortCircuited();
+}